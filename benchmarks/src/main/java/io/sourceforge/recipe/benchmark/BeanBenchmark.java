@@ -0,0 +1,142 @@
+// SPDX-FileCopyrightText: © 2022 Nikola Vojičić <nikolavojicic@outlook.com>
+// SPDX-License-Identifier: MIT
+
+package io.sourceforge.recipe.benchmark;
+
+import io.sourceforge.recipe.Populator;
+import io.sourceforge.recipe.Recipe;
+import io.sourceforge.recipe.bean.BeanRecipe;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static io.sourceforge.recipe.util.Fn.biFirst;
+import static io.sourceforge.recipe.util.Fn.recfn;
+import static java.util.concurrent.ThreadLocalRandom.current;
+
+/**
+ * Bean-building pipelines in the style of the README examples, compared to
+ * refilling a reused instance with a {@link Populator} and to a recipe derived
+ * by {@link BeanRecipe} from the same property recipes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BeanBenchmark {
+
+    public static final class Account {
+
+        private final Integer       id;
+        private final String        username;
+        private final LocalDateTime createdAt;
+
+        private Account(Integer id, String username, LocalDateTime createdAt) {
+            this.id        = id;
+            this.username  = username;
+            this.createdAt = createdAt;
+        }
+
+        public static Builder builder() {
+            return new Builder();
+        }
+
+        public static final class Builder {
+
+            private Integer       id;
+            private String        username;
+            private LocalDateTime createdAt;
+
+            public Builder id       (Integer       val) { id        = val; return this; }
+            public Builder username (String        val) { username  = val; return this; }
+            public Builder createdAt(LocalDateTime val) { createdAt = val; return this; }
+
+            public Account build() {
+                return new Account(id, username, createdAt);
+            }
+
+        }
+
+    }
+
+    public static final class Role {
+
+        private Integer id;
+        private String  name;
+        private boolean active;
+
+        public void setId    (Integer id    ) { this.id     = id;     }
+        public void setName  (String  name  ) { this.name   = name;   }
+        public void setActive(boolean active) { this.active = active; }
+
+    }
+
+    private static final Recipe<Integer> REC_INT_POS = Recipe
+            .of(() -> current().nextInt(0, Integer.MAX_VALUE))
+            .map(x -> x + 1);
+
+    private static final Recipe<String> REC_UUID_STR = Recipe
+            .of(UUID::randomUUID)
+            .map(UUID::toString);
+
+    private static final LocalDateTime NOW = LocalDateTime.now();
+
+    private final Recipe<Account> builder = Recipe
+            .of(Account::builder)
+            .bind(recfn(REC_INT_POS),      Account.Builder::id)
+            .bind(recfn(REC_UUID_STR),     Account.Builder::username)
+            .bind(recfn(() -> NOW),        Account.Builder::createdAt)
+            .map(Account.Builder::build);
+
+    private final Recipe<Role> setters = Recipe
+            .of(Role::new)
+            .bind(recfn(REC_INT_POS),                      biFirst(Role::setId))
+            .bind(recfn(REC_UUID_STR),                     biFirst(Role::setName))
+            .bind(recfn(() -> current().nextBoolean()),    biFirst(Role::setActive));
+
+    private final Populator<Role> populator = Populator.<Role>of()
+            .with(Role::setId,     REC_INT_POS)
+            .with(Role::setName,   REC_UUID_STR)
+            .with(Role::setActive, () -> current().nextBoolean());
+
+    private final Recipe<Role> derived = BeanRecipe
+            .of(Role.class)
+            .with("id",     REC_INT_POS)
+            .with("name",   REC_UUID_STR)
+            .with("active", () -> current().nextBoolean())
+            .build();
+
+    private final Recipe<Role> into = populator.into(new Role());
+
+    private final Recipe<Role> pooled = populator.pooled(Role::new);
+
+    @Benchmark
+    public Account builder() {
+        return builder.get();
+    }
+
+    @Benchmark
+    public Role setters() {
+        return setters.get();
+    }
+
+    @Benchmark
+    public Role derived() {
+        return derived.get();
+    }
+
+    @Benchmark
+    public Role into() {
+        return into.get();
+    }
+
+    @Benchmark
+    public Role pooled() {
+        return pooled.get();
+    }
+
+}
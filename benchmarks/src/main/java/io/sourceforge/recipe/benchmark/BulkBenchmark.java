@@ -0,0 +1,57 @@
+// SPDX-FileCopyrightText: © 2022 Nikola Vojičić <nikolavojicic@outlook.com>
+// SPDX-License-Identifier: MIT
+
+package io.sourceforge.recipe.benchmark;
+
+import io.sourceforge.recipe.Recipe;
+import io.sourceforge.recipe.random.RandomSource;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Generation of many values: {@code get()} loop versus the bulk operations.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BulkBenchmark {
+
+    @Param({"100000"})
+    public int size;
+
+    private final Recipe<String> recipe = Recipe
+            .of(() -> RandomSource.current().nextLong())
+            .map(Long::toHexString);
+
+    @Benchmark
+    public List<String> loop() {
+        List<String> list = new ArrayList<>();
+        for (int i = 0; i < size; i++)
+            list.add(recipe.get());
+        return list;
+    }
+
+    @Benchmark
+    public List<String> take() {
+        return recipe.take(size);
+    }
+
+    @Benchmark
+    public List<String> parallelStream() {
+        return recipe.stream(size).parallel().collect(toList());
+    }
+
+    @Benchmark
+    public List<String> parallelStreamSeeded() {
+        return recipe.stream(size, RandomSource.seeded(42)).parallel().collect(toList());
+    }
+
+}
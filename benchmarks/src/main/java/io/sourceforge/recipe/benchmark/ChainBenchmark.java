@@ -0,0 +1,52 @@
+// SPDX-FileCopyrightText: © 2022 Nikola Vojičić <nikolavojicic@outlook.com>
+// SPDX-License-Identifier: MIT
+
+package io.sourceforge.recipe.benchmark;
+
+import io.sourceforge.recipe.Recipe;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static io.sourceforge.recipe.util.Fn.recfn;
+
+/**
+ * Cost of deep {@code map} and {@code bind} chains, as built by folding in a loop;
+ * the time per step should stay flat as the depth grows.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ChainBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    public int depth;
+
+    private Recipe<Integer> mapChain;
+    private Recipe<Integer> bindChain;
+
+    @Setup
+    public void setup() {
+        Recipe<Integer> one = Recipe.ofValue(1);
+        mapChain  = Recipe.ofValue(0);
+        bindChain = Recipe.ofValue(0);
+        for (int i = 0; i < depth; i++) {
+            mapChain  = mapChain.map(x -> x + 1);
+            bindChain = bindChain.bind(recfn(one), Integer::sum);
+        }
+    }
+
+    @Benchmark
+    public Integer map() {
+        return mapChain.get();
+    }
+
+    @Benchmark
+    public Integer bind() {
+        return bindChain.get();
+    }
+
+}
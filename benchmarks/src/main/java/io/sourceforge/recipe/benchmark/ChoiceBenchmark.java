@@ -0,0 +1,99 @@
+// SPDX-FileCopyrightText: © 2022 Nikola Vojičić <nikolavojicic@outlook.com>
+// SPDX-License-Identifier: MIT
+
+package io.sourceforge.recipe.benchmark;
+
+import io.sourceforge.recipe.Recipe;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static io.sourceforge.recipe.util.Fn.fnrec;
+import static java.util.concurrent.ThreadLocalRandom.current;
+
+/**
+ * Array-indexed {@code oneOf} and {@code ofEnum} compared to the list-binding
+ * implementation they replaced, and alias-table {@code oneOfWeighted} compared to
+ * skew built from nested {@code or}; run with {@code -prof gc} to see allocations per call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ChoiceBenchmark {
+
+    enum Status {ACTIVE, INACTIVE, SUSPENDED, DELETED, ARCHIVED}
+
+    private static final List<Status> STATUSES = Arrays.asList(Status.values());
+
+    private static final List<Recipe<String>> VARIANTS = Arrays.asList(
+            () -> "foo",
+            () -> "bar",
+            () -> "baz",
+            () -> "qux");
+
+    private final Recipe<Status> ofEnum = Recipe.ofEnum(Status.class);
+
+    private final Recipe<Status> ofEnumLegacy = Recipe
+            .ofValue(STATUSES)
+            .bind(fnrec(__ -> current().nextInt(0, STATUSES.size())), List::get);
+
+    private final Recipe<String> oneOf = Recipe.oneOf(
+            VARIANTS.get(0),
+            VARIANTS.get(1),
+            VARIANTS.get(2),
+            VARIANTS.get(3));
+
+    private final Recipe<String> oneOfLegacy = Recipe
+            .ofValue(VARIANTS)
+            .bind(fnrec(__ -> current().nextInt(0, VARIANTS.size())), List::get)
+            .map(Recipe::get);
+
+    private final Recipe<String> oneOfWeighted = Recipe.oneOfWeighted(
+            new double[]{95, 2, 2, 1},
+            VARIANTS.get(0),
+            VARIANTS.get(1),
+            VARIANTS.get(2),
+            VARIANTS.get(3));
+
+    private final Recipe<String> nestedOr = Recipe
+            .of(VARIANTS.get(3))
+            .or(VARIANTS.get(2))
+            .or(VARIANTS.get(1))
+            .or(VARIANTS.get(0));
+
+    @Benchmark
+    public Status ofEnum() {
+        return ofEnum.get();
+    }
+
+    @Benchmark
+    public Status ofEnumLegacy() {
+        return ofEnumLegacy.get();
+    }
+
+    @Benchmark
+    public String oneOf() {
+        return oneOf.get();
+    }
+
+    @Benchmark
+    public String oneOfLegacy() {
+        return oneOfLegacy.get();
+    }
+
+    @Benchmark
+    public String oneOfWeighted() {
+        return oneOfWeighted.get();
+    }
+
+    @Benchmark
+    public String nestedOr() {
+        return nestedOr.get();
+    }
+
+}
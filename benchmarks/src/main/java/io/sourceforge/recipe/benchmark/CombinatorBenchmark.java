@@ -0,0 +1,130 @@
+// SPDX-FileCopyrightText: © 2022 Nikola Vojičić <nikolavojicic@outlook.com>
+// SPDX-License-Identifier: MIT
+
+package io.sourceforge.recipe.benchmark;
+
+import io.sourceforge.recipe.Recipe;
+import io.sourceforge.recipe.util.Fn;
+import io.sourceforge.recipe.util.Pair;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.concurrent.ThreadLocalRandom.current;
+
+/**
+ * Cost of a single application of each combinator and {@code Fn} helper,
+ * and of {@code bind} rebuilding its inner recipe compared to {@code bindCached}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CombinatorBenchmark {
+
+    enum Status {ACTIVE, INACTIVE, SUSPENDED, DELETED}
+
+    private final Recipe<Integer> source = () -> current().nextInt();
+
+    private final Recipe<Integer> map = source.map(x -> x + 1);
+
+    private final Recipe<Integer> bind = source.bind(Fn.recfn(source), Integer::sum);
+
+    private final Recipe<Integer> filter = source.filter(x -> x % 2 == 0);
+
+    private final Recipe<Integer> or = source.or(() -> 0);
+
+    private final Recipe<Integer> oneOf = Recipe.oneOf(source, () -> 0, () -> 1, () -> 2);
+
+    private final Recipe<Status> ofEnum = Recipe.ofEnum(Status.class);
+
+    private final Recipe<List<Integer>> doto = Recipe
+            .of(ArrayList<Integer>::new)
+            .map(Fn.doto(xs -> xs.add(1)));
+
+    private final Recipe<Pair<List<Integer>, Integer>> dotwo = Recipe
+            .of(ArrayList<Integer>::new)
+            .bind(Fn.recfn(source), Fn.dotwo(List::add));
+
+    private final Recipe<Integer> fnrec = source.bind(Fn.fnrec(x -> x + 1), Integer::sum);
+
+    private final Recipe<String> bindRebuilt = ofEnum
+            .bind(s -> Recipe.matching(s.name() + "-[0-9]{3}"), (s, code) -> code);
+
+    private final Recipe<String> bindCachedEnum = ofEnum
+            .bindCached(s -> Recipe.matching(s.name() + "-[0-9]{3}"), (s, code) -> code, 16);
+
+    private final Recipe<String> bindCachedInt = Recipe
+            .of(() -> current().nextInt(100))
+            .bindCached(x -> Recipe.matching(x + "-[0-9]{3}"), (x, code) -> code, 1000);
+
+    @Benchmark
+    public Integer baseline() {
+        return source.get();
+    }
+
+    @Benchmark
+    public Integer map() {
+        return map.get();
+    }
+
+    @Benchmark
+    public Integer bind() {
+        return bind.get();
+    }
+
+    @Benchmark
+    public Integer filter() {
+        return filter.get();
+    }
+
+    @Benchmark
+    public Integer or() {
+        return or.get();
+    }
+
+    @Benchmark
+    public Integer oneOf() {
+        return oneOf.get();
+    }
+
+    @Benchmark
+    public Status ofEnum() {
+        return ofEnum.get();
+    }
+
+    @Benchmark
+    public List<Integer> doto() {
+        return doto.get();
+    }
+
+    @Benchmark
+    public Pair<List<Integer>, Integer> dotwo() {
+        return dotwo.get();
+    }
+
+    @Benchmark
+    public Integer fnrec() {
+        return fnrec.get();
+    }
+
+    @Benchmark
+    public String bindRebuilt() {
+        return bindRebuilt.get();
+    }
+
+    @Benchmark
+    public String bindCachedEnum() {
+        return bindCachedEnum.get();
+    }
+
+    @Benchmark
+    public String bindCachedInt() {
+        return bindCachedInt.get();
+    }
+
+}
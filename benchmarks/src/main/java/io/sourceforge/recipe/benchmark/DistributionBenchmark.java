@@ -0,0 +1,114 @@
+// SPDX-FileCopyrightText: © 2022 Nikola Vojičić <nikolavojicic@outlook.com>
+// SPDX-License-Identifier: MIT
+
+package io.sourceforge.recipe.benchmark;
+
+import io.sourceforge.recipe.DoubleRecipe;
+import io.sourceforge.recipe.IntRecipe;
+import io.sourceforge.recipe.LongRecipe;
+import io.sourceforge.recipe.random.RandomSource;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static java.util.concurrent.ThreadLocalRandom.current;
+
+/**
+ * Distribution samplers compared to the hand-rolled {@code map}s over
+ * {@link java.util.concurrent.ThreadLocalRandom} they replace, including
+ * truncation by {@code filter}, and the unseeded sampler once a seeded
+ * source has been installed in the JVM.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DistributionBenchmark {
+
+    private final DoubleRecipe gaussian = DoubleRecipe.gaussian(100, 15);
+
+    private final DoubleRecipe polar = () -> 100 + 15 * current().nextGaussian();
+
+    private final DoubleRecipe gaussianTruncated = DoubleRecipe.gaussian(100, 15, 130, 160);
+
+    private final DoubleRecipe gaussianFiltered = DoubleRecipe
+            .of(() -> 100 + 15 * current().nextGaussian())
+            .filter(x -> x >= 130 && x < 160, 10_000);
+
+    private final DoubleRecipe exponential = DoubleRecipe.exponential(0.5);
+
+    private final DoubleRecipe logarithm = () -> -Math.log(1 - current().nextDouble()) / 0.5;
+
+    private final LongRecipe zipf = LongRecipe.zipf(10_000_000, 1.1);
+
+    private final IntRecipe poissonSmall = IntRecipe.poisson(4);
+
+    private final IntRecipe poissonLarge = IntRecipe.poisson(1000);
+
+    /**
+     * Installs a seeded source once, after which every unseeded call looks up the thread-local
+     * source; each benchmark runs in its own fork, so the others are not affected.
+     */
+    @State(Scope.Benchmark)
+    public static class Seeded {
+
+        @Setup
+        public void setup() {
+            RandomSource.call(RandomSource.seeded(1), () -> null);
+        }
+
+    }
+
+    @Benchmark
+    public double gaussian() {
+        return gaussian.getAsDouble();
+    }
+
+    @Benchmark
+    public double gaussianAfterSeeded(Seeded seeded) {
+        return gaussian.getAsDouble();
+    }
+
+    @Benchmark
+    public double polar() {
+        return polar.getAsDouble();
+    }
+
+    @Benchmark
+    public double gaussianTruncated() {
+        return gaussianTruncated.getAsDouble();
+    }
+
+    @Benchmark
+    public double gaussianFiltered() {
+        return gaussianFiltered.getAsDouble();
+    }
+
+    @Benchmark
+    public double exponential() {
+        return exponential.getAsDouble();
+    }
+
+    @Benchmark
+    public double logarithm() {
+        return logarithm.getAsDouble();
+    }
+
+    @Benchmark
+    public long zipf() {
+        return zipf.getAsLong();
+    }
+
+    @Benchmark
+    public int poissonSmall() {
+        return poissonSmall.getAsInt();
+    }
+
+    @Benchmark
+    public int poissonLarge() {
+        return poissonLarge.getAsInt();
+    }
+
+}
@@ -0,0 +1,73 @@
+// SPDX-FileCopyrightText: © 2022 Nikola Vojičić <nikolavojicic@outlook.com>
+// SPDX-License-Identifier: MIT
+
+package io.sourceforge.recipe.benchmark;
+
+import io.sourceforge.recipe.Recipe;
+import io.sourceforge.recipe.graph.Node;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lambda chains compared to the same recipes built as nodes and compiled.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GraphBenchmark {
+
+    @Param({"30"})
+    public int depth;
+
+    private Recipe<Integer> lambdaMaps;
+    private Recipe<Integer> compiledMaps;
+    private Recipe<String> lambdaChoice;
+    private Recipe<String> compiledChoice;
+
+    @Setup
+    public void setup() {
+        Recipe<Integer> rec = Recipe.ofValue(0);
+        Node<Integer> node = Node.ofValue(0);
+        for (int i = 0; i < depth; i++) {
+            rec  = rec.map(x -> x + 1);
+            node = node.map(x -> x + 1);
+        }
+        lambdaMaps   = rec;
+        compiledMaps = node.compile();
+
+        lambdaChoice = Recipe
+                .oneOf(() -> "a", () -> "b")
+                .or(Recipe.oneOf(() -> "c", () -> "d"))
+                .or(() -> "e");
+        compiledChoice = Node
+                .oneOf(Node.ofValue("a"), Node.ofValue("b"))
+                .or(Node.oneOf(Node.ofValue("c"), Node.ofValue("d")))
+                .or(Node.ofValue("e"))
+                .compile();
+    }
+
+    @Benchmark
+    public Integer lambdaMaps() {
+        return lambdaMaps.get();
+    }
+
+    @Benchmark
+    public Integer compiledMaps() {
+        return compiledMaps.get();
+    }
+
+    @Benchmark
+    public String lambdaChoice() {
+        return lambdaChoice.get();
+    }
+
+    @Benchmark
+    public String compiledChoice() {
+        return compiledChoice.get();
+    }
+
+}
@@ -0,0 +1,105 @@
+// SPDX-FileCopyrightText: © 2022 Nikola Vojičić <nikolavojicic@outlook.com>
+// SPDX-License-Identifier: MIT
+
+package io.sourceforge.recipe.benchmark;
+
+import io.sourceforge.recipe.LongRecipe;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sequence recipes shared by 1 to 64 threads: globally ordered (one atomic
+ * counter), striped into per-thread blocks, and one partition per thread.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SequenceBenchmark {
+
+    private static final int PARTITIONS = 64;
+
+    private final LongRecipe atomic = LongRecipe.sequence(0, 1);
+
+    private final LongRecipe blocks = LongRecipe.sequence(0, 1, 1024);
+
+    private final AtomicInteger partitions = new AtomicInteger();
+
+    @State(Scope.Thread)
+    public static class Partition {
+
+        LongRecipe sequence;
+
+        @Setup
+        public void setup(SequenceBenchmark benchmark) {
+            int partition = benchmark.partitions.getAndIncrement() % PARTITIONS;
+            sequence = LongRecipe.sequence(0, 1, partition, PARTITIONS);
+        }
+
+    }
+
+    @Benchmark @Threads(1)
+    public long atomic_01() {
+        return atomic.getAsLong();
+    }
+
+    @Benchmark @Threads(4)
+    public long atomic_04() {
+        return atomic.getAsLong();
+    }
+
+    @Benchmark @Threads(16)
+    public long atomic_16() {
+        return atomic.getAsLong();
+    }
+
+    @Benchmark @Threads(64)
+    public long atomic_64() {
+        return atomic.getAsLong();
+    }
+
+    @Benchmark @Threads(1)
+    public long blocks_01() {
+        return blocks.getAsLong();
+    }
+
+    @Benchmark @Threads(4)
+    public long blocks_04() {
+        return blocks.getAsLong();
+    }
+
+    @Benchmark @Threads(16)
+    public long blocks_16() {
+        return blocks.getAsLong();
+    }
+
+    @Benchmark @Threads(64)
+    public long blocks_64() {
+        return blocks.getAsLong();
+    }
+
+    @Benchmark @Threads(1)
+    public long partition_01(Partition partition) {
+        return partition.sequence.getAsLong();
+    }
+
+    @Benchmark @Threads(4)
+    public long partition_04(Partition partition) {
+        return partition.sequence.getAsLong();
+    }
+
+    @Benchmark @Threads(16)
+    public long partition_16(Partition partition) {
+        return partition.sequence.getAsLong();
+    }
+
+    @Benchmark @Threads(64)
+    public long partition_64(Partition partition) {
+        return partition.sequence.getAsLong();
+    }
+
+}
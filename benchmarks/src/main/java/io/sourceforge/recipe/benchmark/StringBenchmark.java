@@ -0,0 +1,63 @@
+// SPDX-FileCopyrightText: © 2022 Nikola Vojičić <nikolavojicic@outlook.com>
+// SPDX-License-Identifier: MIT
+
+package io.sourceforge.recipe.benchmark;
+
+import io.sourceforge.recipe.Recipe;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static java.util.concurrent.ThreadLocalRandom.current;
+
+/**
+ * {@code ofString} compared to building strings with a {@link StringBuilder} per value,
+ * and {@code matching} compared to filtering random strings with {@link String#matches};
+ * run with {@code -prof gc} to see allocations per call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StringBenchmark {
+
+    private static final String ALPHABET = "abcdefghijklmnopqrstuvwxyz0123456789";
+
+    private final Recipe<String> ofString = Recipe.ofString(ALPHABET, () -> 16);
+
+    private final Recipe<String> builder = () -> {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 16; i++)
+            sb.append(ALPHABET.charAt(current().nextInt(ALPHABET.length())));
+        return sb.toString();
+    };
+
+    private final Recipe<String> matching = Recipe.matching("[a-c]{2}\\d{2}");
+
+    private final Recipe<String> filtered = Recipe
+            .ofString("abc0123456789", () -> 4)
+            .filter(s -> s.matches("[a-c]{2}\\d{2}"), 10_000);
+
+    @Benchmark
+    public String ofString() {
+        return ofString.get();
+    }
+
+    @Benchmark
+    public String builder() {
+        return builder.get();
+    }
+
+    @Benchmark
+    public String matching() {
+        return matching.get();
+    }
+
+    @Benchmark
+    public String filtered() {
+        return filtered.get();
+    }
+
+}
@@ -0,0 +1,134 @@
+// SPDX-FileCopyrightText: © 2022 Nikola Vojičić <nikolavojicic@outlook.com>
+// SPDX-License-Identifier: MIT
+
+package io.sourceforge.recipe;
+
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Recipe built by {@link Recipe#map}, {@link Recipe#bind} and {@link Recipe#filter}
+ * that evaluates the whole chain of steps in a loop, instead of one nested {@code get()}
+ * call per step, so chains of any depth run in constant stack space.
+ * <p>
+ * A filter step that rejects a value restarts the loop from the root, which is
+ * what calling the filtered recipe again would do. Each chain links to its
+ * predecessor; the steps are copied into an array on the first {@link #get()}.
+ */
+final class Chain<T> implements Recipe<T> {
+
+    private final Supplier<?> root;
+    private final Chain<?> previous;
+    private final Function<Object, Object> step;
+    private final int depth;
+    private volatile Function<Object, Object>[] steps;
+
+    private Chain(Supplier<?> root, Chain<?> previous, Function<Object, Object> step) {
+        this.root     = root;
+        this.previous = previous;
+        this.step     = step;
+        this.depth    = previous == null ? 1 : previous.depth + 1;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T, R> Recipe<R> map(Recipe<T> source, Function<? super T, ? extends R> mapper) {
+        return append(source, (Function<Object, Object>) mapper);
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T, U, R> Recipe<R> bind(Recipe<T> source,
+                                    Function<? super T, ? extends Supplier<? extends U>> recipeFn,
+                                    BiFunction<? super T, ? super U, ? extends R> binder)
+    {
+        return append(source, value -> binder.apply((T) value, recipeFn.apply((T) value).get()));
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> Recipe<T> filter(Supplier<? extends T> source, Predicate<? super T> predicate,
+                                int maxTries, FilterStats stats)
+    {
+        return append(source, new Filter((Predicate<Object>) predicate, maxTries, stats));
+    }
+
+    private static <R> Recipe<R> append(Supplier<?> source, Function<Object, Object> step) {
+        if (source instanceof Chain) {
+            Chain<?> chain = (Chain<?>) source;
+            return new Chain<>(chain.root, chain, step);
+        }
+        return new Chain<>(source, null, step);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Function<Object, Object>[] steps() {
+        Function<Object, Object>[] xs = steps;
+        if (xs == null) {
+            xs = (Function<Object, Object>[]) new Function<?, ?>[depth];
+            Chain<?> chain = this;
+            for (int i = depth - 1; i >= 0; i--) {
+                xs[i] = chain.step;
+                chain = chain.previous;
+            }
+            steps = xs;
+        }
+        return xs;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get() {
+        Function<Object, Object>[] xs = steps();
+        int[] tries = null;
+        Object value = root.get();
+        for (int i = 0; i < xs.length; ) {
+            Function<Object, Object> x = xs[i];
+            if (!(x instanceof Filter)) {
+                value = x.apply(value);
+                i++;
+                continue;
+            }
+            Filter filter = (Filter) x;
+            if (filter.predicate.test(value)) {
+                if (tries == null) {
+                    Filters.accepted(0, filter.stats);
+                } else {
+                    Filters.accepted(tries[i], filter.stats);
+                    tries[i] = 0;
+                }
+                i++;
+                continue;
+            }
+            if (tries == null)
+                tries = new int[xs.length];
+            if (++tries[i] == filter.maxTries)
+                throw Filters.failed(filter.maxTries, filter.stats);
+            value = root.get();
+            i = 0;
+        }
+        return (T) value;
+    }
+
+    /**
+     * Step that is never applied, but tested by {@link #get()}.
+     */
+    private static final class Filter implements Function<Object, Object> {
+
+        final Predicate<Object> predicate;
+        final int maxTries;
+        final FilterStats stats;
+
+        Filter(Predicate<Object> predicate, int maxTries, FilterStats stats) {
+            this.predicate = predicate;
+            this.maxTries  = maxTries;
+            this.stats     = stats;
+        }
+
+        @Override
+        public Object apply(Object value) {
+            throw new AssertionError();
+        }
+
+    }
+
+}
@@ -0,0 +1,318 @@
+// SPDX-FileCopyrightText: © 2022 Nikola Vojičić <nikolavojicic@outlook.com>
+// SPDX-License-Identifier: MIT
+
+package io.sourceforge.recipe;
+
+import io.sourceforge.recipe.random.RandomSource;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.zip.CRC32;
+
+import static io.sourceforge.recipe.random.RandomSource.current;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Recipe for the entries of a memory-mapped UTF-8 file, one entry per line.
+ * <p>
+ * Entries are located through an offset index with the start and the end of
+ * each entry and, for weighted dictionaries, the cumulative weights. The index
+ * is kept off-heap and persisted next to the file, so later runs map it instead
+ * of scanning the file again. It is rebuilt when the size, the modification
+ * time or a checksum of the first and last few KiB of the file changes, or when
+ * a stored entry no longer ends at a line terminator. Only the chosen entry is
+ * decoded.
+ * <p>
+ * Both the file and its index are limited to 2 GiB.
+ */
+final class Dictionary implements Recipe<String> {
+
+    private static final long MAGIC = 0x5245434950454432L;
+    private static final int HEADER = 40;
+    private static final int SAMPLE = 4096;
+
+    private final ByteBuffer data;
+    private final ByteBuffer index;
+    private final int count;
+    private final boolean weighted;
+    private final double total;
+    private final ThreadLocal<byte[]> buffers = ThreadLocal.withInitial(() -> new byte[64]);
+
+    private Dictionary(ByteBuffer data, ByteBuffer index) {
+        this.data     = data;
+        this.index    = index;
+        this.count    = index.getInt(32);
+        this.weighted = index.getInt(24) >= 0;
+        this.total    = weighted ? cumulative(count - 1) : 0;
+    }
+
+    /**
+     * @param weightColumn zero-based column with the weights, or {@code -1} for uniform sampling
+     */
+    static Dictionary of(Path path, char separator, int weightColumn) throws IOException {
+        ByteBuffer data;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE)
+                throw new IllegalArgumentException("Dictionary larger than 2 GiB.");
+            data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        long modified = Files.getLastModifiedTime(path).toMillis();
+        int checksum = checksum(data);
+        Path file = path.resolveSibling(path.getFileName()
+                + (weightColumn < 0 ? "" : "." + weightColumn) + ".idx");
+        ByteBuffer index = load(file, data, modified, checksum, separator, weightColumn);
+        if (index == null) {
+            index = build(data, modified, checksum, separator, weightColumn);
+            store(file, index);
+        }
+        return new Dictionary(data, index);
+    }
+
+    @Override
+    public String get() {
+        RandomSource random = current();
+        int i = weighted
+                ? search(random.nextDouble() * total)
+                : random.nextInt(count);
+        int start = index.getInt(HEADER + 4 * i);
+        int end = index.getInt(HEADER + 4 * count + 4 * i);
+        int length = end - start;
+        byte[] buffer = buffers.get();
+        if (buffer.length < length) {
+            buffer = new byte[Math.max(length, buffer.length * 2)];
+            buffers.set(buffer);
+        }
+        for (int j = 0; j < length; j++)
+            buffer[j] = data.get(start + j);
+        return new String(buffer, 0, length, UTF_8);
+    }
+
+    /**
+     * @return first entry whose cumulative weight exceeds {@code target}
+     */
+    private int search(double target) {
+        int low = 0, high = count - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cumulative(mid) > target)
+                high = mid;
+            else
+                low = mid + 1;
+        }
+        return low;
+    }
+
+    private double cumulative(int i) {
+        return index.getDouble(HEADER + 8 * count + 8 * i);
+    }
+
+    // ---------------- INDEX ----------------
+
+    private static ByteBuffer load(Path file, ByteBuffer data, long modified, int checksum,
+                                   char separator, int weightColumn)
+            throws IOException
+    {
+        if (!Files.isRegularFile(file))
+            return null;
+        ByteBuffer index;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER || channel.size() > Integer.MAX_VALUE)
+                return null;
+            index = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (index.getLong(0) != MAGIC
+                || index.getLong(8) != data.capacity()
+                || index.getLong(16) != modified
+                || index.getInt(24) != weightColumn
+                || index.getInt(28) != separator
+                || index.getInt(36) != checksum
+                || index.getInt(32) <= 0
+                || index.capacity() != length(index.getInt(32), weightColumn)
+                || !terminated(data, index, separator, weightColumn))
+            return null;
+        return index;
+    }
+
+    /**
+     * @return CRC32 of the first and last {@link #SAMPLE} bytes, or of the whole data when shorter
+     */
+    private static int checksum(ByteBuffer data) {
+        CRC32 crc = new CRC32();
+        ByteBuffer view = data.duplicate();
+        if (view.capacity() <= 2 * SAMPLE) {
+            crc.update(view);
+        } else {
+            view.limit(SAMPLE);
+            crc.update(view);
+            view.limit(view.capacity()).position(view.capacity() - SAMPLE);
+            crc.update(view);
+        }
+        return (int) crc.getValue();
+    }
+
+    /**
+     * @return whether each stored entry lies within the data and ends at a line terminator,
+     *         the end of the data or, for weighted dictionaries, the separator
+     */
+    private static boolean terminated(ByteBuffer data, ByteBuffer index, char separator, int weightColumn) {
+        int count = index.getInt(32);
+        int limit = data.capacity();
+        for (int i = 0; i < count; i++) {
+            int start = index.getInt(HEADER + 4 * i);
+            int end = index.getInt(HEADER + 4 * count + 4 * i);
+            if (start < 0 || end < start || end > limit)
+                return false;
+            if (end == limit)
+                continue;
+            byte next = data.get(end);
+            if (next == '\n'
+                    || next == '\r' && end + 1 < limit && data.get(end + 1) == '\n'
+                    || weightColumn >= 0 && next == separator)
+                continue;
+            return false;
+        }
+        return true;
+    }
+
+    private static void store(Path file, ByteBuffer index) {
+        Path temp = null;
+        try {
+            temp = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp");
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                ByteBuffer view = index.duplicate();
+                view.clear();
+                while (view.hasRemaining())
+                    channel.write(view);
+            }
+            try {
+                Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException ex) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException | SecurityException ex) {
+            // Read-only location: keep the index in memory only.
+            if (temp != null)
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException ignored) {
+                }
+        }
+    }
+
+    private static ByteBuffer build(ByteBuffer data, long modified, int checksum,
+                                    char separator, int weightColumn)
+    {
+        int count = 0;
+        for (Lines lines = new Lines(data); lines.next(); )
+            count++;
+        if (count == 0)
+            throw new IllegalArgumentException("Empty dictionary.");
+        long length = length(count, weightColumn);
+        if (length > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Dictionary index larger than 2 GiB.");
+        ByteBuffer index = ByteBuffer.allocateDirect((int) length);
+        index.putLong(0, MAGIC)
+             .putLong(8, data.capacity())
+             .putLong(16, modified)
+             .putInt(24, weightColumn)
+             .putInt(28, separator)
+             .putInt(32, count)
+             .putInt(36, checksum);
+        double total = 0;
+        int i = 0;
+        for (Lines lines = new Lines(data); lines.next(); i++) {
+            int end = lines.end;
+            if (weightColumn >= 0) {
+                end = column(data, lines.start, lines.end, separator, 0)[1];
+                int[] field = column(data, lines.start, lines.end, separator, weightColumn);
+                double weight = weight(data, field, i);
+                total += weight;
+                index.putDouble(HEADER + 8 * count + 8 * i, total);
+            }
+            index.putInt(HEADER + 4 * i, lines.start);
+            index.putInt(HEADER + 4 * count + 4 * i, end);
+        }
+        if (weightColumn >= 0 && !(total > 0 && total < Double.POSITIVE_INFINITY))
+            throw new IllegalArgumentException("Weights sum to zero or overflow.");
+        return index;
+    }
+
+    private static long length(int count, int weightColumn) {
+        return HEADER + 8L * count + (weightColumn < 0 ? 0 : 8L * count);
+    }
+
+    /**
+     * @return start and end of the {@code column} within the line
+     */
+    private static int[] column(ByteBuffer data, int start, int end, char separator, int column) {
+        int from = start;
+        for (int i = start; i < end; i++) {
+            if (data.get(i) != separator)
+                continue;
+            if (column == 0)
+                return new int[]{from, i};
+            column--;
+            from = i + 1;
+        }
+        if (column == 0)
+            return new int[]{from, end};
+        return null;
+    }
+
+    private static double weight(ByteBuffer data, int[] field, int entry) {
+        if (field == null)
+            throw new IllegalArgumentException("Missing weight of entry " + entry + ".");
+        byte[] bytes = new byte[field[1] - field[0]];
+        for (int i = 0; i < bytes.length; i++)
+            bytes[i] = data.get(field[0] + i);
+        double weight;
+        try {
+            weight = Double.parseDouble(new String(bytes, UTF_8).trim());
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid weight of entry " + entry + ".");
+        }
+        if (!(weight >= 0 && weight < Double.POSITIVE_INFINITY))
+            throw new IllegalArgumentException("Invalid weight of entry " + entry + ".");
+        return weight;
+    }
+
+    /**
+     * Cursor over the non-empty lines, without line terminators and the byte order mark.
+     */
+    private static final class Lines {
+
+        private final ByteBuffer data;
+        private int position;
+        int start;
+        int end;
+
+        Lines(ByteBuffer data) {
+            this.data = data;
+            if (data.capacity() >= 3
+                    && data.get(0) == (byte) 0xEF
+                    && data.get(1) == (byte) 0xBB
+                    && data.get(2) == (byte) 0xBF)
+                position = 3;
+        }
+
+        boolean next() {
+            int limit = data.capacity();
+            while (position < limit) {
+                start = position;
+                while (position < limit && data.get(position) != '\n')
+                    position++;
+                end = position;
+                position++;
+                if (end > start && data.get(end - 1) == '\r')
+                    end--;
+                if (end > start)
+                    return true;
+            }
+            return false;
+        }
+
+    }
+
+}
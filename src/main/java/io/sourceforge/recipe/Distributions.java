@@ -0,0 +1,263 @@
+// SPDX-FileCopyrightText: © 2022 Nikola Vojičić <nikolavojicic@outlook.com>
+// SPDX-License-Identifier: MIT
+
+package io.sourceforge.recipe;
+
+import io.sourceforge.recipe.random.RandomSource;
+
+import static io.sourceforge.recipe.random.RandomSource.current;
+
+/**
+ * Samplers of discrete distributions and of truncated continuous distributions.
+ * <p>
+ * Truncated distributions are sampled by inversion of their distribution
+ * functions, so each sample takes exactly one random value however narrow
+ * the interval is.
+ */
+final class Distributions {
+
+    private static final double SQRT_2PI = Math.sqrt(2 * Math.PI);
+
+    private static final double[] LOG_FACTORIALS = new double[256];
+
+    static {
+        for (int i = 1; i < LOG_FACTORIALS.length; i++)
+            LOG_FACTORIALS[i] = LOG_FACTORIALS[i - 1] + Math.log(i);
+    }
+
+    private Distributions() {
+        throw new AssertionError();
+    }
+
+    // ---------------- NORMAL ----------------
+
+    static void checkGaussian(double mean, double stddev) {
+        if (!Double.isFinite(mean))
+            throw new IllegalArgumentException("Mean must be finite.");
+        if (!(stddev > 0 && stddev < Double.POSITIVE_INFINITY))
+            throw new IllegalArgumentException("Standard deviation must be positive.");
+    }
+
+
+    /**
+     * @return distribution function of the standard normal distribution, by Hart's
+     *         double-precision rational approximation (as published by West) and the
+     *         continued fraction for the tail, with small relative error in the lower tail
+     */
+    static double normalCdf(double x) {
+        double z = Math.abs(x);
+        double tail;
+        if (z > 37) {
+            tail = 0;
+        } else if (z < 7.07106781186547) {
+            double n = (((((3.52624965998911e-02 * z + 0.700383064443688) * z + 6.37396220353165) * z
+                    + 33.912866078383) * z + 112.079291497871) * z + 221.213596169931) * z + 220.206867912376;
+            double d = ((((((8.83883476483184e-02 * z + 1.75566716318264) * z + 16.064177579207) * z
+                    + 86.7807322029461) * z + 296.564248779674) * z + 637.333633378831) * z
+                    + 793.826512519948) * z + 440.413735824752;
+            tail = Math.exp(-0.5 * z * z) * n / d;
+        } else {
+            // Continued fraction, evaluated from the inside deeper than Hart's,
+            // which keeps the relative error small far in the tail.
+            double fraction = z;
+            for (int k = 24; k > 0; k--)
+                fraction = z + k / fraction;
+            tail = Math.exp(-0.5 * z * z) / fraction / SQRT_2PI;
+        }
+        return x > 0 ? 1 - tail : tail;
+    }
+
+    /**
+     * @return inverse of the {@link #normalCdf(double)}, by Acklam's rational
+     *         approximation refined with one step of Halley's method
+     */
+    static double normalQuantile(double p) {
+        if (p <= 0)
+            return Double.NEGATIVE_INFINITY;
+        if (p >= 1)
+            return Double.POSITIVE_INFINITY;
+        double x;
+        if (p < 0.02425) {
+            double q = Math.sqrt(-2 * Math.log(p));
+            x = (((((-7.784894002430293e-03 * q - 3.223964580411365e-01) * q - 2.400758277161838e+00) * q
+                    - 2.549732539343734e+00) * q + 4.374664141464968e+00) * q + 2.938163982698783e+00)
+                / ((((7.784695709041462e-03 * q + 3.224671290700398e-01) * q + 2.445134137142996e+00) * q
+                    + 3.754408661907416e+00) * q + 1);
+        } else if (p > 1 - 0.02425) {
+            return -normalQuantile(1 - p);
+        } else {
+            double q = p - 0.5, r = q * q;
+            x = (((((-3.969683028665376e+01 * r + 2.209460984245205e+02) * r - 2.759285104469687e+02) * r
+                    + 1.383577518672690e+02) * r - 3.066479806614716e+01) * r + 2.506628277459239e+00) * q
+                / (((((-5.447609879822406e+01 * r + 1.615858368580409e+02) * r - 1.556989798598866e+02) * r
+                    + 6.680131188771972e+01) * r - 1.328068155288572e+01) * r + 1);
+        }
+        double u = (normalCdf(x) - p) * SQRT_2PI * Math.exp(0.5 * x * x);
+        return x - u / (1 + 0.5 * x * u);
+    }
+
+    static DoubleRecipe truncatedGaussian(double mean, double stddev, double min, double max) {
+        double a = (min - mean) / stddev;
+        double b = (max - mean) / stddev;
+        // Inversion is precise in the lower tail, so upper intervals are mirrored.
+        boolean mirrored = a > 0;
+        double low = mirrored ? -b : a;
+        double high = mirrored ? -a : b;
+        double pLow = normalCdf(low);
+        double pRange = normalCdf(high) - pLow;
+        if (!(pRange > 0))
+            throw new IllegalArgumentException("Interval has zero probability.");
+        return () -> {
+            double x = normalQuantile(pLow + current().nextDouble() * pRange);
+            x = Math.max(low, Math.min(high, x));
+            double value = mean + stddev * (mirrored ? -x : x);
+            if (value < min)
+                return min;
+            return value < max ? value : Math.nextDown(max);
+        };
+    }
+
+    // ---------------- EXPONENTIAL ----------------
+
+    static void checkRate(double rate) {
+        if (!(rate > 0 && rate < Double.POSITIVE_INFINITY))
+            throw new IllegalArgumentException("Rate must be positive.");
+    }
+
+    static DoubleRecipe truncatedExponential(double rate, double min, double max) {
+        double mass = -Math.expm1(-rate * (max - min));
+        if (!(mass > 0))
+            throw new IllegalArgumentException("Interval has zero probability.");
+        return () -> {
+            double value = min - Math.log1p(-current().nextDouble() * mass) / rate;
+            return value < max ? value : Math.nextDown(max);
+        };
+    }
+
+    // ---------------- ZIPF ----------------
+
+    /**
+     * Rejection-inversion sampler of Hörmann and Derflinger, which needs no table,
+     * so it works with any number of elements, and accepts most samples at first try.
+     */
+    static final class Zipf implements LongRecipe {
+
+        private final long n;
+        private final double exponent;
+        private final double hIntegralX1;
+        private final double hIntegralN;
+        private final double s;
+
+        Zipf(long n, double exponent) {
+            this.n           = n;
+            this.exponent    = exponent;
+            this.hIntegralX1 = hIntegral(1.5) - 1;
+            this.hIntegralN  = hIntegral(n + 0.5);
+            this.s           = 2 - hIntegralInverse(hIntegral(2.5) - h(2));
+        }
+
+        @Override
+        public long getAsLong() {
+            RandomSource random = current();
+            for (;;) {
+                double u = hIntegralN + random.nextDouble() * (hIntegralX1 - hIntegralN);
+                double x = hIntegralInverse(u);
+                long k = (long) (x + 0.5);
+                if (k < 1)
+                    k = 1;
+                else if (k > n)
+                    k = n;
+                if (k - x <= s || u >= hIntegral(k + 0.5) - h(k))
+                    return k;
+            }
+        }
+
+        private double hIntegral(double x) {
+            double logX = Math.log(x);
+            return helper2((1 - exponent) * logX) * logX;
+        }
+
+        private double h(double x) {
+            return Math.exp(-exponent * Math.log(x));
+        }
+
+        private double hIntegralInverse(double x) {
+            double t = Math.max(-1, x * (1 - exponent));
+            return Math.exp(helper1(t) * x);
+        }
+
+        /**
+         * @return {@code log1p(x) / x}, precise near zero
+         */
+        private static double helper1(double x) {
+            return Math.abs(x) > 1e-8
+                    ? Math.log1p(x) / x
+                    : 1 - x * (0.5 - x * (1.0 / 3 - 0.25 * x));
+        }
+
+        /**
+         * @return {@code expm1(x) / x}, precise near zero
+         */
+        private static double helper2(double x) {
+            return Math.abs(x) > 1e-8
+                    ? Math.expm1(x) / x
+                    : 1 + x * 0.5 * (1 + x / 3 * (1 + 0.25 * x));
+        }
+
+    }
+
+    // ---------------- POISSON ----------------
+
+    /**
+     * @return sampler that inverts the distribution function for small means,
+     *         and uses Hörmann's transformed rejection (PTRS) for large ones
+     */
+    static IntRecipe poisson(double mean) {
+        if (mean < 10) {
+            double p0 = Math.exp(-mean);
+            return () -> {
+                double u = current().nextDouble();
+                int k = 0;
+                double p = p0, cumulative = p0;
+                while (u >= cumulative && p > 0) {
+                    p *= mean / ++k;
+                    cumulative += p;
+                }
+                return k;
+            };
+        }
+        double sqrt = Math.sqrt(mean);
+        double log = Math.log(mean);
+        double b = 0.931 + 2.53 * sqrt;
+        double a = -0.059 + 0.02483 * b;
+        double logAlpha = Math.log(1.1239 + 1.1328 / (b - 3.4));
+        double vr = 0.9277 - 3.6224 / (b - 2);
+        return () -> {
+            RandomSource random = current();
+            for (;;) {
+                double u = random.nextDouble() - 0.5;
+                double v = random.nextDouble();
+                double us = 0.5 - Math.abs(u);
+                double k = Math.floor((2 * a / us + b) * u + mean + 0.43);
+                if (us >= 0.07 && v <= vr)
+                    return (int) k;
+                if (k < 0 || us < 0.013 && v > us)
+                    continue;
+                if (Math.log(v) + logAlpha - Math.log(a / (us * us) + b) <= -mean + k * log - logFactorial(k))
+                    return (int) k;
+            }
+        };
+    }
+
+    /**
+     * @return natural logarithm of {@code k!}, from a table or Stirling's series
+     */
+    static double logFactorial(double k) {
+        if (k < LOG_FACTORIALS.length)
+            return LOG_FACTORIALS[(int) k];
+        double inverse = 1 / k;
+        return k * Math.log(k) - k + 0.5 * Math.log(2 * Math.PI * k)
+                + inverse * (1.0 / 12 - inverse * inverse / 360);
+    }
+
+}
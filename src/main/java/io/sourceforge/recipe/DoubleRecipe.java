@@ -0,0 +1,310 @@
+// SPDX-FileCopyrightText: © 2022 Nikola Vojičić <nikolavojicic@outlook.com>
+// SPDX-License-Identifier: MIT
+
+package io.sourceforge.recipe;
+
+import io.sourceforge.recipe.exception.RecipeFilterException;
+
+import java.util.function.*;
+
+import static io.sourceforge.recipe.random.RandomSource.current;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Primitive specialization of {@link Recipe} for {@code double} values.
+ *
+ * @see Recipe#mapToDouble(ToDoubleFunction)
+ */
+@FunctionalInterface
+public interface DoubleRecipe extends DoubleSupplier {
+
+    /**
+     * @return recipe that applies {@code mapper} to the values produced by {@code this} recipe
+     * @throws NullPointerException if {@code mapper} is {@code null}
+     */
+    default DoubleRecipe
+        map
+            (DoubleUnaryOperator mapper)
+    {
+        requireNonNull(mapper);
+        return () -> mapper.applyAsDouble(getAsDouble());
+    }
+
+    /**
+     * @return recipe that applies {@code mapper} to the values produced by {@code this} recipe
+     * @throws NullPointerException if {@code mapper} is {@code null}
+     */
+    default <R> Recipe<R>
+        mapToObj
+            (DoubleFunction<? extends R> mapper)
+    {
+        requireNonNull(mapper);
+        return () -> mapper.apply(getAsDouble());
+    }
+
+    /**
+     * @return recipe that applies {@code mapper} to the values produced by {@code this} recipe
+     * @throws NullPointerException if {@code mapper} is {@code null}
+     */
+    default IntRecipe
+        mapToInt
+            (DoubleToIntFunction mapper)
+    {
+        requireNonNull(mapper);
+        return () -> mapper.applyAsInt(getAsDouble());
+    }
+
+    /**
+     * @return recipe that applies {@code mapper} to the values produced by {@code this} recipe
+     * @throws NullPointerException if {@code mapper} is {@code null}
+     */
+    default LongRecipe
+        mapToLong
+            (DoubleToLongFunction mapper)
+    {
+        requireNonNull(mapper);
+        return () -> mapper.applyAsLong(getAsDouble());
+    }
+
+    /**
+     * @return recipe that applies {@code binder} to the values:<br/>
+     *         1. produced by {@code this} recipe<br/>
+     *         2. produced by the recipe returned by {@code recipeFn}, given the value from 1.
+     * @throws NullPointerException if {@code recipeFn} or {@code binder} is {@code null}
+     */
+    default DoubleRecipe
+        bind
+            (DoubleFunction<? extends DoubleSupplier> recipeFn,
+             DoubleBinaryOperator                  binder)
+    {
+        requireNonNull(recipeFn);
+        requireNonNull(binder);
+        return () -> {
+            double value = getAsDouble();
+            return binder.applyAsDouble(value, recipeFn.apply(value).getAsDouble());
+        };
+    }
+
+    /**
+     * @return recipe for values produced by {@code this} recipe that match the {@code predicate}
+     * @throws NullPointerException if {@code predicate} is {@code null}
+     * @throws RecipeFilterException if {@code predicate} returns {@code false} for 100 values in a row
+     */
+    default DoubleRecipe
+        filter
+            (DoublePredicate predicate)
+    {
+        return filter(predicate, 100);
+    }
+
+    /**
+     * @return recipe for values produced by {@code this} recipe that match the {@code predicate}
+     * @throws NullPointerException if {@code predicate} is {@code null}
+     * @throws IllegalArgumentException if {@code maxTries} is not positive
+     * @throws RecipeFilterException (without stack trace) if {@code predicate} returns {@code false}
+     *                               for {@code maxTries} values in a row
+     */
+    default DoubleRecipe
+        filter
+            (DoublePredicate predicate,
+             int             maxTries)
+    {
+        requireNonNull(predicate);
+        return Filters.filter(this, predicate, maxTries, null);
+    }
+
+    /**
+     * @return recipe for values produced by {@code this} recipe that match the {@code predicate},
+     *         which records accepted and rejected values in {@code stats}
+     * @throws NullPointerException if {@code predicate} or {@code stats} is {@code null}
+     * @throws IllegalArgumentException if {@code maxTries} is not positive
+     * @throws RecipeFilterException (without stack trace) if {@code predicate} returns {@code false}
+     *                               for {@code maxTries} values in a row
+     */
+    default DoubleRecipe
+        filter
+            (DoublePredicate predicate,
+             int             maxTries,
+             FilterStats     stats)
+    {
+        requireNonNull(predicate);
+        requireNonNull(stats);
+        return Filters.filter(this, predicate, maxTries, stats);
+    }
+
+    /**
+     * @return recipe that randomly chooses between {@code this} and {@code recipe}
+     * @throws NullPointerException if {@code recipe} is {@code null}
+     */
+    default DoubleRecipe
+        or
+            (DoubleSupplier recipe)
+    {
+        requireNonNull(recipe);
+        return () -> current().nextBoolean()
+                ? getAsDouble()
+                : recipe.getAsDouble();
+    }
+
+    /**
+     * @return recipe that boxes the values produced by {@code this} recipe
+     */
+    default Recipe<Double>
+        boxed
+            ()
+    {
+        return this::getAsDouble;
+    }
+
+    /**
+     * @return given {@code array} with each element replaced by a value produced by {@code this} recipe
+     * @throws NullPointerException if {@code array} is {@code null}
+     */
+    default double[]
+        fill
+            (double[] array)
+    {
+        for (int i = 0; i < array.length; i++)
+            array[i] = getAsDouble();
+        return array;
+    }
+
+    // ---------------- FACTORIES ----------------
+
+    /**
+     * @return given {@code recipe}
+     * @throws NullPointerException if {@code recipe} is {@code null}
+     */
+    static DoubleRecipe
+        of
+            (DoubleSupplier recipe)
+    {
+        return recipe::getAsDouble;
+    }
+
+    /**
+     * @return recipe that constantly returns {@code value}
+     */
+    static DoubleRecipe
+        ofValue
+            (double value)
+    {
+        return () -> value;
+    }
+
+    /**
+     * @return recipe for arrays with the number of elements produced by {@code size},
+     *         each produced by {@code element}
+     * @throws NullPointerException if {@code size} or {@code element} is {@code null}
+     * @throws IllegalArgumentException (on {@link Recipe#get()}) if {@code size} produces a negative value
+     */
+    static Recipe<double[]>
+        arrayOf
+            (IntSupplier    size,
+             DoubleSupplier element)
+    {
+        requireNonNull(size);
+        requireNonNull(element);
+        return () -> {
+            double[] array = new double[Fill.size(size)];
+            for (int i = 0; i < array.length; i++)
+                array[i] = element.getAsDouble();
+            return array;
+        };
+    }
+
+    /**
+     * @return recipe for random {@code double} values between zero (inclusive) and one (exclusive)
+     */
+    static DoubleRecipe
+        doubles
+            ()
+    {
+        return () -> current().nextDouble();
+    }
+
+    /**
+     * @return recipe for random {@code double} values between {@code origin} (inclusive) and {@code bound} (exclusive)
+     * @throws IllegalArgumentException if {@code origin} is greater than or equal to {@code bound}
+     */
+    static DoubleRecipe
+        doubles
+            (double origin,
+             double bound)
+    {
+        if (!(origin < bound))
+            throw new IllegalArgumentException("Bound must be greater than origin.");
+        return () -> current().nextDouble(origin, bound);
+    }
+
+    // ---------------- DISTRIBUTIONS ----------------
+
+    /**
+     * @return recipe for values from the normal distribution with the given {@code mean}
+     *         and standard deviation {@code stddev}, sampled by the ziggurat method
+     * @throws IllegalArgumentException if {@code mean} is not finite, or {@code stddev} is not positive and finite
+     */
+    static DoubleRecipe
+        gaussian
+            (double mean,
+             double stddev)
+    {
+        Distributions.checkGaussian(mean, stddev);
+        return () -> mean + stddev * Ziggurat.gaussian(current());
+    }
+
+    /**
+     * @return recipe for values from the normal distribution with the given {@code mean} and
+     *         standard deviation {@code stddev}, truncated to {@code min} (inclusive) and {@code max}
+     *         (exclusive), sampled by inversion with one random value per sample
+     * @throws IllegalArgumentException if {@code mean} is not finite, {@code stddev} is not positive and finite,
+     *                                  {@code min} is greater than or equal to {@code max},
+     *                                  or the probability of the interval is too small to be represented
+     */
+    static DoubleRecipe
+        gaussian
+            (double mean,
+             double stddev,
+             double min,
+             double max)
+    {
+        Distributions.checkGaussian(mean, stddev);
+        if (!(min < max))
+            throw new IllegalArgumentException("Max must be greater than min.");
+        return Distributions.truncatedGaussian(mean, stddev, min, max);
+    }
+
+    /**
+     * @return recipe for values from the exponential distribution with the given {@code rate},
+     *         sampled by the ziggurat method
+     * @throws IllegalArgumentException if {@code rate} is not positive and finite
+     */
+    static DoubleRecipe
+        exponential
+            (double rate)
+    {
+        Distributions.checkRate(rate);
+        return () -> Ziggurat.exponential(current()) / rate;
+    }
+
+    /**
+     * @return recipe for values from the exponential distribution with the given {@code rate},
+     *         shifted to {@code min} (inclusive) and truncated to {@code max} (exclusive),
+     *         sampled by inversion with one random value per sample
+     * @throws IllegalArgumentException if {@code rate} is not positive and finite, {@code min} is not finite,
+     *                                  or {@code min} is greater than or equal to {@code max}
+     */
+    static DoubleRecipe
+        exponential
+            (double rate,
+             double min,
+             double max)
+    {
+        Distributions.checkRate(rate);
+        if (!Double.isFinite(min))
+            throw new IllegalArgumentException("Min must be finite.");
+        if (!(min < max))
+            throw new IllegalArgumentException("Max must be greater than min.");
+        return Distributions.truncatedExponential(rate, min, max);
+    }
+}
@@ -0,0 +1,72 @@
+// SPDX-FileCopyrightText: © 2022 Nikola Vojičić <nikolavojicic@outlook.com>
+// SPDX-License-Identifier: MIT
+
+package io.sourceforge.recipe;
+
+import io.sourceforge.recipe.exception.RecipeFilterException;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Loops that fill collections produced by the collection recipes.
+ */
+final class Fill {
+
+    /**
+     * Number of duplicates in a row after which set and map recipes give up.
+     */
+    static final int MAX_DUPLICATES = 100;
+
+    private Fill() {
+        throw new AssertionError();
+    }
+
+    static int size(IntSupplier size) {
+        int n = size.getAsInt();
+        if (n < 0)
+            throw new IllegalArgumentException("Negative size.");
+        return n;
+    }
+
+    static int capacity(int size) {
+        return size < 3 ? size + 1 : (int) Math.min(Integer.MAX_VALUE, (long) (size / 0.75f) + 1);
+    }
+
+    static <T, C extends Collection<T>> C distinct(C set, int size, Supplier<? extends T> element) {
+        int duplicates = 0;
+        while (set.size() < size) {
+            if (set.add(element.get()))
+                duplicates = 0;
+            else if (++duplicates == MAX_DUPLICATES)
+                throw duplicates();
+        }
+        return set;
+    }
+
+    static <K, V, M extends Map<K, V>> M distinct(M map,
+                                                  int size,
+                                                  Supplier<? extends K> key,
+                                                  Supplier<? extends V> value)
+    {
+        int duplicates = 0;
+        while (map.size() < size) {
+            K k = key.get();
+            if (!map.containsKey(k)) {
+                map.put(k, value.get());
+                duplicates = 0;
+            } else if (++duplicates == MAX_DUPLICATES) {
+                throw duplicates();
+            }
+        }
+        return map;
+    }
+
+    private static RecipeFilterException duplicates() {
+        return new RecipeFilterException(
+                "Couldn't produce a distinct element after " + MAX_DUPLICATES + " tries.", false);
+    }
+
+}
@@ -0,0 +1,84 @@
+// SPDX-FileCopyrightText: © 2022 Nikola Vojičić <nikolavojicic@outlook.com>
+// SPDX-License-Identifier: MIT
+
+package io.sourceforge.recipe;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe counters of a filter created by
+ * {@link Recipe#filter(java.util.function.Predicate, int, FilterStats)}
+ * or by its primitive specializations.
+ */
+public final class FilterStats {
+
+    private final String name;
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder failed   = new LongAdder();
+
+    public FilterStats(String name) {
+        this.name = name;
+    }
+
+    void record(int rejections, boolean success) {
+        if (rejections > 0)
+            rejected.add(rejections);
+        if (success)
+            accepted.increment();
+        else
+            failed.increment();
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /**
+     * @return number of values that matched the predicate
+     */
+    public long accepted() {
+        return accepted.sum();
+    }
+
+    /**
+     * @return number of values that didn't match the predicate
+     */
+    public long rejected() {
+        return rejected.sum();
+    }
+
+    /**
+     * @return number of times the filter ran out of tries
+     */
+    public long failed() {
+        return failed.sum();
+    }
+
+    /**
+     * @return ratio of accepted to tested values, or {@code NaN} if no value was tested
+     */
+    public double acceptanceRate() {
+        long accepted = accepted();
+        long tested = accepted + rejected();
+        return tested == 0
+                ? Double.NaN
+                : (double) accepted / tested;
+    }
+
+    public void reset() {
+        accepted.reset();
+        rejected.reset();
+        failed.reset();
+    }
+
+    @Override
+    public String toString() {
+        return "FilterStats[name=" + name
+                + ", accepted=" + accepted()
+                + ", rejected=" + rejected()
+                + ", failed=" + failed()
+                + ", acceptanceRate=" + acceptanceRate() + ']';
+    }
+
+}
@@ -0,0 +1,95 @@
+// SPDX-FileCopyrightText: © 2022 Nikola Vojičić <nikolavojicic@outlook.com>
+// SPDX-License-Identifier: MIT
+
+package io.sourceforge.recipe;
+
+import io.sourceforge.recipe.exception.RecipeFilterException;
+import io.sourceforge.recipe.metrics.Metrics;
+
+import java.util.function.*;
+
+/**
+ * Non-instantiable class with the implementations of the filter recipes, shared by all their overloads.
+ * <p>
+ * Rejections are attributed to the innermost named recipe through {@link Metrics}
+ * and, if the statistics are not {@code null}, recorded in them as well. Filters of
+ * {@link Recipe} are steps of a {@link Chain}.
+ */
+final class Filters {
+
+    private Filters() {
+        throw new AssertionError();
+    }
+
+    /**
+     * @throws IllegalArgumentException if {@code maxTries} is not positive
+     */
+    static void checkMaxTries(int maxTries) {
+        if (maxTries <= 0)
+            throw new IllegalArgumentException("Max tries must be positive.");
+    }
+
+    static <T> Recipe<T> filter(Supplier<? extends T> recipe, Predicate<? super T> predicate,
+                                int maxTries, FilterStats stats) {
+        checkMaxTries(maxTries);
+        return Chain.filter(recipe, predicate, maxTries, stats);
+    }
+
+    static IntRecipe filter(IntSupplier recipe, IntPredicate predicate, int maxTries, FilterStats stats) {
+        checkMaxTries(maxTries);
+        return () -> {
+            for (int tries = 0; tries < maxTries; tries++) {
+                int value = recipe.getAsInt();
+                if (predicate.test(value)) {
+                    accepted(tries, stats);
+                    return value;
+                }
+            }
+            throw failed(maxTries, stats);
+        };
+    }
+
+    static LongRecipe filter(LongSupplier recipe, LongPredicate predicate, int maxTries, FilterStats stats) {
+        checkMaxTries(maxTries);
+        return () -> {
+            for (int tries = 0; tries < maxTries; tries++) {
+                long value = recipe.getAsLong();
+                if (predicate.test(value)) {
+                    accepted(tries, stats);
+                    return value;
+                }
+            }
+            throw failed(maxTries, stats);
+        };
+    }
+
+    static DoubleRecipe filter(DoubleSupplier recipe, DoublePredicate predicate, int maxTries, FilterStats stats) {
+        checkMaxTries(maxTries);
+        return () -> {
+            for (int tries = 0; tries < maxTries; tries++) {
+                double value = recipe.getAsDouble();
+                if (predicate.test(value)) {
+                    accepted(tries, stats);
+                    return value;
+                }
+            }
+            throw failed(maxTries, stats);
+        };
+    }
+
+    static void accepted(int rejections, FilterStats stats) {
+        if (stats != null)
+            stats.record(rejections, true);
+        if (rejections > 0)
+            Metrics.recordRejections(rejections);
+    }
+
+    static RecipeFilterException failed(int rejections, FilterStats stats) {
+        if (stats != null)
+            stats.record(rejections, false);
+        Metrics.recordRejections(rejections);
+        return new RecipeFilterException(
+                "Couldn't satisfy predicate after " + rejections + " tries.", false);
+    }
+
+}
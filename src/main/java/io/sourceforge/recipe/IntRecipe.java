@@ -0,0 +1,270 @@
+// SPDX-FileCopyrightText: © 2022 Nikola Vojičić <nikolavojicic@outlook.com>
+// SPDX-License-Identifier: MIT
+
+package io.sourceforge.recipe;
+
+import io.sourceforge.recipe.exception.RecipeFilterException;
+import io.sourceforge.recipe.random.AliasTable;
+
+import java.util.function.*;
+
+import static io.sourceforge.recipe.random.RandomSource.current;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Primitive specialization of {@link Recipe} for {@code int} values.
+ *
+ * @see Recipe#mapToInt(ToIntFunction)
+ */
+@FunctionalInterface
+public interface IntRecipe extends IntSupplier {
+
+    /**
+     * @return recipe that applies {@code mapper} to the values produced by {@code this} recipe
+     * @throws NullPointerException if {@code mapper} is {@code null}
+     */
+    default IntRecipe
+        map
+            (IntUnaryOperator mapper)
+    {
+        requireNonNull(mapper);
+        return () -> mapper.applyAsInt(getAsInt());
+    }
+
+    /**
+     * @return recipe that applies {@code mapper} to the values produced by {@code this} recipe
+     * @throws NullPointerException if {@code mapper} is {@code null}
+     */
+    default <R> Recipe<R>
+        mapToObj
+            (IntFunction<? extends R> mapper)
+    {
+        requireNonNull(mapper);
+        return () -> mapper.apply(getAsInt());
+    }
+
+    /**
+     * @return recipe that applies {@code mapper} to the values produced by {@code this} recipe
+     * @throws NullPointerException if {@code mapper} is {@code null}
+     */
+    default LongRecipe
+        mapToLong
+            (IntToLongFunction mapper)
+    {
+        requireNonNull(mapper);
+        return () -> mapper.applyAsLong(getAsInt());
+    }
+
+    /**
+     * @return recipe that applies {@code mapper} to the values produced by {@code this} recipe
+     * @throws NullPointerException if {@code mapper} is {@code null}
+     */
+    default DoubleRecipe
+        mapToDouble
+            (IntToDoubleFunction mapper)
+    {
+        requireNonNull(mapper);
+        return () -> mapper.applyAsDouble(getAsInt());
+    }
+
+    /**
+     * @return recipe that applies {@code binder} to the values:<br/>
+     *         1. produced by {@code this} recipe<br/>
+     *         2. produced by the recipe returned by {@code recipeFn}, given the value from 1.
+     * @throws NullPointerException if {@code recipeFn} or {@code binder} is {@code null}
+     */
+    default IntRecipe
+        bind
+            (IntFunction<? extends IntSupplier> recipeFn,
+             IntBinaryOperator                  binder)
+    {
+        requireNonNull(recipeFn);
+        requireNonNull(binder);
+        return () -> {
+            int value = getAsInt();
+            return binder.applyAsInt(value, recipeFn.apply(value).getAsInt());
+        };
+    }
+
+    /**
+     * @return recipe for values produced by {@code this} recipe that match the {@code predicate}
+     * @throws NullPointerException if {@code predicate} is {@code null}
+     * @throws RecipeFilterException if {@code predicate} returns {@code false} for 100 values in a row
+     */
+    default IntRecipe
+        filter
+            (IntPredicate predicate)
+    {
+        return filter(predicate, 100);
+    }
+
+    /**
+     * @return recipe for values produced by {@code this} recipe that match the {@code predicate}
+     * @throws NullPointerException if {@code predicate} is {@code null}
+     * @throws IllegalArgumentException if {@code maxTries} is not positive
+     * @throws RecipeFilterException (without stack trace) if {@code predicate} returns {@code false}
+     *                               for {@code maxTries} values in a row
+     */
+    default IntRecipe
+        filter
+            (IntPredicate predicate,
+             int          maxTries)
+    {
+        requireNonNull(predicate);
+        return Filters.filter(this, predicate, maxTries, null);
+    }
+
+    /**
+     * @return recipe for values produced by {@code this} recipe that match the {@code predicate},
+     *         which records accepted and rejected values in {@code stats}
+     * @throws NullPointerException if {@code predicate} or {@code stats} is {@code null}
+     * @throws IllegalArgumentException if {@code maxTries} is not positive
+     * @throws RecipeFilterException (without stack trace) if {@code predicate} returns {@code false}
+     *                               for {@code maxTries} values in a row
+     */
+    default IntRecipe
+        filter
+            (IntPredicate predicate,
+             int          maxTries,
+             FilterStats  stats)
+    {
+        requireNonNull(predicate);
+        requireNonNull(stats);
+        return Filters.filter(this, predicate, maxTries, stats);
+    }
+
+    /**
+     * @return recipe that randomly chooses between {@code this} and {@code recipe}
+     * @throws NullPointerException if {@code recipe} is {@code null}
+     */
+    default IntRecipe
+        or
+            (IntSupplier recipe)
+    {
+        requireNonNull(recipe);
+        return () -> current().nextBoolean()
+                ? getAsInt()
+                : recipe.getAsInt();
+    }
+
+    /**
+     * @return recipe that boxes the values produced by {@code this} recipe
+     */
+    default Recipe<Integer>
+        boxed
+            ()
+    {
+        return this::getAsInt;
+    }
+
+    /**
+     * @return given {@code array} with each element replaced by a value produced by {@code this} recipe
+     * @throws NullPointerException if {@code array} is {@code null}
+     */
+    default int[]
+        fill
+            (int[] array)
+    {
+        for (int i = 0; i < array.length; i++)
+            array[i] = getAsInt();
+        return array;
+    }
+
+    // ---------------- FACTORIES ----------------
+
+    /**
+     * @return given {@code recipe}
+     * @throws NullPointerException if {@code recipe} is {@code null}
+     */
+    static IntRecipe
+        of
+            (IntSupplier recipe)
+    {
+        return recipe::getAsInt;
+    }
+
+    /**
+     * @return recipe that constantly returns {@code value}
+     */
+    static IntRecipe
+        ofValue
+            (int value)
+    {
+        return () -> value;
+    }
+
+    /**
+     * @return recipe for arrays with the number of elements produced by {@code size},
+     *         each produced by {@code element}
+     * @throws NullPointerException if {@code size} or {@code element} is {@code null}
+     * @throws IllegalArgumentException (on {@link Recipe#get()}) if {@code size} produces a negative value
+     */
+    static Recipe<int[]>
+        arrayOf
+            (IntSupplier size,
+             IntSupplier element)
+    {
+        requireNonNull(size);
+        requireNonNull(element);
+        return () -> {
+            int[] array = new int[Fill.size(size)];
+            for (int i = 0; i < array.length; i++)
+                array[i] = element.getAsInt();
+            return array;
+        };
+    }
+
+    /**
+     * @return recipe for random {@code int} values
+     */
+    static IntRecipe
+        ints
+            ()
+    {
+        return () -> current().nextInt();
+    }
+
+    /**
+     * @return recipe for random {@code int} values between {@code origin} (inclusive) and {@code bound} (exclusive)
+     * @throws IllegalArgumentException if {@code origin} is greater than or equal to {@code bound}
+     */
+    static IntRecipe
+        ints
+            (int origin,
+             int bound)
+    {
+        if (origin >= bound)
+            throw new IllegalArgumentException("Bound must be greater than origin.");
+        return () -> current().nextInt(origin, bound);
+    }
+
+    /**
+     * @return recipe for random indexes of the {@code weights}, chosen with probabilities proportional to them
+     * @throws NullPointerException if {@code weights} is {@code null}
+     * @throws IllegalArgumentException if {@code weights} is empty, contains negative or non-finite values
+     *                                  or all of them are zero
+     * @see AliasTable
+     */
+    static IntRecipe
+        weighted
+            (double... weights)
+    {
+        AliasTable table = AliasTable.of(weights);
+        return () -> table.sample(current());
+    }
+
+    /**
+     * @return recipe for counts from the Poisson distribution with the given {@code mean},
+     *         sampled by inversion for means below 10 and by transformed rejection otherwise
+     * @throws IllegalArgumentException if {@code mean} is negative or greater than one billion
+     */
+    static IntRecipe
+        poisson
+            (double mean)
+    {
+        if (!(mean >= 0 && mean <= 1e9))
+            throw new IllegalArgumentException("Mean must be between zero and one billion.");
+        return Distributions.poisson(mean);
+    }
+
+}
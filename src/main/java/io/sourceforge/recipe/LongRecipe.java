@@ -0,0 +1,360 @@
+// SPDX-FileCopyrightText: © 2022 Nikola Vojičić <nikolavojicic@outlook.com>
+// SPDX-License-Identifier: MIT
+
+package io.sourceforge.recipe;
+
+import io.sourceforge.recipe.exception.RecipeFilterException;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.*;
+
+import static io.sourceforge.recipe.random.RandomSource.current;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Primitive specialization of {@link Recipe} for {@code long} values.
+ *
+ * @see Recipe#mapToLong(ToLongFunction)
+ */
+@FunctionalInterface
+public interface LongRecipe extends LongSupplier {
+
+    /**
+     * @return recipe that applies {@code mapper} to the values produced by {@code this} recipe
+     * @throws NullPointerException if {@code mapper} is {@code null}
+     */
+    default LongRecipe
+        map
+            (LongUnaryOperator mapper)
+    {
+        requireNonNull(mapper);
+        return () -> mapper.applyAsLong(getAsLong());
+    }
+
+    /**
+     * @return recipe that applies {@code mapper} to the values produced by {@code this} recipe
+     * @throws NullPointerException if {@code mapper} is {@code null}
+     */
+    default <R> Recipe<R>
+        mapToObj
+            (LongFunction<? extends R> mapper)
+    {
+        requireNonNull(mapper);
+        return () -> mapper.apply(getAsLong());
+    }
+
+    /**
+     * @return recipe that applies {@code mapper} to the values produced by {@code this} recipe
+     * @throws NullPointerException if {@code mapper} is {@code null}
+     */
+    default IntRecipe
+        mapToInt
+            (LongToIntFunction mapper)
+    {
+        requireNonNull(mapper);
+        return () -> mapper.applyAsInt(getAsLong());
+    }
+
+    /**
+     * @return recipe that applies {@code mapper} to the values produced by {@code this} recipe
+     * @throws NullPointerException if {@code mapper} is {@code null}
+     */
+    default DoubleRecipe
+        mapToDouble
+            (LongToDoubleFunction mapper)
+    {
+        requireNonNull(mapper);
+        return () -> mapper.applyAsDouble(getAsLong());
+    }
+
+    /**
+     * @return recipe that applies {@code binder} to the values:<br/>
+     *         1. produced by {@code this} recipe<br/>
+     *         2. produced by the recipe returned by {@code recipeFn}, given the value from 1.
+     * @throws NullPointerException if {@code recipeFn} or {@code binder} is {@code null}
+     */
+    default LongRecipe
+        bind
+            (LongFunction<? extends LongSupplier> recipeFn,
+             LongBinaryOperator                  binder)
+    {
+        requireNonNull(recipeFn);
+        requireNonNull(binder);
+        return () -> {
+            long value = getAsLong();
+            return binder.applyAsLong(value, recipeFn.apply(value).getAsLong());
+        };
+    }
+
+    /**
+     * @return recipe for values produced by {@code this} recipe that match the {@code predicate}
+     * @throws NullPointerException if {@code predicate} is {@code null}
+     * @throws RecipeFilterException if {@code predicate} returns {@code false} for 100 values in a row
+     */
+    default LongRecipe
+        filter
+            (LongPredicate predicate)
+    {
+        return filter(predicate, 100);
+    }
+
+    /**
+     * @return recipe for values produced by {@code this} recipe that match the {@code predicate}
+     * @throws NullPointerException if {@code predicate} is {@code null}
+     * @throws IllegalArgumentException if {@code maxTries} is not positive
+     * @throws RecipeFilterException (without stack trace) if {@code predicate} returns {@code false}
+     *                               for {@code maxTries} values in a row
+     */
+    default LongRecipe
+        filter
+            (LongPredicate predicate,
+             int           maxTries)
+    {
+        requireNonNull(predicate);
+        return Filters.filter(this, predicate, maxTries, null);
+    }
+
+    /**
+     * @return recipe for values produced by {@code this} recipe that match the {@code predicate},
+     *         which records accepted and rejected values in {@code stats}
+     * @throws NullPointerException if {@code predicate} or {@code stats} is {@code null}
+     * @throws IllegalArgumentException if {@code maxTries} is not positive
+     * @throws RecipeFilterException (without stack trace) if {@code predicate} returns {@code false}
+     *                               for {@code maxTries} values in a row
+     */
+    default LongRecipe
+        filter
+            (LongPredicate predicate,
+             int           maxTries,
+             FilterStats   stats)
+    {
+        requireNonNull(predicate);
+        requireNonNull(stats);
+        return Filters.filter(this, predicate, maxTries, stats);
+    }
+
+    /**
+     * @return recipe that randomly chooses between {@code this} and {@code recipe}
+     * @throws NullPointerException if {@code recipe} is {@code null}
+     */
+    default LongRecipe
+        or
+            (LongSupplier recipe)
+    {
+        requireNonNull(recipe);
+        return () -> current().nextBoolean()
+                ? getAsLong()
+                : recipe.getAsLong();
+    }
+
+    /**
+     * @return recipe that boxes the values produced by {@code this} recipe
+     */
+    default Recipe<Long>
+        boxed
+            ()
+    {
+        return this::getAsLong;
+    }
+
+    /**
+     * @return given {@code array} with each element replaced by a value produced by {@code this} recipe
+     * @throws NullPointerException if {@code array} is {@code null}
+     */
+    default long[]
+        fill
+            (long[] array)
+    {
+        for (int i = 0; i < array.length; i++)
+            array[i] = getAsLong();
+        return array;
+    }
+
+    // ---------------- FACTORIES ----------------
+
+    /**
+     * @return given {@code recipe}
+     * @throws NullPointerException if {@code recipe} is {@code null}
+     */
+    static LongRecipe
+        of
+            (LongSupplier recipe)
+    {
+        return recipe::getAsLong;
+    }
+
+    /**
+     * @return recipe that constantly returns {@code value}
+     */
+    static LongRecipe
+        ofValue
+            (long value)
+    {
+        return () -> value;
+    }
+
+    /**
+     * @return recipe for arrays with the number of elements produced by {@code size},
+     *         each produced by {@code element}
+     * @throws NullPointerException if {@code size} or {@code element} is {@code null}
+     * @throws IllegalArgumentException (on {@link Recipe#get()}) if {@code size} produces a negative value
+     */
+    static Recipe<long[]>
+        arrayOf
+            (IntSupplier  size,
+             LongSupplier element)
+    {
+        requireNonNull(size);
+        requireNonNull(element);
+        return () -> {
+            long[] array = new long[Fill.size(size)];
+            for (int i = 0; i < array.length; i++)
+                array[i] = element.getAsLong();
+            return array;
+        };
+    }
+
+    /**
+     * @return thread-safe recipe for {@code start}, {@code start + step}, {@code start + 2 * step}...
+     *         in the order in which the values are requested, across all threads; not shard-aware,
+     *         every {@linkplain RunContext shard} starts from {@code start}
+     * @throws IllegalArgumentException if {@code step} is zero
+     * @see #sequence(long, long, RunContext)
+     */
+    static LongRecipe
+        sequence
+            (long start,
+             long step)
+    {
+        Sequences.checkStep(step);
+        AtomicLong index = new AtomicLong();
+        return () -> start + index.getAndIncrement() * step;
+    }
+
+    /**
+     * @return thread-safe recipe for distinct values of the sequence {@code start + i * step},
+     *         where each thread takes {@code blockSize} consecutive values at a time, so that threads
+     *         rarely contend; values are ordered within each thread, but not across threads;
+     *         not shard-aware, every {@linkplain RunContext shard} starts from {@code start}
+     * @throws IllegalArgumentException if {@code step} is zero or {@code blockSize} is not positive
+     * @see #sequence(long, long, RunContext)
+     */
+    static LongRecipe
+        sequence
+            (long start,
+             long step,
+             int  blockSize)
+    {
+        Sequences.checkStep(step);
+        if (blockSize <= 0)
+            throw new IllegalArgumentException("Block size must be positive.");
+        return new Sequences.Blocks(start, step, blockSize);
+    }
+
+    /**
+     * @return recipe for the values of the sequence {@code start + i * step} whose indexes {@code i}
+     *         are congruent to {@code partition} modulo {@code partitions}, in ascending order of indexes;
+     *         recipes of different partitions of the same sequence never produce the same index,
+     *         and each of them produces the same values regardless of the others
+     * @throws IllegalArgumentException if {@code step} is zero, {@code partitions} is not positive
+     *                                  or {@code partition} is not between zero (inclusive) and {@code partitions} (exclusive)
+     */
+    static LongRecipe
+        sequence
+            (long start,
+             long step,
+             int  partition,
+             int  partitions)
+    {
+        Sequences.checkStep(step);
+        if (partitions <= 0)
+            throw new IllegalArgumentException("Partitions must be positive.");
+        if (partition < 0 || partition >= partitions)
+            throw new IllegalArgumentException("Partition out of range.");
+        AtomicLong index = new AtomicLong(partition);
+        return () -> start + index.getAndAdd(partitions) * step;
+    }
+
+    /**
+     * @return thread-safe recipe for the values of the sequence {@code start + i * step} whose indexes
+     *         {@code i} are congruent to the shard index of the {@code context} modulo its shard count,
+     *         so that the shards of a run never produce the same value
+     * @throws IllegalArgumentException if {@code step} is zero
+     * @throws NullPointerException if {@code context} is {@code null}
+     * @see #sequence(long, long, int, int)
+     */
+    static LongRecipe
+        sequence
+            (long       start,
+             long       step,
+             RunContext context)
+    {
+        return sequence(start, step, context.shardIndex(), context.shardCount());
+    }
+
+    /**
+     * @return recipe for {@code start + i * step}, where {@code i} is the index of the value being produced
+     *         in a {@linkplain Recipe#stream(long, RandomSource, boolean) stream with rows} or the
+     *         {@linkplain RunContext#stream(Supplier, long) stream of a run}, which is the same
+     *         in every shard and unique within the run
+     * @throws IllegalArgumentException if {@code step} is zero
+     * @throws IllegalStateException (on {@link #getAsLong()}) if no value of such a stream is being produced
+     *                               on the current thread
+     */
+    static LongRecipe
+        rowSequence
+            (long start,
+             long step)
+    {
+        Sequences.checkStep(step);
+        return () -> {
+            long row = RecipeSpliterator.ROW.get()[0];
+            if (row < 0)
+                throw new IllegalStateException("Not in a stream.");
+            return start + row * step;
+        };
+    }
+
+    /**
+     * @return recipe for random {@code long} values
+     */
+    static LongRecipe
+        longs
+            ()
+    {
+        return () -> current().nextLong();
+    }
+
+    /**
+     * @return recipe for random {@code long} values between {@code origin} (inclusive) and {@code bound} (exclusive)
+     * @throws IllegalArgumentException if {@code origin} is greater than or equal to {@code bound}
+     */
+    static LongRecipe
+        longs
+            (long origin,
+             long bound)
+    {
+        if (origin >= bound)
+            throw new IllegalArgumentException("Bound must be greater than origin.");
+        return () -> current().nextLong(origin, bound);
+    }
+
+    /**
+     * @return recipe for ranks between one and {@code n} (both inclusive) from the Zipf distribution,
+     *         where rank {@code k} has probability proportional to {@code 1 / pow(k, exponent)},
+     *         sampled by rejection-inversion in constant time and memory for any {@code n}
+     * @throws IllegalArgumentException if {@code n} is not positive, or {@code exponent} is negative or not finite
+     */
+    static LongRecipe
+        zipf
+            (long   n,
+             double exponent)
+    {
+        if (n <= 0)
+            throw new IllegalArgumentException("Number of elements must be positive.");
+        if (!(exponent >= 0 && exponent < Double.POSITIVE_INFINITY))
+            throw new IllegalArgumentException("Exponent must be non-negative.");
+        return new Distributions.Zipf(n, exponent);
+    }
+
+}
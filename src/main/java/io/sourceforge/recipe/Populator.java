@@ -0,0 +1,200 @@
+// SPDX-FileCopyrightText: © 2022 Nikola Vojičić <nikolavojicic@outlook.com>
+// SPDX-License-Identifier: MIT
+
+package io.sourceforge.recipe;
+
+import java.util.Arrays;
+import java.util.function.*;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Immutable list of setter stages that fill mutable objects in place with values
+ * produced by recipes, so that a reused instance can be refilled for every record
+ * instead of allocating a new one with a chain of {@code bind} calls.
+ *
+ * <pre>{@code
+ * Populator<Person> populator = Populator.<Person>of()
+ *     .with(Person::setName, nameRecipe)
+ *     .withInt(Person::setAge, IntRecipe.ints(18, 100));
+ *
+ * Recipe<Person> rec = populator.pooled(Person::new);
+ * }</pre>
+ */
+public final class Populator<T> {
+
+    @SuppressWarnings("unchecked") // empty, so it holds no consumer of a wrong type
+    private static final Populator<?> EMPTY = new Populator<>((Consumer<Object>[]) new Consumer<?>[0]);
+
+    private final Consumer<? super T>[] stages;
+
+    private Populator(Consumer<? super T>[] stages) {
+        this.stages = stages;
+    }
+
+    /**
+     * @return populator without stages
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Populator<T>
+        of
+            ()
+    {
+        return (Populator<T>) EMPTY;
+    }
+
+    /**
+     * @return populator with the stages of {@code this} populator followed by
+     *         applying the {@code setter} to the target and a value produced by {@code recipe}
+     * @throws NullPointerException if {@code setter} or {@code recipe} is {@code null}
+     */
+    public <V> Populator<T>
+        with
+            (BiConsumer<? super T,
+                        ? super V> setter,
+             Supplier  <? extends V> recipe)
+    {
+        requireNonNull(setter);
+        requireNonNull(recipe);
+        return add(target -> setter.accept(target, recipe.get()));
+    }
+
+    /**
+     * @return populator with the stages of {@code this} populator followed by
+     *         applying the {@code setter} to the target and a value produced by {@code recipe}, without boxing
+     * @throws NullPointerException if {@code setter} or {@code recipe} is {@code null}
+     */
+    public Populator<T>
+        withInt
+            (ObjIntConsumer<? super T> setter,
+             IntSupplier               recipe)
+    {
+        requireNonNull(setter);
+        requireNonNull(recipe);
+        return add(target -> setter.accept(target, recipe.getAsInt()));
+    }
+
+    /**
+     * @return populator with the stages of {@code this} populator followed by
+     *         applying the {@code setter} to the target and a value produced by {@code recipe}, without boxing
+     * @throws NullPointerException if {@code setter} or {@code recipe} is {@code null}
+     */
+    public Populator<T>
+        withLong
+            (ObjLongConsumer<? super T> setter,
+             LongSupplier               recipe)
+    {
+        requireNonNull(setter);
+        requireNonNull(recipe);
+        return add(target -> setter.accept(target, recipe.getAsLong()));
+    }
+
+    /**
+     * @return populator with the stages of {@code this} populator followed by
+     *         applying the {@code setter} to the target and a value produced by {@code recipe}, without boxing
+     * @throws NullPointerException if {@code setter} or {@code recipe} is {@code null}
+     */
+    public Populator<T>
+        withDouble
+            (ObjDoubleConsumer<? super T> setter,
+             DoubleSupplier               recipe)
+    {
+        requireNonNull(setter);
+        requireNonNull(recipe);
+        return add(target -> setter.accept(target, recipe.getAsDouble()));
+    }
+
+    /**
+     * @return populator with the stages of {@code this} populator followed by the stages of {@code other}
+     * @throws NullPointerException if {@code other} is {@code null}
+     */
+    public Populator<T>
+        then
+            (Populator<? super T> other)
+    {
+        Consumer<? super T>[] stages = Arrays.copyOf(this.stages, this.stages.length + other.stages.length);
+        System.arraycopy(other.stages, 0, stages, this.stages.length, other.stages.length);
+        return new Populator<>(stages);
+    }
+
+    private Populator<T> add(Consumer<? super T> stage) {
+        Consumer<? super T>[] stages = Arrays.copyOf(this.stages, this.stages.length + 1);
+        stages[this.stages.length] = stage;
+        return new Populator<>(stages);
+    }
+
+    /**
+     * @return given {@code target} after all stages were applied to it, in order
+     * @throws NullPointerException if {@code target} is {@code null}
+     */
+    public T
+        populate
+            (T target)
+    {
+        requireNonNull(target);
+        for (Consumer<? super T> stage : stages)
+            stage.accept(target);
+        return target;
+    }
+
+    /**
+     * @return recipe that refills and returns the same {@code target} on every call;
+     *         not thread-safe, and values previously returned change when it is called again
+     * @throws NullPointerException if {@code target} is {@code null}
+     */
+    public Recipe<T>
+        into
+            (T target)
+    {
+        requireNonNull(target);
+        return () -> populate(target);
+    }
+
+    /**
+     * @return thread-safe recipe that refills and returns one instance per thread, created by
+     *         {@code factory} on the first call on that thread; values previously returned on
+     *         a thread change when it is called again on the same thread
+     * @throws NullPointerException if {@code factory} is {@code null}
+     */
+    public Recipe<T>
+        pooled
+            (Supplier<? extends T> factory)
+    {
+        requireNonNull(factory);
+        ThreadLocal<T> instances = ThreadLocal.withInitial(factory);
+        return () -> populate(instances.get());
+    }
+
+    /**
+     * Refills {@code target} {@code count} times, passing it to the {@code consumer} after each refill.
+     *
+     * @throws NullPointerException if {@code target} or {@code consumer} is {@code null}
+     * @throws IllegalArgumentException if {@code count} is negative
+     */
+    public void
+        fillInto
+            (T                   target,
+             long                count,
+             Consumer<? super T> consumer)
+    {
+        requireNonNull(target);
+        requireNonNull(consumer);
+        if (count < 0)
+            throw new IllegalArgumentException("Negative count.");
+        for (long i = 0; i < count; i++)
+            consumer.accept(populate(target));
+    }
+
+    /**
+     * @return recipe for new instances created by {@code factory} and filled by {@code this} populator
+     * @throws NullPointerException if {@code factory} is {@code null}
+     */
+    public Recipe<T>
+        fresh
+            (Supplier<? extends T> factory)
+    {
+        requireNonNull(factory);
+        return () -> populate(factory.get());
+    }
+
+}
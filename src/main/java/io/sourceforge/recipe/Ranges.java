@@ -0,0 +1,162 @@
+// SPDX-FileCopyrightText: © 2022 Nikola Vojičić <nikolavojicic@outlook.com>
+// SPDX-License-Identifier: MIT
+
+package io.sourceforge.recipe;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumSet;
+import java.util.Set;
+
+import static io.sourceforge.recipe.random.RandomSource.current;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Non-instantiable class with recipes for values uniformly distributed in ranges,
+ * which map a single random draw to a value instead of rejecting values out of range.
+ * <p>
+ * As with {@link IntRecipe#ints(int, int)}, ranges include their origin and exclude their bound.
+ */
+public final class Ranges {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private Ranges() {
+        throw new AssertionError();
+    }
+
+    /**
+     * @return recipe for dates between {@code origin} (inclusive) and {@code bound} (exclusive)
+     * @throws NullPointerException if {@code origin} or {@code bound} is {@code null}
+     * @throws IllegalArgumentException if {@code origin} is not before {@code bound}
+     */
+    public static Recipe<LocalDate>
+        dates
+            (LocalDate origin,
+             LocalDate bound)
+    {
+        return dates(origin, bound, EnumSet.allOf(DayOfWeek.class));
+    }
+
+    /**
+     * @return recipe for dates between {@code origin} (inclusive) and {@code bound} (exclusive)
+     *         that fall on one of the {@code days} of week
+     * @throws NullPointerException if {@code origin}, {@code bound} or {@code days} is {@code null}
+     * @throws IllegalArgumentException if there is no such date
+     */
+    public static Recipe<LocalDate>
+        dates
+            (LocalDate      origin,
+             LocalDate      bound,
+             Set<DayOfWeek> days)
+    {
+        requireNonNull(bound);
+        long span = origin.until(bound, ChronoUnit.DAYS);
+        // offsets from the origin, within its week, of the allowed days
+        int[] offsets = new int[7];
+        int count = 0;
+        for (int offset = 0; offset < 7; offset++)
+            if (days.contains(origin.getDayOfWeek().plus(offset)))
+                offsets[count++] = offset;
+        long total = span <= 0 ? 0 : span / 7 * count;
+        for (int i = 0; i < count && span > 0 && offsets[i] < span % 7; i++)
+            total++;
+        if (total <= 0)
+            throw new IllegalArgumentException("No dates in range.");
+        long matches = total;
+        int perWeek = count;
+        if (perWeek == 7)
+            return () -> origin.plusDays(current().nextLong(matches));
+        return () -> {
+            long k = current().nextLong(matches);
+            return origin.plusDays(k / perWeek * 7 + offsets[(int) (k % perWeek)]);
+        };
+    }
+
+    /**
+     * @return recipe for instants between {@code origin} (inclusive) and {@code bound} (exclusive),
+     *         with nanosecond precision for ranges of up to 292 years and coarser beyond
+     * @throws NullPointerException if {@code origin} or {@code bound} is {@code null}
+     * @throws IllegalArgumentException if {@code origin} is not before {@code bound}
+     */
+    public static Recipe<Instant>
+        instants
+            (Instant origin,
+             Instant bound)
+    {
+        requireNonNull(origin);
+        Duration span = Duration.between(origin, requireNonNull(bound));
+        Recipe<Duration> offsets = offsets(span);
+        return () -> origin.plus(offsets.get());
+    }
+
+    /**
+     * @return recipe for durations between {@code origin} (inclusive) and {@code bound} (exclusive),
+     *         with nanosecond precision for ranges of up to 292 years and coarser beyond
+     * @throws NullPointerException if {@code origin} or {@code bound} is {@code null}
+     * @throws IllegalArgumentException if {@code origin} is not shorter than {@code bound}
+     */
+    public static Recipe<Duration>
+        durations
+            (Duration origin,
+             Duration bound)
+    {
+        requireNonNull(origin);
+        Recipe<Duration> offsets = offsets(bound.minus(origin));
+        return () -> origin.plus(offsets.get());
+    }
+
+    private static Recipe<Duration> offsets(Duration span) {
+        if (span.isNegative() || span.isZero())
+            throw new IllegalArgumentException("Bound must be greater than origin.");
+        BigInteger nanos = BigInteger
+                .valueOf(span.getSeconds())
+                .multiply(BigInteger.valueOf(NANOS_PER_SECOND))
+                .add(BigInteger.valueOf(span.getNano()));
+        // the finest of nanos, micros, millis and seconds that divides the span into at most 2^63 steps
+        long unit = 1;
+        while (nanos.divide(BigInteger.valueOf(unit)).bitLength() > 63)
+            unit *= 1000;
+        long steps = nanos.divide(BigInteger.valueOf(unit)).longValue();
+        long nanosPerStep = unit;
+        long stepsPerSecond = NANOS_PER_SECOND / unit;
+        return () -> {
+            long k = current().nextLong(steps);
+            return Duration.ofSeconds(k / stepsPerSecond, k % stepsPerSecond * nanosPerStep);
+        };
+    }
+
+    /**
+     * @return recipe for decimals between {@code origin} (inclusive) and {@code bound} (exclusive)
+     *         with {@code scale} digits after the decimal point
+     * @throws NullPointerException if {@code origin} or {@code bound} is {@code null}
+     * @throws IllegalArgumentException if there is no such decimal, or more than {@link Long#MAX_VALUE}
+     */
+    public static Recipe<BigDecimal>
+        decimals
+            (BigDecimal origin,
+             BigDecimal bound,
+             int        scale)
+    {
+        BigInteger low = origin.setScale(scale, RoundingMode.CEILING).unscaledValue();
+        BigInteger high = bound.setScale(scale, RoundingMode.CEILING).unscaledValue();
+        BigInteger count = high.subtract(low);
+        if (count.signum() <= 0)
+            throw new IllegalArgumentException("No decimals in range.");
+        if (count.bitLength() > 63)
+            throw new IllegalArgumentException("Too many decimals in range.");
+        long n = count.longValue();
+        if (low.bitLength() <= 63 && high.bitLength() <= 63) {
+            long first = low.longValue();
+            return () -> BigDecimal.valueOf(first + current().nextLong(n), scale);
+        }
+        return () -> new BigDecimal(low.add(BigInteger.valueOf(current().nextLong(n))), scale);
+    }
+
+}
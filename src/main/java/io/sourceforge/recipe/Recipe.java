@@ -3,24 +3,49 @@
 
 package io.sourceforge.recipe;
 
+import io.sourceforge.recipe.concurrent.AsyncRecipe;
+import io.sourceforge.recipe.concurrent.PrefetchedRecipe;
+import io.sourceforge.recipe.dedup.Dedup;
 import io.sourceforge.recipe.exception.RecipeFilterException;
+import io.sourceforge.recipe.metrics.Metrics;
+import io.sourceforge.recipe.random.AliasTable;
+import io.sourceforge.recipe.random.RandomSource;
+import io.sourceforge.recipe.util.Fn;
 
-import java.util.Arrays;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.IntSupplier;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
-import static io.sourceforge.recipe.util.Fn.fnrec;
 import static java.util.Objects.requireNonNull;
-import static java.util.concurrent.ThreadLocalRandom.current;
-import static java.util.stream.Collectors.toList;
+import static io.sourceforge.recipe.random.RandomSource.current;
 
 /**
  * Extends {@link Supplier} with higher-order methods that enable composition
  * of suppliers and transformation and filtering of the results produced by
  * the functional method {@link Supplier#get()}.
+ * <p>
+ * Chains of {@link #map} and {@link #bind} are evaluated in a loop,
+ * so their length is not limited by the size of the thread stack.
  *
  * @see <a href="https://github.com/nikolavojicic/recipe"/>https://github.com/nikolavojicic/recipe</a>
  */
@@ -37,7 +62,43 @@ public interface Recipe<T> extends Supplier<T> {
                       ? extends R> mapper)
     {
         requireNonNull(mapper);
-        return () -> mapper.apply(get());
+        return Chain.map(this, mapper);
+    }
+
+    /**
+     * @return recipe that applies {@code mapper} to the values produced by {@code this} recipe
+     * @throws NullPointerException if {@code mapper} is {@code null}
+     */
+    default IntRecipe
+        mapToInt
+            (ToIntFunction<? super T> mapper)
+    {
+        requireNonNull(mapper);
+        return () -> mapper.applyAsInt(get());
+    }
+
+    /**
+     * @return recipe that applies {@code mapper} to the values produced by {@code this} recipe
+     * @throws NullPointerException if {@code mapper} is {@code null}
+     */
+    default LongRecipe
+        mapToLong
+            (ToLongFunction<? super T> mapper)
+    {
+        requireNonNull(mapper);
+        return () -> mapper.applyAsLong(get());
+    }
+
+    /**
+     * @return recipe that applies {@code mapper} to the values produced by {@code this} recipe
+     * @throws NullPointerException if {@code mapper} is {@code null}
+     */
+    default DoubleRecipe
+        mapToDouble
+            (ToDoubleFunction<? super T> mapper)
+    {
+        requireNonNull(mapper);
+        return () -> mapper.applyAsDouble(get());
     }
 
     /**
@@ -56,10 +117,26 @@ public interface Recipe<T> extends Supplier<T> {
     {
         requireNonNull(recipeFn);
         requireNonNull(binder);
-        return () -> {
-            T value = get();
-            return binder.apply(value, recipeFn.apply(value).get());
-        };
+        return Chain.bind(this, recipeFn, binder);
+    }
+
+    /**
+     * @return recipe like {@link #bind(Function, BiFunction)}, except that the recipes returned
+     *         by {@code recipeFn} are cached by {@link Fn#memo(Function, int)}, so each is created
+     *         once per value while it stays among the {@code maximumSize} most recently used
+     * @throws NullPointerException if {@code recipeFn} or {@code binder} is {@code null}
+     * @throws IllegalArgumentException if {@code maximumSize} is not positive
+     */
+    default <U, R> Recipe<R>
+        bindCached
+            (Function  <? super   T,
+                        ? extends Supplier<? extends U>> recipeFn,
+             BiFunction<? super   T,
+                        ? super   U,
+                        ? extends R> binder,
+             int                     maximumSize)
+    {
+        return bind(Fn.memo(recipeFn, maximumSize), binder);
     }
 
     /**
@@ -70,19 +147,87 @@ public interface Recipe<T> extends Supplier<T> {
     default Recipe<T>
         filter
             (Predicate<? super T> predicate)
+    {
+        return filter(predicate, 100);
+    }
+
+    /**
+     * @return recipe for values produced by {@code this} recipe that match the {@code predicate}
+     * @throws NullPointerException if {@code predicate} is {@code null}
+     * @throws IllegalArgumentException if {@code maxTries} is not positive
+     * @throws RecipeFilterException (without stack trace) if {@code predicate} returns {@code false}
+     *                               for {@code maxTries} values in a row
+     */
+    default Recipe<T>
+        filter
+            (Predicate<? super T> predicate,
+             int                  maxTries)
     {
         requireNonNull(predicate);
-        return () -> {
-            int tries = 0;
-            while (tries < 100) {
-                T value = get();
-                if (predicate.test(value))
-                    return value;
-                tries++;
-            }
-            throw new RecipeFilterException(
-                    "Couldn't satisfy predicate after 100 tries.");
-        };
+        return Filters.filter(this, predicate, maxTries, null);
+    }
+
+    /**
+     * @return recipe for values produced by {@code this} recipe that match the {@code predicate},
+     *         which records accepted and rejected values in {@code stats}
+     * @throws NullPointerException if {@code predicate} or {@code stats} is {@code null}
+     * @throws IllegalArgumentException if {@code maxTries} is not positive
+     * @throws RecipeFilterException (without stack trace) if {@code predicate} returns {@code false}
+     *                               for {@code maxTries} values in a row
+     */
+    default Recipe<T>
+        filter
+            (Predicate<? super T> predicate,
+             int                  maxTries,
+             FilterStats          stats)
+    {
+        requireNonNull(predicate);
+        requireNonNull(stats);
+        return Filters.filter(this, predicate, maxTries, stats);
+    }
+
+    /**
+     * @return recipe for values produced by {@code this} recipe that were not produced by it before,
+     *         compared by {@link Object#equals(Object)}; the returned recipe is not thread-safe
+     * @throws RecipeFilterException (without stack trace) if 100 values in a row were produced before
+     * @see Dedup#equality()
+     * @see Dedup#exact(ToLongFunction)
+     */
+    default Recipe<T>
+        distinct
+            ()
+    {
+        return distinct(Dedup.equality());
+    }
+
+    /**
+     * @return recipe for values produced by {@code this} recipe whose keys are not yet in the {@code dedup}
+     * @throws NullPointerException if {@code dedup} is {@code null}
+     * @throws RecipeFilterException (without stack trace) if 100 values in a row had keys in the {@code dedup}
+     */
+    default Recipe<T>
+        distinct
+            (Dedup<? super T> dedup)
+    {
+        return distinct(dedup, 100);
+    }
+
+    /**
+     * @return recipe for values produced by {@code this} recipe whose keys are not yet in the {@code dedup}
+     * @throws NullPointerException if {@code dedup} is {@code null}
+     * @throws IllegalArgumentException if {@code maxTries} is not positive
+     * @throws RecipeFilterException (without stack trace) if {@code maxTries} values in a row
+     *                               had keys in the {@code dedup}
+     */
+    default Recipe<T>
+        distinct
+            (Dedup<? super T> dedup,
+             int              maxTries)
+    {
+        requireNonNull(dedup);
+        if (maxTries <= 0)
+            throw new IllegalArgumentException("Max tries must be positive.");
+        return () -> dedup.next(this, maxTries);
     }
 
     /**
@@ -112,6 +257,248 @@ public interface Recipe<T> extends Supplier<T> {
         return () -> wrapper.apply(this);
     }
 
+    /**
+     * @return recipe that produces values of {@code this} recipe while {@code source}
+     *         is the {@linkplain RandomSource#current() current} random source
+     * @throws NullPointerException if {@code source} is {@code null}
+     */
+    default Recipe<T>
+        withRandom
+            (RandomSource source)
+    {
+        requireNonNull(source);
+        return () -> RandomSource.call(source, this);
+    }
+
+    /**
+     * @return recipe that produces the same sequence of values for the same {@code seed},
+     *         as long as {@code this} recipe draws random values only from {@link RandomSource#current()};
+     *         the returned recipe is not thread-safe
+     */
+    default Recipe<T>
+        withSeed
+            (long seed)
+    {
+        return withRandom(RandomSource.seeded(seed));
+    }
+
+    /**
+     * Meant for recipes that never produce {@code null}; use {@link #get()} for those that can.
+     *
+     * @return value produced by {@code this} recipe, or empty if some filter ran out of tries
+     * @throws NullPointerException if {@code this} recipe produced {@code null},
+     *                              which can't be told apart from running out of tries
+     */
+    default Optional<T>
+        tryGet
+            ()
+    {
+        T value;
+        try {
+            value = get();
+        } catch (RecipeFilterException ex) {
+            return Optional.empty();
+        }
+        return Optional.of(requireNonNull(value, "Recipe produced null."));
+    }
+
+    /**
+     * @return recipe that records its metrics under the {@code name}
+     *         if {@linkplain Metrics#enabled() instrumentation is enabled}, otherwise {@code this} recipe
+     * @throws NullPointerException if {@code name} is {@code null}
+     * @see Metrics#registry()
+     */
+    default Recipe<T>
+        named
+            (String name)
+    {
+        return Metrics.instrument(this, name);
+    }
+
+    /**
+     * @return recipe for values of {@code this} recipe prefetched into a buffer of at least {@code capacity}
+     *         values by a producer task submitted to the {@code executor}; consumers generate values
+     *         themselves while the buffer is empty
+     * @throws NullPointerException if {@code executor} is {@code null}
+     * @throws IllegalArgumentException if {@code capacity} is not positive or is greater than
+     *                                  {@link PrefetchedRecipe#MAX_CAPACITY}
+     * @see PrefetchedRecipe#of(Supplier, int, int, Executor, PrefetchedRecipe.WhenEmpty)
+     */
+    default PrefetchedRecipe<T>
+        prefetched
+            (int      capacity,
+             Executor executor)
+    {
+        return PrefetchedRecipe.of(this, capacity, 1, executor, PrefetchedRecipe.WhenEmpty.GENERATE);
+    }
+
+    /**
+     * @return recipe that produces values of {@code this} recipe on the {@code executor}
+     * @throws NullPointerException if {@code executor} is {@code null}
+     */
+    default AsyncRecipe<T>
+        async
+            (Executor executor)
+    {
+        return AsyncRecipe.of(this, executor);
+    }
+
+    /**
+     * @return future of a value produced by {@code this} recipe on the {@code executor}
+     * @throws NullPointerException if {@code executor} is {@code null}
+     */
+    default CompletableFuture<T>
+        getAsync
+            (Executor executor)
+    {
+        return CompletableFuture.supplyAsync(this, requireNonNull(executor));
+    }
+
+    // ---------------- BULK ----------------
+
+    /**
+     * @return sequential stream of {@code size} values produced by {@code this} recipe;
+     *         if a seeded source is {@linkplain RandomSource#current() current},
+     *         a source {@linkplain RandomSource#split() split} from it is used
+     *         as in {@link #stream(long, RandomSource)}
+     * @throws IllegalArgumentException if {@code size} is negative
+     */
+    default Stream<T>
+        stream
+            (long size)
+    {
+        RandomSource source = current();
+        return stream(size, source == RandomSource.threadLocal()
+                ? source
+                : source.split());
+    }
+
+    /**
+     * @return sequential stream of {@code size} values produced by {@code this} recipe,
+     *         which produces the same values for the same {@code source} state whether it is
+     *         {@linkplain Stream#parallel() parallel} or not; {@code source} is not advanced
+     * @throws IllegalArgumentException if {@code size} is negative
+     * @throws NullPointerException if {@code source} is {@code null}
+     */
+    default Stream<T>
+        stream
+            (long         size,
+             RandomSource source)
+    {
+        return stream(size, source, false);
+    }
+
+    /**
+     * @return sequential stream of {@code size} values produced by {@code this} recipe
+     *         as in {@link #stream(long, RandomSource)}; if {@code rows} is {@code true},
+     *         the index of the value being produced is available to
+     *         {@link LongRecipe#rowSequence(long, long)}, at the cost of a thread-local
+     *         access for every value
+     * @throws IllegalArgumentException if {@code size} is negative
+     * @throws NullPointerException if {@code source} is {@code null}
+     */
+    default Stream<T>
+        stream
+            (long         size,
+             RandomSource source,
+             boolean      rows)
+    {
+        if (size < 0)
+            throw new IllegalArgumentException("Negative size.");
+        requireNonNull(source);
+        return StreamSupport.stream(
+                new RecipeSpliterator<>(this, source, 0, size, rows),
+                false);
+    }
+
+    /**
+     * @return sequential stream of the values produced by {@code this} recipe in the shard
+     *         of the {@code context}, out of a run of {@code size} values
+     * @throws IllegalArgumentException if {@code size} is negative
+     * @throws NullPointerException if {@code context} is {@code null}
+     * @see RunContext#stream(Supplier, long)
+     */
+    default Stream<T>
+        shard
+            (long       size,
+             RunContext context)
+    {
+        return context.stream(this, size);
+    }
+
+    /**
+     * @return list of {@code size} values produced by {@code this} recipe
+     * @throws IllegalArgumentException if {@code size} is negative
+     */
+    default List<T>
+        take
+            (int size)
+    {
+        if (size < 0)
+            throw new IllegalArgumentException("Negative size.");
+        List<T> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++)
+            list.add(get());
+        return list;
+    }
+
+    /**
+     * @return future of a list of {@code size} values produced by {@code this} recipe,
+     *         each of them in a separate task submitted to the {@code executor}
+     * @throws IllegalArgumentException if {@code size} is negative
+     * @throws NullPointerException if {@code executor} is {@code null}
+     */
+    default CompletableFuture<List<T>>
+        takeAsync
+            (int      size,
+             Executor executor)
+    {
+        return async(executor).take(size);
+    }
+
+    /**
+     * @return future of a list of {@code size} values produced by {@code this} recipe,
+     *         each of them in a separate task submitted to the {@link AsyncRecipe#defaultExecutor()},
+     *         which uses virtual threads when they are available
+     * @throws IllegalArgumentException if {@code size} is negative
+     */
+    default CompletableFuture<List<T>>
+        takeAsync
+            (int size)
+    {
+        return takeAsync(size, AsyncRecipe.defaultExecutor());
+    }
+
+    /**
+     * @return given {@code array} with each element replaced by a value produced by {@code this} recipe
+     * @throws NullPointerException if {@code array} is {@code null}
+     */
+    default T[]
+        fill
+            (T[] array)
+    {
+        for (int i = 0; i < array.length; i++)
+            array[i] = get();
+        return array;
+    }
+
+    /**
+     * @return given {@code list} with each element replaced by a value produced by {@code this} recipe
+     * @throws NullPointerException if {@code list} is {@code null}
+     * @throws UnsupportedOperationException if {@code list} doesn't support the {@code set} operation
+     */
+    default <L extends List<? super T>> L
+        fill
+            (L list)
+    {
+        ListIterator<? super T> it = list.listIterator();
+        while (it.hasNext()) {
+            it.next();
+            it.set(get());
+        }
+        return list;
+    }
+
     // ---------------- FACTORIES ----------------
 
     /**
@@ -157,9 +544,7 @@ public interface Recipe<T> extends Supplier<T> {
         T[] constants = type.getEnumConstants();
         if (constants.length == 0)
             throw new IllegalArgumentException("Empty enum.");
-        return Recipe
-                .ofValue(Arrays.asList(constants))
-                .bind(fnrec(__ -> current().nextInt(0, constants.length)), List::get);
+        return () -> constants[current().nextInt(constants.length)];
     }
 
     /**
@@ -174,10 +559,250 @@ public interface Recipe<T> extends Supplier<T> {
     {
         if (recipes.length == 0)
             throw new IllegalArgumentException("Empty recipes.");
-        return Recipe
-                .ofValue(Arrays.stream(recipes).map(Recipe::of).collect(toList()))
-                .bind(fnrec(__ -> current().nextInt(0, recipes.length)), List::get)
-                .map(Recipe::get);
+        @SuppressWarnings("unchecked") // filled only with the recipes, copied one by one to keep varargs safe
+        Supplier<? extends T>[] choices = (Supplier<? extends T>[]) new Supplier<?>[recipes.length];
+        for (int i = 0; i < recipes.length; i++)
+            choices[i] = requireNonNull(recipes[i]);
+        return () -> choices[current().nextInt(choices.length)].get();
+    }
+
+    /**
+     * @return recipe that randomly chooses between {@code recipes} with probabilities proportional to {@code weights}
+     * @throws NullPointerException if {@code weights} or any of {@code recipes} is {@code null}
+     * @throws IllegalArgumentException if {@code weights} and {@code recipes} differ in length,
+     *                                  or {@code weights} is empty, contains negative or non-finite values
+     *                                  or all of them are zero
+     * @see AliasTable
+     */
+    @SafeVarargs
+    static <T> Recipe<T>
+        oneOfWeighted
+            (double[]                 weights,
+             Supplier<? extends T>... recipes)
+    {
+        if (weights.length != recipes.length)
+            throw new IllegalArgumentException("Weights and recipes differ in length.");
+        AliasTable table = AliasTable.of(weights);
+        @SuppressWarnings("unchecked") // filled only with the recipes, copied one by one to keep varargs safe
+        Supplier<? extends T>[] choices = (Supplier<? extends T>[]) new Supplier<?>[recipes.length];
+        for (int i = 0; i < recipes.length; i++)
+            choices[i] = requireNonNull(recipes[i]);
+        return () -> choices[table.sample(current())].get();
+    }
+
+    /**
+     * @return recipe that randomly chooses between the keys of {@code frequencies}
+     *         with probabilities proportional to their values
+     * @throws NullPointerException if {@code frequencies} or any of its keys or values is {@code null}
+     * @throws IllegalArgumentException if {@code frequencies} is empty, contains negative or non-finite values
+     *                                  or all of them are zero
+     */
+    static <T> Recipe<T>
+        weighted
+            (Map<? extends Supplier<? extends T>,
+                 ? extends Number>               frequencies)
+    {
+        double[] weights = new double[frequencies.size()];
+        @SuppressWarnings("unchecked") // filled only with keys of the frequencies
+        Supplier<? extends T>[] recipes = (Supplier<? extends T>[]) new Supplier<?>[weights.length];
+        int i = 0;
+        for (Map.Entry<? extends Supplier<? extends T>, ? extends Number> entry : frequencies.entrySet()) {
+            recipes[i] = requireNonNull(entry.getKey());
+            weights[i] = entry.getValue().doubleValue();
+            i++;
+        }
+        return oneOfWeighted(weights, recipes);
+    }
+
+    // ---------------- STRINGS ----------------
+
+    /**
+     * @return recipe for strings with the number of characters produced by {@code length},
+     *         each drawn uniformly from the characters of {@code alphabet}
+     * @throws NullPointerException if {@code alphabet} or {@code length} is {@code null}
+     * @throws IllegalArgumentException if {@code alphabet} is empty, or (on {@link #get()})
+     *                                  if {@code length} produces a negative value
+     */
+    static Recipe<String>
+        ofString
+            (String      alphabet,
+             IntSupplier length)
+    {
+        requireNonNull(length);
+        if (alphabet.isEmpty())
+            throw new IllegalArgumentException("Empty alphabet.");
+        return new Strings(alphabet.toCharArray(), length);
+    }
+
+    /**
+     * @return recipe for strings that match the {@code regex}, generated from its syntax tree,
+     *         where unbounded quantifiers repeat at most 8 times more than their minimum
+     *         and negated classes draw from printable ASCII characters
+     * @throws NullPointerException if {@code regex} is {@code null}
+     * @throws java.util.regex.PatternSyntaxException if {@code regex} is not a valid regular expression
+     * @throws IllegalArgumentException if {@code regex} uses features other than literals, classes,
+     *                                  groups, alternation, quantifiers and anchors where nothing
+     *                                  can precede or follow them
+     */
+    static Recipe<String>
+        matching
+            (String regex)
+    {
+        return new Regex(regex);
+    }
+
+    /**
+     * @return recipe that uniformly chooses between the non-empty lines of the UTF-8 file at {@code path},
+     *         which is memory-mapped and indexed once, with the index stored next to it as {@code <file>.idx}
+     * @throws NullPointerException if {@code path} is {@code null}
+     * @throws IllegalArgumentException if the file has no entries, or it or its index is larger than 2 GiB
+     * @throws IOException if the file cannot be read
+     */
+    static Recipe<String>
+        fromDictionary
+            (Path path)
+        throws IOException
+    {
+        return Dictionary.of(path, '\t', -1);
+    }
+
+    /**
+     * @return recipe that chooses between the first columns of the non-empty lines of the UTF-8 file
+     *         at {@code path}, with probabilities proportional to the numbers in the {@code weightColumn},
+     *         where columns are split by the {@code separator}; the index is stored next to the file
+     *         as {@code <file>.<weightColumn>.idx}
+     * @throws NullPointerException if {@code path} is {@code null}
+     * @throws IllegalArgumentException if {@code separator} is not an ASCII character, {@code weightColumn}
+     *                                  is not positive, the file has no entries, a weight is missing,
+     *                                  negative or not a number, all weights are zero,
+     *                                  or the file or its index is larger than 2 GiB
+     * @throws IOException if the file cannot be read
+     */
+    static Recipe<String>
+        fromDictionary
+            (Path path,
+             char separator,
+             int  weightColumn)
+        throws IOException
+    {
+        requireNonNull(path);
+        if (separator >= 0x80)
+            throw new IllegalArgumentException("Non-ASCII separator.");
+        if (weightColumn < 1)
+            throw new IllegalArgumentException("Non-positive weight column.");
+        return Dictionary.of(path, separator, weightColumn);
+    }
+
+    // ---------------- COLLECTIONS ----------------
+
+    /**
+     * @return recipe for lists with the number of elements produced by {@code size},
+     *         each produced by {@code element}, allocated once at their final size
+     * @throws NullPointerException if {@code size} or {@code element} is {@code null}
+     * @throws IllegalArgumentException (on {@link #get()}) if {@code size} produces a negative value
+     */
+    static <T> Recipe<List<T>>
+        listOf
+            (IntSupplier           size,
+             Supplier<? extends T> element)
+    {
+        requireNonNull(size);
+        requireNonNull(element);
+        return () -> {
+            int n = Fill.size(size);
+            List<T> list = new ArrayList<>(n);
+            for (int i = 0; i < n; i++)
+                list.add(element.get());
+            return list;
+        };
+    }
+
+    /**
+     * @return recipe for unmodifiable lists with the number of elements produced by {@code size},
+     *         each produced by {@code element}, backed directly by an array of that size
+     * @throws NullPointerException if {@code size} or {@code element} is {@code null}
+     * @throws IllegalArgumentException (on {@link #get()}) if {@code size} produces a negative value
+     */
+    static <T> Recipe<List<T>>
+        compactListOf
+            (IntSupplier           size,
+             Supplier<? extends T> element)
+    {
+        requireNonNull(size);
+        requireNonNull(element);
+        return () -> {
+            Object[] elements = new Object[Fill.size(size)];
+            for (int i = 0; i < elements.length; i++)
+                elements[i] = element.get();
+            return new CompactList<>(elements);
+        };
+    }
+
+    /**
+     * @return recipe for sets with the number of distinct elements produced by {@code size},
+     *         each produced by {@code element}, presized to hold them without rehashing
+     * @throws NullPointerException if {@code size} or {@code element} is {@code null}
+     * @throws IllegalArgumentException (on {@link #get()}) if {@code size} produces a negative value
+     * @throws RecipeFilterException (on {@link #get()}, without stack trace) if {@code element}
+     *                               produces 100 duplicates in a row
+     */
+    static <T> Recipe<Set<T>>
+        setOf
+            (IntSupplier           size,
+             Supplier<? extends T> element)
+    {
+        requireNonNull(size);
+        requireNonNull(element);
+        return () -> {
+            int n = Fill.size(size);
+            return Fill.distinct(new HashSet<>(Fill.capacity(n)), n, element);
+        };
+    }
+
+    /**
+     * @return recipe for maps with the number of entries produced by {@code size}, whose distinct keys
+     *         are produced by {@code key} and values by {@code value}, presized to hold them without rehashing
+     * @throws NullPointerException if {@code size}, {@code key} or {@code value} is {@code null}
+     * @throws IllegalArgumentException (on {@link #get()}) if {@code size} produces a negative value
+     * @throws RecipeFilterException (on {@link #get()}, without stack trace) if {@code key}
+     *                               produces 100 duplicates in a row
+     */
+    static <K, V> Recipe<Map<K, V>>
+        mapOf
+            (IntSupplier           size,
+             Supplier<? extends K> key,
+             Supplier<? extends V> value)
+    {
+        requireNonNull(size);
+        requireNonNull(key);
+        requireNonNull(value);
+        return () -> {
+            int n = Fill.size(size);
+            return Fill.distinct(new HashMap<>(Fill.capacity(n)), n, key, value);
+        };
+    }
+
+    /**
+     * @return recipe for arrays created by {@code generator} with the number of elements produced
+     *         by {@code size}, each produced by {@code element}
+     * @throws NullPointerException if {@code size}, {@code element} or {@code generator} is {@code null}
+     * @throws IllegalArgumentException (on {@link #get()}) if {@code size} produces a negative value
+     */
+    static <T> Recipe<T[]>
+        arrayOf
+            (IntSupplier           size,
+             Supplier<? extends T> element,
+             IntFunction<T[]>      generator)
+    {
+        requireNonNull(size);
+        requireNonNull(element);
+        requireNonNull(generator);
+        return () -> {
+            T[] array = generator.apply(Fill.size(size));
+            for (int i = 0; i < array.length; i++)
+                array[i] = element.get();
+            return array;
+        };
     }
 
 }
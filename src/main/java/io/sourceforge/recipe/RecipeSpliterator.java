@@ -0,0 +1,147 @@
+// SPDX-FileCopyrightText: © 2022 Nikola Vojičić <nikolavojicic@outlook.com>
+// SPDX-License-Identifier: MIT
+
+package io.sourceforge.recipe;
+
+import io.sourceforge.recipe.random.RandomSource;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Sized spliterator over the values produced by a recipe.
+ * <p>
+ * When created with a seeded source, the values are generated in blocks of
+ * {@link #BLOCK} and each block draws from the source forked with the block
+ * index. Splits happen only on block boundaries, so the produced values don't
+ * depend on how the stream is split between threads.
+ * <p>
+ * The index of the value being produced is published to {@link #ROW}
+ * for {@link LongRecipe#rowSequence(long, long)}, but only by the streams
+ * that ask for it, so that other streams don't touch the thread-local
+ * for every value.
+ */
+final class RecipeSpliterator<T> implements Spliterator<T> {
+
+    static final int BLOCK = 1024;
+
+    /**
+     * Index of the value being produced on this thread, or {@code -1} outside of a stream.
+     */
+    static final ThreadLocal<long[]> ROW = ThreadLocal.withInitial(() -> new long[]{-1});
+
+    private final Supplier<? extends T> recipe;
+    private final RandomSource source;
+    private final boolean rows;
+    private final long fence;
+    private long index;
+    private RandomSource block;
+
+    /**
+     * @param rows whether to publish the index to {@link #ROW}
+     */
+    RecipeSpliterator(Supplier<? extends T> recipe, RandomSource source, long index, long fence, boolean rows) {
+        this(recipe, source, rows, index, fence, null);
+    }
+
+    private RecipeSpliterator(Supplier<? extends T> recipe, RandomSource source, boolean rows,
+                              long index, long fence, RandomSource block)
+    {
+        this.recipe = recipe;
+        this.source = source;
+        this.rows   = rows;
+        this.index  = index;
+        this.fence  = fence;
+        this.block  = block;
+    }
+
+    private boolean seeded() {
+        return source != RandomSource.threadLocal();
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        if (index >= fence)
+            return false;
+        if (!rows)
+            return advance(action);
+        long[] row = ROW.get();
+        long outer = row[0];
+        try {
+            row[0] = index;
+            return advance(action);
+        } finally {
+            row[0] = outer;
+        }
+    }
+
+    private boolean advance(Consumer<? super T> action) {
+        if (!seeded()) {
+            index++;
+            action.accept(recipe.get());
+            return true;
+        }
+        if (block == null || index % BLOCK == 0)
+            block = source.fork(index / BLOCK);
+        index++;
+        action.accept(RandomSource.call(block, recipe));
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super T> action) {
+        long[] row = rows ? ROW.get() : null;
+        long outer = rows ? row[0] : -1;
+        try {
+            if (!seeded()) {
+                for (; index < fence; index++) {
+                    if (row != null)
+                        row[0] = index;
+                    action.accept(recipe.get());
+                }
+                return;
+            }
+            while (index < fence) {
+                if (block == null || index % BLOCK == 0)
+                    block = source.fork(index / BLOCK);
+                long end = Math.min(fence, (index / BLOCK + 1) * BLOCK);
+                RandomSource.call(block, () -> {
+                    for (; index < end; index++) {
+                        if (row != null)
+                            row[0] = index;
+                        action.accept(recipe.get());
+                    }
+                    return null;
+                });
+            }
+        } finally {
+            if (row != null)
+                row[0] = outer;
+        }
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        long mid = (index + fence) >>> 1;
+        if (seeded())
+            mid = mid / BLOCK * BLOCK;
+        if (mid <= index)
+            return null;
+        Spliterator<T> prefix = new RecipeSpliterator<>(recipe, source, rows, index, mid, block);
+        index = mid;
+        block = null;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return fence - index;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | SIZED | SUBSIZED | IMMUTABLE;
+    }
+
+}
@@ -0,0 +1,387 @@
+// SPDX-FileCopyrightText: © 2022 Nikola Vojičić <nikolavojicic@outlook.com>
+// SPDX-License-Identifier: MIT
+
+package io.sourceforge.recipe;
+
+import io.sourceforge.recipe.random.RandomSource;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static io.sourceforge.recipe.random.RandomSource.current;
+
+/**
+ * Recipe for strings that match a regular expression, sampled directly from
+ * its syntax tree, which is parsed once.
+ * <p>
+ * Supports literals, {@code .}, character classes with ranges and negation,
+ * the {@code \d \w \s} classes and their complements, groups, alternation and
+ * the {@code * + ? {n} {n,} {n,m}} quantifiers. Unbounded quantifiers repeat
+ * at most {@link #MAX_REPEAT} times more than their minimum. Anchors {@code ^}
+ * and {@code $} are ignored where nothing can precede or follow them, such as
+ * at the ends of alternatives in groups at the ends of the expression, and
+ * rejected elsewhere. Negated classes and {@code .} draw from printable ASCII
+ * characters.
+ */
+final class Regex implements Recipe<String> {
+
+    static final int MAX_REPEAT = 8;
+
+    private static final char[] PRINTABLE = range(' ', '~');
+
+    private final Node root;
+    private final ThreadLocal<StringBuilder> builders = ThreadLocal.withInitial(StringBuilder::new);
+
+    Regex(String regex) {
+        Pattern.compile(regex);
+        Parser parser = new Parser(regex);
+        this.root = parser.parse();
+    }
+
+    @Override
+    public String get() {
+        StringBuilder sb = builders.get();
+        sb.setLength(0);
+        root.append(sb, current());
+        return sb.toString();
+    }
+
+    // ---------------- NODES ----------------
+
+    private interface Node {
+
+        void append(StringBuilder sb, RandomSource random);
+
+    }
+
+    private static final class Chars implements Node {
+
+        final char[] chars;
+
+        Chars(char[] chars) {
+            this.chars = chars;
+        }
+
+        @Override
+        public void append(StringBuilder sb, RandomSource random) {
+            sb.append(chars.length == 1 ? chars[0] : chars[random.nextInt(chars.length)]);
+        }
+
+    }
+
+    private static final class Sequence implements Node {
+
+        final Node[] nodes;
+
+        Sequence(Node[] nodes) {
+            this.nodes = nodes;
+        }
+
+        @Override
+        public void append(StringBuilder sb, RandomSource random) {
+            for (Node node : nodes)
+                node.append(sb, random);
+        }
+
+    }
+
+    private static final class Alternation implements Node {
+
+        final Node[] nodes;
+
+        Alternation(Node[] nodes) {
+            this.nodes = nodes;
+        }
+
+        @Override
+        public void append(StringBuilder sb, RandomSource random) {
+            nodes[random.nextInt(nodes.length)].append(sb, random);
+        }
+
+    }
+
+    private static final class Repeat implements Node {
+
+        final Node node;
+        final int min;
+        final int max;
+
+        Repeat(Node node, int min, int max) {
+            this.node = node;
+            this.min  = min;
+            this.max  = max;
+        }
+
+        @Override
+        public void append(StringBuilder sb, RandomSource random) {
+            int n = min == max ? min : random.nextInt(min, max + 1);
+            for (int i = 0; i < n; i++)
+                node.append(sb, random);
+        }
+
+    }
+
+    // ---------------- PARSER ----------------
+
+    private static final class Parser {
+
+        private final String regex;
+        private int pos;
+        /** Whether the last parsed sequence or group can end with {@code $}, so nothing may follow it. */
+        private boolean ended;
+        /** Number of anchors parsed so far, to tell whether an atom contains any. */
+        private int anchors;
+
+        Parser(String regex) {
+            this.regex = regex;
+        }
+
+        Node parse() {
+            Node node = alternation(true);
+            if (pos < regex.length())
+                throw unsupported();
+            return node;
+        }
+
+        /**
+         * @param start whether nothing can precede the alternation
+         */
+        private Node alternation(boolean start) {
+            List<Node> nodes = new ArrayList<>();
+            nodes.add(sequence(start));
+            boolean anyEnded = ended;
+            while (peek('|')) {
+                pos++;
+                nodes.add(sequence(start));
+                anyEnded |= ended;
+            }
+            ended = anyEnded;
+            return nodes.size() == 1
+                    ? nodes.get(0)
+                    : new Alternation(nodes.toArray(new Node[0]));
+        }
+
+        private Node sequence(boolean start) {
+            List<Node> nodes = new ArrayList<>();
+            ended = false;
+            while (pos < regex.length() && !peek('|') && !peek(')')) {
+                boolean atStart = start && nodes.isEmpty();
+                if (peek('^') || peek('$')) {
+                    anchor(atStart);
+                    continue;
+                }
+                if (ended)
+                    throw unsupported();
+                int before = anchors;
+                Node atom = atom(atStart);
+                if (anchors != before && quantifier())
+                    throw unsupported();
+                nodes.add(quantified(atom));
+            }
+            return nodes.size() == 1
+                    ? nodes.get(0)
+                    : new Sequence(nodes.toArray(new Node[0]));
+        }
+
+        /**
+         * Skips an anchor, which generates nothing where it is allowed.
+         */
+        private void anchor(boolean atStart) {
+            if (peek('^') && !atStart)
+                throw unsupported();
+            if (peek('$'))
+                ended = true;
+            pos++;
+            anchors++;
+            if (quantifier())
+                throw unsupported();
+        }
+
+        private boolean quantifier() {
+            return peek('*') || peek('+') || peek('?') || peek('{');
+        }
+
+        private Node quantified(Node atom) {
+            Node node = atom;
+            while (pos < regex.length()) {
+                char c = regex.charAt(pos);
+                int min, max;
+                if (c == '*') {
+                    min = 0;
+                    max = MAX_REPEAT;
+                } else if (c == '+') {
+                    min = 1;
+                    max = 1 + MAX_REPEAT;
+                } else if (c == '?') {
+                    min = 0;
+                    max = 1;
+                } else if (c == '{') {
+                    int close = regex.indexOf('}', pos);
+                    if (close < 0)
+                        throw unsupported();
+                    String[] bounds = regex.substring(pos + 1, close).split(",", -1);
+                    min = Integer.parseInt(bounds[0].trim());
+                    max = bounds.length == 1
+                            ? min
+                            : bounds[1].trim().isEmpty()
+                            ? min + MAX_REPEAT
+                            : Integer.parseInt(bounds[1].trim());
+                    pos = close;
+                } else {
+                    return node;
+                }
+                pos++;
+                // lazy and possessive modifiers don't change what matches
+                if (pos < regex.length() && (regex.charAt(pos) == '?' || regex.charAt(pos) == '+'))
+                    pos++;
+                node = new Repeat(node, min, max);
+            }
+            return node;
+        }
+
+        private Node atom(boolean start) {
+            char c = regex.charAt(pos++);
+            switch (c) {
+                case '(':
+                    if (regex.startsWith("?:", pos))
+                        pos += 2;
+                    else if (peek('?'))
+                        throw unsupported();
+                    Node group = alternation(start);
+                    if (!peek(')'))
+                        throw unsupported();
+                    pos++;
+                    return group;
+                case '[':
+                    return new Chars(charClass());
+                case '.':
+                    return new Chars(PRINTABLE);
+                case '\\':
+                    return new Chars(escape());
+                default:
+                    return new Chars(new char[]{c});
+            }
+        }
+
+        private char[] charClass() {
+            boolean negated = peek('^');
+            if (negated)
+                pos++;
+            BitSet set = new BitSet();
+            boolean first = true;
+            while (pos < regex.length() && (first || !peek(']'))) {
+                first = false;
+                char[] chars;
+                char c = regex.charAt(pos++);
+                if (c == '\\') {
+                    chars = escape();
+                } else if (c == '[' || (c == '&' && peek('&'))) {
+                    throw unsupported();
+                } else {
+                    chars = new char[]{c};
+                }
+                if (chars.length == 1 && peek('-') && pos + 1 < regex.length() && regex.charAt(pos + 1) != ']') {
+                    pos++;
+                    char to = regex.charAt(pos++);
+                    if (to == '\\') {
+                        char[] escaped = escape();
+                        if (escaped.length != 1)
+                            throw unsupported();
+                        to = escaped[0];
+                    }
+                    set.set(chars[0], to + 1);
+                } else {
+                    for (char ch : chars)
+                        set.set(ch);
+                }
+            }
+            if (!peek(']'))
+                throw unsupported();
+            pos++;
+            if (negated) {
+                BitSet printable = toSet(PRINTABLE);
+                printable.andNot(set);
+                set = printable;
+            }
+            if (set.isEmpty())
+                throw new IllegalArgumentException("Empty character class.");
+            char[] chars = new char[set.cardinality()];
+            for (int i = 0, ch = set.nextSetBit(0); ch >= 0; ch = set.nextSetBit(ch + 1))
+                chars[i++] = (char) ch;
+            return chars;
+        }
+
+        private char[] escape() {
+            if (pos >= regex.length())
+                throw unsupported();
+            char c = regex.charAt(pos++);
+            switch (c) {
+                case 'd': return range('0', '9');
+                case 'w': return concat(range('a', 'z'), range('A', 'Z'), range('0', '9'), new char[]{'_'});
+                case 's': return new char[]{' ', '\t'};
+                case 'D': return complement(range('0', '9'));
+                case 'W': return complement(escapeOf('w'));
+                case 'S': return complement(new char[]{' ', '\t'});
+                case 't': return new char[]{'\t'};
+                case 'n': return new char[]{'\n'};
+                case 'r': return new char[]{'\r'};
+                case 'f': return new char[]{'\f'};
+                case 'u':
+                    if (pos + 4 > regex.length())
+                        throw unsupported();
+                    pos += 4;
+                    return new char[]{(char) Integer.parseInt(regex.substring(pos - 4, pos), 16)};
+                default:
+                    if (Character.isLetterOrDigit(c))
+                        throw unsupported();
+                    return new char[]{c};
+            }
+        }
+
+        private static char[] escapeOf(char c) {
+            return new Parser(String.valueOf(c)).escape();
+        }
+
+        private boolean peek(char c) {
+            return pos < regex.length() && regex.charAt(pos) == c;
+        }
+
+        private IllegalArgumentException unsupported() {
+            return new IllegalArgumentException("Unsupported regex at " + pos + ": " + regex);
+        }
+
+    }
+
+    private static char[] range(char from, char to) {
+        char[] chars = new char[to - from + 1];
+        for (int i = 0; i < chars.length; i++)
+            chars[i] = (char) (from + i);
+        return chars;
+    }
+
+    private static char[] concat(char[]... arrays) {
+        StringBuilder sb = new StringBuilder();
+        for (char[] array : arrays)
+            sb.append(array);
+        return sb.toString().toCharArray();
+    }
+
+    private static BitSet toSet(char[] chars) {
+        BitSet set = new BitSet();
+        for (char c : chars)
+            set.set(c);
+        return set;
+    }
+
+    private static char[] complement(char[] chars) {
+        BitSet set = toSet(PRINTABLE);
+        set.andNot(toSet(chars));
+        char[] result = new char[set.cardinality()];
+        for (int i = 0, ch = set.nextSetBit(0); ch >= 0; ch = set.nextSetBit(ch + 1))
+            result[i++] = (char) ch;
+        return result;
+    }
+
+}
@@ -0,0 +1,183 @@
+// SPDX-FileCopyrightText: © 2022 Nikola Vojičić <nikolavojicic@outlook.com>
+// SPDX-License-Identifier: MIT
+
+package io.sourceforge.recipe;
+
+import io.sourceforge.recipe.random.RandomSource;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Seed and shard of a generation run that is split across processes.
+ * <p>
+ * A run of {@code size} values is divided into blocks of 1024 values, and each
+ * shard gets a contiguous range of whole blocks. Every block draws from the seeded
+ * source {@linkplain RandomSource#fork(long) forked} with its index, so a shard
+ * starts its own stream in constant time, without generating the values of
+ * the shards before it, and all shards together produce exactly the values of
+ * {@link Recipe#stream(long, RandomSource)} with the same seed.
+ * <p>
+ * Recipes that need unique values across shards can use
+ * {@link LongRecipe#rowSequence(long, long)}, which depends on the index
+ * of the value in the run rather than on the shard, or
+ * {@link LongRecipe#sequence(long, long, RunContext)}, which takes the values
+ * of the sequence whose indexes fall in the partition of the shard. The other
+ * sequences of {@link LongRecipe} are not shard-aware: every shard starts them anew.
+ */
+public final class RunContext {
+
+    /**
+     * System property with the seed used by {@link #fromSystemProperties()}.
+     */
+    public static final String SEED_PROPERTY = "io.sourceforge.recipe.seed";
+
+    /**
+     * System property with the shard index used by {@link #fromSystemProperties()}.
+     */
+    public static final String SHARD_INDEX_PROPERTY = "io.sourceforge.recipe.shard.index";
+
+    /**
+     * System property with the shard count used by {@link #fromSystemProperties()}.
+     */
+    public static final String SHARD_COUNT_PROPERTY = "io.sourceforge.recipe.shard.count";
+
+    private final long seed;
+    private final int shardIndex;
+    private final int shardCount;
+
+    private RunContext(long seed, int shardIndex, int shardCount) {
+        this.seed       = seed;
+        this.shardIndex = shardIndex;
+        this.shardCount = shardCount;
+    }
+
+    /**
+     * @return context of the shard {@code shardIndex} out of {@code shardCount} shards of the run with the {@code seed}
+     * @throws IllegalArgumentException if {@code shardCount} is not positive or {@code shardIndex}
+     *                                  is not between zero (inclusive) and {@code shardCount} (exclusive)
+     */
+    public static RunContext of(long seed, int shardIndex, int shardCount) {
+        if (shardCount <= 0)
+            throw new IllegalArgumentException("Shard count must be positive.");
+        if (shardIndex < 0 || shardIndex >= shardCount)
+            throw new IllegalArgumentException("Shard index out of range.");
+        return new RunContext(seed, shardIndex, shardCount);
+    }
+
+    /**
+     * @return context of the single shard of the run with the {@code seed}
+     */
+    public static RunContext unsharded(long seed) {
+        return new RunContext(seed, 0, 1);
+    }
+
+    /**
+     * @return context read from the {@link #SEED_PROPERTY}, {@link #SHARD_INDEX_PROPERTY} and
+     *         {@link #SHARD_COUNT_PROPERTY} system properties; shard defaults to the only one
+     * @throws IllegalStateException if the seed property is not set
+     * @throws NumberFormatException if a property is not a number
+     * @throws IllegalArgumentException if the shard properties are out of range
+     */
+    public static RunContext fromSystemProperties() {
+        String seed = System.getProperty(SEED_PROPERTY);
+        if (seed == null)
+            throw new IllegalStateException("Missing system property: " + SEED_PROPERTY + ".");
+        return of(Long.parseLong(seed),
+                  Integer.parseInt(System.getProperty(SHARD_INDEX_PROPERTY, "0")),
+                  Integer.parseInt(System.getProperty(SHARD_COUNT_PROPERTY, "1")));
+    }
+
+    public long seed() {
+        return seed;
+    }
+
+    public int shardIndex() {
+        return shardIndex;
+    }
+
+    public int shardCount() {
+        return shardCount;
+    }
+
+    /**
+     * @return index of the first value of {@code this} shard in a run of {@code size} values
+     * @throws IllegalArgumentException if {@code size} is negative
+     */
+    public long start(long size) {
+        return index(size, shardIndex);
+    }
+
+    /**
+     * @return index after the last value of {@code this} shard in a run of {@code size} values
+     * @throws IllegalArgumentException if {@code size} is negative
+     */
+    public long end(long size) {
+        return index(size, shardIndex + 1);
+    }
+
+    private long index(long size, int shard) {
+        if (size < 0)
+            throw new IllegalArgumentException("Negative size.");
+        long full = size / RecipeSpliterator.BLOCK;
+        long blocks = size % RecipeSpliterator.BLOCK == 0 ? full : full + 1;
+        // blocks * shard / shardCount without overflow
+        long block = blocks / shardCount * shard + blocks % shardCount * shard / shardCount;
+        return block > full
+                ? size
+                : Math.min(size, block * RecipeSpliterator.BLOCK);
+    }
+
+    /**
+     * @return sequential stream of the values of {@code this} shard in a run of {@code size}
+     *         values produced by the {@code recipe}
+     * @throws NullPointerException if {@code recipe} is {@code null}
+     * @throws IllegalArgumentException if {@code size} is negative
+     */
+    public <T> Stream<T> stream(Supplier<? extends T> recipe, long size) {
+        requireNonNull(recipe);
+        return StreamSupport.stream(
+                new RecipeSpliterator<>(recipe, RandomSource.seeded(seed), start(size), end(size), true),
+                false);
+    }
+
+    /**
+     * Generates the run of {@code size} values once in a single shard and once in {@code shardCount}
+     * shards, each with a new recipe from {@code recipes}, as separate processes would.
+     *
+     * @return number of occurrences of each value in the single shard minus the number of
+     *         its occurrences in all shards, for the values where they differ; empty if
+     *         the shards produced exactly the same multiset of values
+     * @throws NullPointerException if {@code recipes} is {@code null} or returns {@code null}
+     * @throws IllegalArgumentException if {@code size} is negative or {@code shardCount} is not positive
+     */
+    public static <T> Map<T, Long> difference(Supplier<? extends Supplier<? extends T>> recipes,
+                                              long size,
+                                              long seed,
+                                              int shardCount)
+    {
+        requireNonNull(recipes);
+        if (shardCount <= 0)
+            throw new IllegalArgumentException("Shard count must be positive.");
+        Map<T, Long> counts = new HashMap<>();
+        unsharded(seed).stream(recipes.get(), size).forEach(value -> counts.merge(value, 1L, Long::sum));
+        for (int shard = 0; shard < shardCount; shard++)
+            of(seed, shard, shardCount)
+                    .stream(recipes.get(), size)
+                    .forEach(value -> counts.merge(value, -1L, (x, y) -> x + y == 0 ? null : x + y));
+        return counts;
+    }
+
+    @Override
+    public String toString() {
+        return "RunContext[seed=" + seed
+                + ", shardIndex=" + shardIndex
+                + ", shardCount=" + shardCount + ']';
+    }
+
+}
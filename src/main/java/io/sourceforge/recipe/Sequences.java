@@ -0,0 +1,53 @@
+// SPDX-FileCopyrightText: © 2022 Nikola Vojičić <nikolavojicic@outlook.com>
+// SPDX-License-Identifier: MIT
+
+package io.sourceforge.recipe;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Implementations of the sequence recipes of {@link LongRecipe}.
+ */
+final class Sequences {
+
+    private Sequences() {
+        throw new AssertionError();
+    }
+
+    static void checkStep(long step) {
+        if (step == 0)
+            throw new IllegalArgumentException("Step must not be zero.");
+    }
+
+    /**
+     * Each thread reserves {@code blockSize} consecutive indexes at once,
+     * so threads touch the shared counter once per block.
+     */
+    static final class Blocks implements LongRecipe {
+
+        private final long start;
+        private final long step;
+        private final int blockSize;
+        private final AtomicLong blocks = new AtomicLong();
+        private final ThreadLocal<long[]> ranges = ThreadLocal.withInitial(() -> new long[2]);
+
+        Blocks(long start, long step, int blockSize) {
+            this.start     = start;
+            this.step      = step;
+            this.blockSize = blockSize;
+        }
+
+        @Override
+        public long getAsLong() {
+            // [next index, end index)
+            long[] range = ranges.get();
+            if (range[0] == range[1]) {
+                range[0] = blocks.getAndIncrement() * blockSize;
+                range[1] = range[0] + blockSize;
+            }
+            return start + range[0]++ * step;
+        }
+
+    }
+
+}
@@ -0,0 +1,66 @@
+// SPDX-FileCopyrightText: © 2022 Nikola Vojičić <nikolavojicic@outlook.com>
+// SPDX-License-Identifier: MIT
+
+package io.sourceforge.recipe;
+
+import io.sourceforge.recipe.random.RandomSource;
+
+import java.util.Arrays;
+import java.util.function.IntSupplier;
+
+import static io.sourceforge.recipe.random.RandomSource.current;
+
+/**
+ * Recipe for strings of characters drawn uniformly from an alphabet.
+ * <p>
+ * Each random {@code long} is cut into four 16-bit chunks (two 32-bit chunks
+ * for alphabets longer than 256 characters), and each chunk is mapped to an
+ * index with Lemire's multiply-shift method, whose rare rejections keep the
+ * distribution uniform. Characters are written into a per-thread buffer that
+ * is reused between values.
+ */
+final class Strings implements Recipe<String> {
+
+    private final char[] alphabet;
+    private final IntSupplier length;
+    private final int bits;
+    private final long mask;
+    private final long threshold;
+    private final ThreadLocal<char[]> buffers = ThreadLocal.withInitial(() -> new char[32]);
+
+    Strings(char[] alphabet, IntSupplier length) {
+        this.alphabet  = alphabet;
+        this.length    = length;
+        this.bits      = alphabet.length <= 256 ? 16 : 32;
+        this.mask      = (1L << bits) - 1;
+        this.threshold = ((1L << bits) - alphabet.length) % alphabet.length;
+    }
+
+    @Override
+    public String get() {
+        int n = Fill.size(length);
+        char[] buffer = buffers.get();
+        if (buffer.length < n) {
+            buffer = new char[Math.max(n, buffer.length * 2)];
+            buffers.set(buffer);
+        }
+        if (alphabet.length == 1) {
+            Arrays.fill(buffer, 0, n, alphabet[0]);
+            return new String(buffer, 0, n);
+        }
+        RandomSource random = current();
+        long size = alphabet.length;
+        int i = 0;
+        while (i < n) {
+            long r = random.nextLong();
+            for (int chunk = 64 / bits; chunk > 0 && i < n; chunk--, r >>>= bits) {
+                long m = (r & mask) * size;
+                if ((m & mask) < threshold)
+                    continue;
+                buffer[i++] = alphabet[(int) (m >>> bits)];
+            }
+        }
+        return new String(buffer, 0, n);
+    }
+
+}
@@ -0,0 +1,122 @@
+// SPDX-FileCopyrightText: © 2022 Nikola Vojičić <nikolavojicic@outlook.com>
+// SPDX-License-Identifier: MIT
+
+package io.sourceforge.recipe;
+
+import io.sourceforge.recipe.random.RandomSource;
+
+/**
+ * Ziggurat samplers of Marsaglia and Tsang for the standard normal (128 layers)
+ * and the standard exponential (256 layers) distributions.
+ * <p>
+ * Each sample takes one random {@code long}: its low bits choose the layer and
+ * its high 56 bits the position within it, so that the two are independent.
+ * About 99% of samples are accepted with one table lookup and one multiplication;
+ * the rest fall back to the exact density or to the tail algorithm.
+ */
+final class Ziggurat {
+
+    private static final double NORMAL_R = 3.442619855899;
+    private static final double NORMAL_V = 9.91256303526217e-3;
+    private static final double EXPONENTIAL_R = 7.697117470131487;
+    private static final double EXPONENTIAL_V = 3.949659822581572e-3;
+
+    private static final long[] KN = new long[128];
+    private static final double[] WN = new double[128];
+    private static final double[] FN = new double[128];
+
+    private static final long[] KE = new long[256];
+    private static final double[] WE = new double[256];
+    private static final double[] FE = new double[256];
+
+    static {
+        double m = 0x1.0p55;
+        double d = NORMAL_R, t = d;
+        double q = NORMAL_V / Math.exp(-0.5 * d * d);
+        KN[0] = (long) (d / q * m);
+        KN[1] = 0;
+        WN[0] = q / m;
+        WN[127] = d / m;
+        FN[0] = 1;
+        FN[127] = Math.exp(-0.5 * d * d);
+        for (int i = 126; i >= 1; i--) {
+            d = Math.sqrt(-2 * Math.log(NORMAL_V / d + Math.exp(-0.5 * d * d)));
+            KN[i + 1] = (long) (d / t * m);
+            t = d;
+            FN[i] = Math.exp(-0.5 * d * d);
+            WN[i] = d / m;
+        }
+
+        m = 0x1.0p56;
+        d = EXPONENTIAL_R;
+        t = d;
+        q = EXPONENTIAL_V / Math.exp(-d);
+        KE[0] = (long) (d / q * m);
+        KE[1] = 0;
+        WE[0] = q / m;
+        WE[255] = d / m;
+        FE[0] = 1;
+        FE[255] = Math.exp(-d);
+        for (int i = 254; i >= 1; i--) {
+            d = -Math.log(EXPONENTIAL_V / d + Math.exp(-d));
+            KE[i + 1] = (long) (d / t * m);
+            t = d;
+            FE[i] = Math.exp(-d);
+            WE[i] = d / m;
+        }
+    }
+
+    private Ziggurat() {
+        throw new AssertionError();
+    }
+
+    /**
+     * @return sample from the standard normal distribution
+     */
+    static double gaussian(RandomSource random) {
+        for (;;) {
+            long r = random.nextLong();
+            int i = (int) r & 127;
+            long h = r >> 8;
+            double x = h * WN[i];
+            if (Math.abs(h) < KN[i])
+                return x;
+            if (i == 0) {
+                double y;
+                do {
+                    x = -Math.log(open(random)) / NORMAL_R;
+                    y = -Math.log(open(random));
+                } while (y + y < x * x);
+                return h > 0 ? NORMAL_R + x : -NORMAL_R - x;
+            }
+            if (FN[i] + random.nextDouble() * (FN[i - 1] - FN[i]) < Math.exp(-0.5 * x * x))
+                return x;
+        }
+    }
+
+    /**
+     * @return sample from the exponential distribution with rate one
+     */
+    static double exponential(RandomSource random) {
+        for (;;) {
+            long r = random.nextLong();
+            int i = (int) r & 255;
+            long h = r >>> 8;
+            double x = h * WE[i];
+            if (h < KE[i])
+                return x;
+            if (i == 0)
+                return EXPONENTIAL_R - Math.log(open(random));
+            if (FE[i] + random.nextDouble() * (FE[i - 1] - FE[i]) < Math.exp(-x))
+                return x;
+        }
+    }
+
+    /**
+     * @return random value between zero and one, both exclusive
+     */
+    static double open(RandomSource random) {
+        return ((random.nextLong() >>> 11) + 0.5) * 0x1.0p-53;
+    }
+
+}
@@ -0,0 +1,197 @@
+// SPDX-FileCopyrightText: © 2022 Nikola Vojičić <nikolavojicic@outlook.com>
+// SPDX-License-Identifier: MIT
+
+package io.sourceforge.recipe.bean;
+
+import java.lang.invoke.LambdaConversionException;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.function.*;
+
+import static java.lang.invoke.MethodType.methodType;
+
+/**
+ * Functional interfaces generated for constructors and setters.
+ * <p>
+ * Functions are generated by {@link LambdaMetafactory}, which the JIT compiler
+ * inlines like hand-written lambdas. When that is not possible, e.g. because the
+ * bean class doesn't resolve from the class loader of the lookup class, as with
+ * beans loaded by a child class loader of a plugin, they fall back to calling
+ * method handles, which is still much faster than {@link Method#invoke}.
+ */
+final class Accessors {
+
+    private Accessors() {
+        throw new AssertionError();
+    }
+
+    static <T> Supplier<T> constructor(MethodHandles.Lookup lookup, Class<T> type) {
+        MethodHandle handle;
+        try {
+            handle = lookup.findConstructor(type, methodType(void.class));
+        } catch (NoSuchMethodException ex) {
+            throw new IllegalArgumentException("No no-arg constructor: " + type.getName() + ".");
+        } catch (IllegalAccessException ex) {
+            throw new IllegalStateException("Inaccessible constructor: " + type.getName() + ".", ex);
+        }
+        Supplier<T> generated = generate(lookup, Supplier.class, "get",
+                                         methodType(Object.class), handle, methodType(type));
+        if (generated != null)
+            return generated;
+        MethodHandle generic = handle.asType(methodType(Object.class));
+        return () -> {
+            try {
+                @SuppressWarnings("unchecked")
+                T bean = (T) generic.invokeExact();
+                return bean;
+            } catch (Throwable ex) {
+                throw rethrow(ex);
+            }
+        };
+    }
+
+    static <T> BiConsumer<T, Object> setter(MethodHandles.Lookup lookup, Class<T> type, Method setter) {
+        MethodHandle handle = unreflect(lookup, setter);
+        Class<?> parameter = setter.getParameterTypes()[0];
+        BiConsumer<T, Object> generated = generate(lookup, BiConsumer.class, "accept",
+                                                   methodType(void.class, Object.class, Object.class), handle,
+                                                   methodType(void.class, type, box(parameter)));
+        if (generated != null)
+            return generated;
+        MethodHandle generic = handle.asType(methodType(void.class, Object.class, Object.class));
+        return (target, value) -> {
+            try {
+                generic.invokeExact(target, value);
+            } catch (Throwable ex) {
+                throw rethrow(ex);
+            }
+        };
+    }
+
+    static <T> ObjIntConsumer<T> intSetter(MethodHandles.Lookup lookup, Class<T> type, Method setter) {
+        MethodHandle handle = unreflect(lookup, setter);
+        ObjIntConsumer<T> generated = generate(lookup, ObjIntConsumer.class, "accept",
+                                               methodType(void.class, Object.class, int.class), handle,
+                                               methodType(void.class, type, int.class));
+        if (generated != null)
+            return generated;
+        MethodHandle generic = handle.asType(methodType(void.class, Object.class, int.class));
+        return (target, value) -> {
+            try {
+                generic.invokeExact(target, value);
+            } catch (Throwable ex) {
+                throw rethrow(ex);
+            }
+        };
+    }
+
+    static <T> ObjLongConsumer<T> longSetter(MethodHandles.Lookup lookup, Class<T> type, Method setter) {
+        MethodHandle handle = unreflect(lookup, setter);
+        ObjLongConsumer<T> generated = generate(lookup, ObjLongConsumer.class, "accept",
+                                                methodType(void.class, Object.class, long.class), handle,
+                                                methodType(void.class, type, long.class));
+        if (generated != null)
+            return generated;
+        MethodHandle generic = handle.asType(methodType(void.class, Object.class, long.class));
+        return (target, value) -> {
+            try {
+                generic.invokeExact(target, value);
+            } catch (Throwable ex) {
+                throw rethrow(ex);
+            }
+        };
+    }
+
+    static <T> ObjDoubleConsumer<T> doubleSetter(MethodHandles.Lookup lookup, Class<T> type, Method setter) {
+        MethodHandle handle = unreflect(lookup, setter);
+        ObjDoubleConsumer<T> generated = generate(lookup, ObjDoubleConsumer.class, "accept",
+                                                  methodType(void.class, Object.class, double.class), handle,
+                                                  methodType(void.class, type, double.class));
+        if (generated != null)
+            return generated;
+        MethodHandle generic = handle.asType(methodType(void.class, Object.class, double.class));
+        return (target, value) -> {
+            try {
+                generic.invokeExact(target, value);
+            } catch (Throwable ex) {
+                throw rethrow(ex);
+            }
+        };
+    }
+
+    private static MethodHandle unreflect(MethodHandles.Lookup lookup, Method setter) {
+        try {
+            return lookup.unreflect(setter);
+        } catch (IllegalAccessException ex) {
+            throw new IllegalStateException("Inaccessible setter: " + setter + ".", ex);
+        }
+    }
+
+    /**
+     * @return instance of the functional {@code type} that calls the {@code handle},
+     *         or {@code null} if it cannot be generated, including when a class it uses
+     *         doesn't resolve to the same class from the loader of the lookup class, where
+     *         the generated class would link but fail with {@link NoClassDefFoundError}
+     *         when first called
+     */
+    @SuppressWarnings("unchecked")
+    private static <F> F generate(MethodHandles.Lookup lookup,
+                                  Class<?> type,
+                                  String name,
+                                  MethodType erased,
+                                  MethodHandle handle,
+                                  MethodType instantiated)
+    {
+        ClassLoader loader = lookup.lookupClass().getClassLoader();
+        if (!visible(loader, handle.type()) || !visible(loader, instantiated))
+            return null;
+        MethodHandle factory;
+        try {
+            factory = LambdaMetafactory
+                    .metafactory(lookup, name, methodType(type), erased, handle, instantiated)
+                    .getTarget();
+        } catch (LambdaConversionException ex) {
+            return null;
+        }
+        try {
+            return (F) factory.invoke();
+        } catch (Throwable ex) {
+            throw rethrow(ex);
+        }
+    }
+
+    private static boolean visible(ClassLoader loader, MethodType type) {
+        for (Class<?> parameter : type.parameterList())
+            if (!visible(loader, parameter))
+                return false;
+        return visible(loader, type.returnType());
+    }
+
+    private static boolean visible(ClassLoader loader, Class<?> type) {
+        if (type.isPrimitive())
+            return true;
+        try {
+            return Class.forName(type.getName(), false, loader) == type;
+        } catch (ClassNotFoundException ex) {
+            return false;
+        }
+    }
+
+        private static Class<?> box(Class<?> type) {
+        return type.isPrimitive()
+                ? methodType(type).wrap().returnType()
+                : type;
+    }
+
+    private static RuntimeException rethrow(Throwable ex) {
+        if (ex instanceof RuntimeException)
+            return (RuntimeException) ex;
+        if (ex instanceof Error)
+            throw (Error) ex;
+        return new IllegalStateException(ex);
+    }
+
+}
@@ -0,0 +1,364 @@
+// SPDX-FileCopyrightText: © 2022 Nikola Vojičić <nikolavojicic@outlook.com>
+// SPDX-License-Identifier: MIT
+
+package io.sourceforge.recipe.bean;
+
+import io.sourceforge.recipe.DoubleRecipe;
+import io.sourceforge.recipe.IntRecipe;
+import io.sourceforge.recipe.LongRecipe;
+import io.sourceforge.recipe.Populator;
+import io.sourceforge.recipe.Recipe;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.*;
+import java.util.function.*;
+
+import static io.sourceforge.recipe.random.RandomSource.current;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Builder of recipes for beans that are created by their no-arg constructor
+ * and filled through their setters.
+ * <p>
+ * The value of each property comes from the recipe set for its name, or else from
+ * the default recipe for its type. There are built-in defaults for primitives, their
+ * wrappers, strings and enums, which can be replaced per type.
+ * <p>
+ * The constructor and setters are resolved once, when the recipe is built, and called
+ * through functions generated by {@link java.lang.invoke.LambdaMetafactory}, so
+ * producing a bean costs the same as a hand-written chain of setter calls. Setters of
+ * {@code int}, {@code long} and {@code double} properties are called without boxing.
+ * Beans from class loaders that the lookup class can't see are called through
+ * method handles instead, which is slower but works across loaders.
+ * Beans that are not accessible from this package need a lookup with access to them.
+ *
+ * <pre>{@code
+ * Recipe<Person> rec = BeanRecipe
+ *     .of(Person.class)
+ *     .withDefault(String.class, Recipe.ofString("abc", () -> 5))
+ *     .with("email", emailRecipe)
+ *     .without("id")
+ *     .build();
+ * }</pre>
+ */
+public final class BeanRecipe<T> {
+
+    private static final String ALPHANUMERIC = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+
+    private static final Map<Class<?>, Class<?>> PRIMITIVES = new HashMap<>();
+
+    static {
+        PRIMITIVES.put(Boolean.class,   boolean.class);
+        PRIMITIVES.put(Byte.class,      byte.class);
+        PRIMITIVES.put(Short.class,     short.class);
+        PRIMITIVES.put(Character.class, char.class);
+        PRIMITIVES.put(Integer.class,   int.class);
+        PRIMITIVES.put(Long.class,      long.class);
+        PRIMITIVES.put(Float.class,     float.class);
+        PRIMITIVES.put(Double.class,    double.class);
+    }
+
+    private final Class<T> type;
+    private final MethodHandles.Lookup lookup;
+    private final Map<Class<?>, Object> defaults = new HashMap<>();
+    private final Map<String, Object> properties = new HashMap<>();
+    private final Set<String> excluded = new HashSet<>();
+
+    private BeanRecipe(Class<T> type, MethodHandles.Lookup lookup) {
+        this.type   = requireNonNull(type);
+        this.lookup = requireNonNull(lookup);
+        defaults.put(boolean.class, (Supplier<Boolean>)   () -> current().nextBoolean());
+        defaults.put(byte.class,    (Supplier<Byte>)      () -> (byte) current().nextInt());
+        defaults.put(short.class,   (Supplier<Short>)     () -> (short) current().nextInt());
+        defaults.put(char.class,    (Supplier<Character>) () -> ALPHANUMERIC.charAt(current().nextInt(ALPHANUMERIC.length())));
+        defaults.put(int.class,     IntRecipe.ints());
+        defaults.put(long.class,    LongRecipe.longs());
+        defaults.put(float.class,   (Supplier<Float>)     () -> (float) current().nextDouble());
+        defaults.put(double.class,  DoubleRecipe.doubles());
+        defaults.put(String.class,  Recipe.ofString(ALPHANUMERIC, () -> 10));
+    }
+
+    /**
+     * @return builder for beans of the public {@code type}
+     * @throws NullPointerException if {@code type} is {@code null}
+     */
+    public static <T> BeanRecipe<T>
+        of
+            (Class<T> type)
+    {
+        return new BeanRecipe<>(type, MethodHandles.lookup());
+    }
+
+    /**
+     * @return builder for beans of the {@code type}, whose constructor and setters
+     *         are resolved with the {@code lookup}
+     * @throws NullPointerException if {@code type} or {@code lookup} is {@code null}
+     */
+    public static <T> BeanRecipe<T>
+        of
+            (Class<T>             type,
+             MethodHandles.Lookup lookup)
+    {
+        return new BeanRecipe<>(type, lookup);
+    }
+
+    /**
+     * @return {@code this} builder with {@code recipe} as the default for properties of the {@code type};
+     *         for primitives, it is also the default for their wrappers and vice versa
+     * @throws NullPointerException if {@code type} or {@code recipe} is {@code null}
+     */
+    public <V> BeanRecipe<T>
+        withDefault
+            (Class<V>              type,
+             Supplier<? extends V> recipe)
+    {
+        requireNonNull(recipe);
+        defaults.put(PRIMITIVES.getOrDefault(requireNonNull(type), type), recipe);
+        return this;
+    }
+
+    /**
+     * @return {@code this} builder with {@code recipe} for the property named {@code name}
+     * @throws NullPointerException if {@code name} or {@code recipe} is {@code null}
+     */
+    public BeanRecipe<T>
+        with
+            (String      name,
+             Supplier<?> recipe)
+    {
+        return property(name, recipe);
+    }
+
+    /**
+     * @return {@code this} builder with {@code recipe} for the {@code int} property named {@code name}
+     * @throws NullPointerException if {@code name} or {@code recipe} is {@code null}
+     */
+    public BeanRecipe<T>
+        withInt
+            (String      name,
+             IntSupplier recipe)
+    {
+        return property(name, recipe);
+    }
+
+    /**
+     * @return {@code this} builder with {@code recipe} for the {@code long} property named {@code name}
+     * @throws NullPointerException if {@code name} or {@code recipe} is {@code null}
+     */
+    public BeanRecipe<T>
+        withLong
+            (String       name,
+             LongSupplier recipe)
+    {
+        return property(name, recipe);
+    }
+
+    /**
+     * @return {@code this} builder with {@code recipe} for the {@code double} property named {@code name}
+     * @throws NullPointerException if {@code name} or {@code recipe} is {@code null}
+     */
+    public BeanRecipe<T>
+        withDouble
+            (String         name,
+             DoubleSupplier recipe)
+    {
+        return property(name, recipe);
+    }
+
+    /**
+     * @return {@code this} builder that leaves the properties named {@code names} unset
+     * @throws NullPointerException if {@code names} is or contains {@code null}
+     */
+    public BeanRecipe<T>
+        without
+            (String... names)
+    {
+        for (String name : names)
+            excluded.add(requireNonNull(name));
+        return this;
+    }
+
+    private BeanRecipe<T> property(String name, Object recipe) {
+        properties.put(requireNonNull(name), requireNonNull(recipe));
+        return this;
+    }
+
+    /**
+     * @return populator that fills the properties of existing beans
+     * @throws IllegalArgumentException if a property has no recipe, a recipe is set for or an exclusion
+     *                                  names a property that doesn't exist, or an {@code int}, {@code long}
+     *                                  or {@code double} recipe is set for a property of another type
+     * @throws IllegalStateException if a setter cannot be accessed with the lookup
+     * @throws ClassCastException (on {@link Populator#populate(Object)}) if a {@link Supplier} set by
+     *                            {@link #with(String, Supplier)} produces a value of another type,
+     *                            which cannot be checked in advance because of erasure
+     */
+    public Populator<T>
+        populator
+            ()
+    {
+        Map<String, Method> setters = setters();
+        for (String name : properties.keySet())
+            if (!setters.containsKey(name))
+                throw new IllegalArgumentException("Unknown property: " + name + ".");
+        for (String name : excluded)
+            if (!setters.containsKey(name))
+                throw new IllegalArgumentException("Unknown excluded property: " + name + ".");
+        Populator<T> populator = Populator.of();
+        for (Map.Entry<String, Method> entry : setters.entrySet()) {
+            String name = entry.getKey();
+            if (excluded.contains(name))
+                continue;
+            Method setter = entry.getValue();
+            Class<?> parameter = setter.getParameterTypes()[0];
+            Object recipe = recipe(name, parameter);
+            check(name, parameter, recipe);
+            populator = stage(populator, name, setter, parameter, recipe);
+        }
+        return populator;
+    }
+
+    /**
+     * @return recipe for new beans created by the no-arg constructor and filled by the {@link #populator()}
+     * @throws IllegalArgumentException if the type has no no-arg constructor, a property has no recipe,
+     *                                  a recipe is set for or an exclusion names a property that doesn't exist,
+     *                                  or an {@code int}, {@code long} or {@code double} recipe is set for
+     *                                  a property of another type
+     * @throws IllegalStateException if the constructor or a setter cannot be accessed with the lookup
+     * @throws ClassCastException (on {@link Recipe#get()}) if a {@link Supplier} set by
+     *                            {@link #with(String, Supplier)} produces a value of another type
+     */
+    public Recipe<T>
+        build
+            ()
+    {
+        Supplier<T> constructor = Accessors.constructor(lookup, type);
+        return populator().fresh(constructor);
+    }
+
+    private Object recipe(String name, Class<?> parameter) {
+        Object recipe = properties.get(name);
+        if (recipe != null)
+            return recipe;
+        Class<?> key = PRIMITIVES.getOrDefault(parameter, parameter);
+        recipe = defaults.get(key);
+        if (recipe != null)
+            return recipe;
+        if (parameter.isEnum())
+            return enumRecipe(parameter);
+        throw new IllegalArgumentException(
+                "No recipe for property " + name + " of type " + parameter.getName() + ".");
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Recipe<?> enumRecipe(Class<?> type) {
+        return Recipe.ofEnum((Class) type);
+    }
+
+    /**
+     * Checks that a primitive recipe produces values of the property type or its wrapper;
+     * object recipes are erased, so they can only be checked by the setter call.
+     */
+    private static void check(String name, Class<?> parameter, Object recipe) {
+        if (recipe instanceof Supplier)
+            return;
+        Class<?> produced = recipe instanceof IntSupplier  ? int.class
+                          : recipe instanceof LongSupplier ? long.class
+                          : double.class;
+        if (parameter != produced && !parameter.isAssignableFrom(wrapper(produced)))
+            throw new IllegalArgumentException(
+                    "Recipe of " + produced + " values for property " + name + " of type " + parameter.getName() + ".");
+    }
+
+    private static Class<?> wrapper(Class<?> primitive) {
+        for (Map.Entry<Class<?>, Class<?>> entry : PRIMITIVES.entrySet())
+            if (entry.getValue() == primitive)
+                return entry.getKey();
+        return primitive;
+    }
+
+    private Populator<T> stage(Populator<T> populator, String name, Method setter, Class<?> parameter, Object recipe) {
+        if (parameter == int.class) {
+            ObjIntConsumer<T> consumer = Accessors.intSetter(lookup, type, setter);
+            return populator.withInt(consumer, intRecipe(name, recipe));
+        }
+        if (parameter == long.class) {
+            ObjLongConsumer<T> consumer = Accessors.longSetter(lookup, type, setter);
+            return populator.withLong(consumer, longRecipe(name, recipe));
+        }
+        if (parameter == double.class) {
+            ObjDoubleConsumer<T> consumer = Accessors.doubleSetter(lookup, type, setter);
+            return populator.withDouble(consumer, doubleRecipe(name, recipe));
+        }
+        BiConsumer<T, Object> consumer = Accessors.setter(lookup, type, setter);
+        return populator.with(consumer, objectRecipe(name, recipe));
+    }
+
+    private static IntSupplier intRecipe(String name, Object recipe) {
+        if (recipe instanceof IntSupplier)
+            return (IntSupplier) recipe;
+        Supplier<?> supplier = objectRecipe(name, recipe);
+        return () -> (Integer) supplier.get();
+    }
+
+    private static LongSupplier longRecipe(String name, Object recipe) {
+        if (recipe instanceof LongSupplier)
+            return (LongSupplier) recipe;
+        Supplier<?> supplier = objectRecipe(name, recipe);
+        return () -> (Long) supplier.get();
+    }
+
+    private static DoubleSupplier doubleRecipe(String name, Object recipe) {
+        if (recipe instanceof DoubleSupplier)
+            return (DoubleSupplier) recipe;
+        Supplier<?> supplier = objectRecipe(name, recipe);
+        return () -> (Double) supplier.get();
+    }
+
+    private static Supplier<?> objectRecipe(String name, Object recipe) {
+        if (recipe instanceof Supplier)
+            return (Supplier<?>) recipe;
+        if (recipe instanceof IntSupplier)
+            return ((IntSupplier) recipe)::getAsInt;
+        if (recipe instanceof LongSupplier)
+            return ((LongSupplier) recipe)::getAsLong;
+        if (recipe instanceof DoubleSupplier)
+            return ((DoubleSupplier) recipe)::getAsDouble;
+        throw new IllegalArgumentException("Unsupported recipe for property " + name + ".");
+    }
+
+    /**
+     * @return public instance setters by property name, sorted so that the order
+     *         in which properties are generated doesn't depend on reflection
+     */
+    private Map<String, Method> setters() {
+        Map<String, Method> setters = new TreeMap<>();
+        Method[] methods = type.getMethods();
+        Arrays.sort(methods, Comparator.comparing(Method::toString));
+        for (Method method : methods) {
+            String name = method.getName();
+            if (Modifier.isStatic(method.getModifiers())
+                    || method.getParameterCount() != 1
+                    || method.isBridge()
+                    || name.length() < 4
+                    || !name.startsWith("set")
+                    || !Character.isUpperCase(name.charAt(3)))
+                continue;
+            setters.putIfAbsent(property(name.substring(3)), method);
+        }
+        return setters;
+    }
+
+    /**
+     * Decapitalizes like {@link java.beans.Introspector#decapitalize(String)},
+     * without depending on the {@code java.desktop} module.
+     */
+    private static String property(String name) {
+        if (name.length() > 1 && Character.isUpperCase(name.charAt(1)))
+            return name;
+        return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+    }
+
+}
@@ -0,0 +1,87 @@
+// SPDX-FileCopyrightText: © 2022 Nikola Vojičić <nikolavojicic@outlook.com>
+// SPDX-License-Identifier: MIT
+
+package io.sourceforge.recipe.column;
+
+import io.sourceforge.recipe.column.Schema.Type;
+
+/**
+ * Rows generated by a {@link Schema}, stored as one array per column.
+ * <p>
+ * Arrays are returned without copying and have the length of the {@linkplain #capacity() capacity};
+ * only the first {@linkplain #size() size} elements hold rows of the batch.
+ * They are overwritten when the batch is {@linkplain Schema#fill(Batch, int) refilled}.
+ */
+public final class Batch {
+
+    private final Schema schema;
+    final Object[] arrays;
+    private final int capacity;
+    int size;
+
+    Batch(Schema schema, Object[] arrays, int capacity) {
+        this.schema   = schema;
+        this.arrays   = arrays;
+        this.capacity = capacity;
+    }
+
+    public Schema schema() {
+        return schema;
+    }
+
+    /**
+     * @return number of rows in {@code this} batch
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return maximum number of rows {@code this} batch can hold
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * @return array of the {@code int} column named {@code name}
+     * @throws NullPointerException if {@code name} is {@code null}
+     * @throws IllegalArgumentException if there is no {@code int} column named {@code name}
+     */
+    public int[] ints(String name) {
+        return (int[]) arrays[schema.index(name, Type.INT)];
+    }
+
+    /**
+     * @return array of the {@code long} column named {@code name}
+     * @throws NullPointerException if {@code name} is {@code null}
+     * @throws IllegalArgumentException if there is no {@code long} column named {@code name}
+     */
+    public long[] longs(String name) {
+        return (long[]) arrays[schema.index(name, Type.LONG)];
+    }
+
+    /**
+     * @return array of the {@code double} column named {@code name}
+     * @throws NullPointerException if {@code name} is {@code null}
+     * @throws IllegalArgumentException if there is no {@code double} column named {@code name}
+     */
+    public double[] doubles(String name) {
+        return (double[]) arrays[schema.index(name, Type.DOUBLE)];
+    }
+
+    /**
+     * @return array of the object column named {@code name}, whose values are of the {@code type}
+     * @throws NullPointerException if {@code name} or {@code type} is {@code null}
+     * @throws IllegalArgumentException if there is no object column named {@code name}
+     *                                  declared with the {@code type}
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T[] objects(String name, Class<T> type) {
+        int index = schema.index(name, Type.OBJECT);
+        if (schema.component(index) != type)
+            throw new IllegalArgumentException("Not a column of " + type.getSimpleName() + ": " + name + ".");
+        return (T[]) arrays[index];
+    }
+
+}
@@ -0,0 +1,412 @@
+// SPDX-FileCopyrightText: © 2022 Nikola Vojičić <nikolavojicic@outlook.com>
+// SPDX-License-Identifier: MIT
+
+package io.sourceforge.recipe.column;
+
+import io.sourceforge.recipe.util.Pair;
+
+import java.lang.reflect.Array;
+import java.util.*;
+import java.util.function.*;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Named column recipes that generate batches of rows column by column,
+ * into one array per column, without allocating an object per row.
+ * <p>
+ * Columns are filled in declaration order; zipped columns are computed
+ * from columns declared before them, after those are filled.
+ *
+ * <pre>{@code
+ * Schema schema = Schema.builder()
+ *     .ints("quantity", IntRecipe.ints(1, 10))
+ *     .doubles("price", DoubleRecipe.doubles(1, 100))
+ *     .zipDoubles("total", "quantity", "price", (q, p) -> q * p)
+ *     .objects("sku", String.class, skuRecipe)
+ *     .build();
+ *
+ * Batch batch = schema.batch(10_000);
+ * double[] totals = batch.doubles("total");
+ * }</pre>
+ */
+public final class Schema {
+
+    enum Type {
+
+        INT(int.class), LONG(long.class), DOUBLE(double.class), OBJECT(Object.class);
+
+        final Class<?> component;
+
+        Type(Class<?> component) {
+            this.component = component;
+        }
+
+    }
+
+    private final Column[] columns;
+    private final Map<String, Integer> indexes;
+
+    private Schema(List<Column> columns) {
+        this.columns = columns.toArray(new Column[0]);
+        Map<String, Integer> indexes = new HashMap<>();
+        for (int i = 0; i < this.columns.length; i++)
+            indexes.put(this.columns[i].name, i);
+        this.indexes = indexes;
+    }
+
+    /**
+     * @return new builder of an empty schema
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return names of the columns in declaration order
+     */
+    public List<String> columns() {
+        List<String> names = new ArrayList<>(columns.length);
+        for (Column column : columns)
+            names.add(column.name);
+        return Collections.unmodifiableList(names);
+    }
+
+    /**
+     * @return new batch of {@code rows} generated rows
+     * @throws IllegalArgumentException if {@code rows} is negative
+     */
+    public Batch batch(int rows) {
+        return fill(newBatch(rows), rows);
+    }
+
+    /**
+     * @return new empty batch that can hold up to {@code capacity} rows
+     * @throws IllegalArgumentException if {@code capacity} is negative
+     */
+    public Batch newBatch(int capacity) {
+        if (capacity < 0)
+            throw new IllegalArgumentException("Negative capacity.");
+        Object[] arrays = new Object[columns.length];
+        for (int i = 0; i < columns.length; i++)
+            arrays[i] = Array.newInstance(columns[i].component, capacity);
+        return new Batch(this, arrays, capacity);
+    }
+
+    /**
+     * Replaces the contents of {@code batch} with {@code rows} generated rows, reusing its arrays.
+     *
+     * @return given {@code batch}
+     * @throws NullPointerException if {@code batch} is {@code null}
+     * @throws IllegalArgumentException if {@code batch} was not created by {@code this} schema,
+     *                                  or {@code rows} is negative or greater than its capacity
+     */
+    public Batch fill(Batch batch, int rows) {
+        if (batch.schema() != this)
+            throw new IllegalArgumentException("Batch of another schema.");
+        if (rows < 0 || rows > batch.capacity())
+            throw new IllegalArgumentException("Rows out of capacity.");
+        for (int i = 0; i < columns.length; i++)
+            columns[i].fill(batch.arrays, rows);
+        batch.size = rows;
+        return batch;
+    }
+
+    int index(String name, Type type) {
+        Integer index = indexes.get(requireNonNull(name));
+        if (index == null)
+            throw new IllegalArgumentException("Unknown column: " + name + ".");
+        if (columns[index].type != type)
+            throw new IllegalArgumentException("Not a column of " + type.name().toLowerCase() + "s: " + name + ".");
+        return index;
+    }
+
+    Class<?> component(int index) {
+        return columns[index].component;
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner joiner = new StringJoiner(", ", "Schema[", "]");
+        for (Column column : columns)
+            joiner.add(column.name + ":" + column.component.getSimpleName());
+        return joiner.toString();
+    }
+
+    // ---------------- COLUMNS ----------------
+
+    private abstract static class Column {
+
+        final String name;
+        final Type type;
+        final Class<?> component;
+
+        Column(String name, Type type, Class<?> component) {
+            this.name      = name;
+            this.type      = type;
+            this.component = component;
+        }
+
+        abstract void fill(Object[] arrays, int rows);
+
+    }
+
+    /**
+     * Builder of a {@link Schema}, not thread-safe.
+     */
+    public static final class Builder {
+
+        private final List<Column> columns = new ArrayList<>();
+        private final Map<String, Integer> indexes = new HashMap<>();
+
+        private Builder() {
+        }
+
+        /**
+         * @return {@code this} builder with a column of {@code int} values produced by {@code recipe}
+         * @throws NullPointerException if {@code name} or {@code recipe} is {@code null}
+         * @throws IllegalArgumentException if a column named {@code name} already exists
+         */
+        public Builder ints(String name, IntSupplier recipe) {
+            requireNonNull(recipe);
+            int index = next(name);
+            return add(new Column(name, Type.INT, int.class) {
+                @Override
+                void fill(Object[] arrays, int rows) {
+                    int[] array = (int[]) arrays[index];
+                    for (int i = 0; i < rows; i++)
+                        array[i] = recipe.getAsInt();
+                }
+            });
+        }
+
+        /**
+         * @return {@code this} builder with a column of {@code long} values produced by {@code recipe}
+         * @throws NullPointerException if {@code name} or {@code recipe} is {@code null}
+         * @throws IllegalArgumentException if a column named {@code name} already exists
+         */
+        public Builder longs(String name, LongSupplier recipe) {
+            requireNonNull(recipe);
+            int index = next(name);
+            return add(new Column(name, Type.LONG, long.class) {
+                @Override
+                void fill(Object[] arrays, int rows) {
+                    long[] array = (long[]) arrays[index];
+                    for (int i = 0; i < rows; i++)
+                        array[i] = recipe.getAsLong();
+                }
+            });
+        }
+
+        /**
+         * @return {@code this} builder with a column of {@code double} values produced by {@code recipe}
+         * @throws NullPointerException if {@code name} or {@code recipe} is {@code null}
+         * @throws IllegalArgumentException if a column named {@code name} already exists
+         */
+        public Builder doubles(String name, DoubleSupplier recipe) {
+            requireNonNull(recipe);
+            int index = next(name);
+            return add(new Column(name, Type.DOUBLE, double.class) {
+                @Override
+                void fill(Object[] arrays, int rows) {
+                    double[] array = (double[]) arrays[index];
+                    for (int i = 0; i < rows; i++)
+                        array[i] = recipe.getAsDouble();
+                }
+            });
+        }
+
+        /**
+         * @return {@code this} builder with a column of {@code type} values produced by {@code recipe}
+         * @throws NullPointerException if {@code name}, {@code type} or {@code recipe} is {@code null}
+         * @throws IllegalArgumentException if a column named {@code name} already exists
+         *                                  or {@code type} is primitive
+         */
+        public <T> Builder objects(String name, Class<T> type, Supplier<? extends T> recipe) {
+            requireNonNull(recipe);
+            Class<?> component = reference(type);
+            int index = next(name);
+            return add(new Column(name, Type.OBJECT, component) {
+                @Override
+                void fill(Object[] arrays, int rows) {
+                    Object[] array = (Object[]) arrays[index];
+                    for (int i = 0; i < rows; i++)
+                        array[i] = recipe.get();
+                }
+            });
+        }
+
+        /**
+         * @return {@code this} builder with two columns, of the first and second elements
+         *         of the pairs produced by {@code recipe}
+         * @throws NullPointerException if any argument is {@code null}
+         * @throws IllegalArgumentException if a column named {@code first} or {@code second} already exists,
+         *                                  they are equal or any type is primitive
+         */
+        public <T, U> Builder split(String first,
+                                    Class<T> firstType,
+                                    String second,
+                                    Class<U> secondType,
+                                    Supplier<? extends Pair<? extends T, ? extends U>> recipe)
+        {
+            requireNonNull(recipe);
+            Class<?> firstComponent = reference(firstType);
+            Class<?> secondComponent = reference(secondType);
+            int firstIndex = next(first);
+            int secondIndex = next(second) + 1;
+            if (first.equals(second))
+                throw new IllegalArgumentException("Duplicate column: " + second + ".");
+            add(new Column(first, Type.OBJECT, firstComponent) {
+                @Override
+                void fill(Object[] arrays, int rows) {
+                    Object[] firsts = (Object[]) arrays[firstIndex];
+                    Object[] seconds = (Object[]) arrays[secondIndex];
+                    for (int i = 0; i < rows; i++) {
+                        Pair<? extends T, ? extends U> pair = recipe.get();
+                        firsts[i] = pair.first();
+                        seconds[i] = pair.second();
+                    }
+                }
+            });
+            // filled together with the first column
+            return add(new Column(second, Type.OBJECT, secondComponent) {
+                @Override
+                void fill(Object[] arrays, int rows) {
+                }
+            });
+        }
+
+        /**
+         * @return {@code this} builder with a column of {@code int} values computed by {@code zipper}
+         *         from the rows of two {@code int} columns declared before
+         * @throws NullPointerException if any argument is {@code null}
+         * @throws IllegalArgumentException if a column named {@code name} already exists, or
+         *                                  {@code left} or {@code right} is not a declared {@code int} column
+         */
+        public Builder zipInts(String name, String left, String right, IntBinaryOperator zipper) {
+            requireNonNull(zipper);
+            int l = input(left, Type.INT);
+            int r = input(right, Type.INT);
+            int index = next(name);
+            return add(new Column(name, Type.INT, int.class) {
+                @Override
+                void fill(Object[] arrays, int rows) {
+                    int[] xs = (int[]) arrays[l];
+                    int[] ys = (int[]) arrays[r];
+                    int[] array = (int[]) arrays[index];
+                    for (int i = 0; i < rows; i++)
+                        array[i] = zipper.applyAsInt(xs[i], ys[i]);
+                }
+            });
+        }
+
+        /**
+         * @return {@code this} builder with a column of {@code long} values computed by {@code zipper}
+         *         from the rows of two {@code long} columns declared before
+         * @throws NullPointerException if any argument is {@code null}
+         * @throws IllegalArgumentException if a column named {@code name} already exists, or
+         *                                  {@code left} or {@code right} is not a declared {@code long} column
+         */
+        public Builder zipLongs(String name, String left, String right, LongBinaryOperator zipper) {
+            requireNonNull(zipper);
+            int l = input(left, Type.LONG);
+            int r = input(right, Type.LONG);
+            int index = next(name);
+            return add(new Column(name, Type.LONG, long.class) {
+                @Override
+                void fill(Object[] arrays, int rows) {
+                    long[] xs = (long[]) arrays[l];
+                    long[] ys = (long[]) arrays[r];
+                    long[] array = (long[]) arrays[index];
+                    for (int i = 0; i < rows; i++)
+                        array[i] = zipper.applyAsLong(xs[i], ys[i]);
+                }
+            });
+        }
+
+        /**
+         * @return {@code this} builder with a column of {@code double} values computed by {@code zipper}
+         *         from the rows of two numeric columns declared before
+         * @throws NullPointerException if any argument is {@code null}
+         * @throws IllegalArgumentException if a column named {@code name} already exists, or
+         *                                  {@code left} or {@code right} is not a declared primitive column
+         */
+        public Builder zipDoubles(String name, String left, String right, DoubleBinaryOperator zipper) {
+            requireNonNull(zipper);
+            int l = numeric(left);
+            int r = numeric(right);
+            Type lt = columns.get(l).type;
+            Type rt = columns.get(r).type;
+            int index = next(name);
+            return add(new Column(name, Type.DOUBLE, double.class) {
+                @Override
+                void fill(Object[] arrays, int rows) {
+                    double[] array = (double[]) arrays[index];
+                    Object xs = arrays[l];
+                    Object ys = arrays[r];
+                    for (int i = 0; i < rows; i++)
+                        array[i] = zipper.applyAsDouble(value(xs, lt, i), value(ys, rt, i));
+                }
+            });
+        }
+
+        /**
+         * @return new schema with the columns declared so far
+         */
+        public Schema build() {
+            return new Schema(columns);
+        }
+
+        /**
+         * @return index that the column named {@code name} will have, which is
+         *         registered by {@link #add(Column)} after all arguments are validated
+         */
+        private int next(String name) {
+            requireNonNull(name);
+            if (indexes.containsKey(name))
+                throw new IllegalArgumentException("Duplicate column: " + name + ".");
+            return columns.size();
+        }
+
+        private Builder add(Column column) {
+            indexes.put(column.name, columns.size());
+            columns.add(column);
+            return this;
+        }
+
+        private int input(String name, Type type) {
+            Integer index = indexes.get(requireNonNull(name));
+            if (index == null || columns.get(index).type != type)
+                throw new IllegalArgumentException(
+                        "Not a declared column of " + type.name().toLowerCase() + "s: " + name + ".");
+            return index;
+        }
+
+        private int numeric(String name) {
+            Integer index = indexes.get(requireNonNull(name));
+            if (index == null || columns.get(index).type == Type.OBJECT)
+                throw new IllegalArgumentException("Not a declared primitive column: " + name + ".");
+            return index;
+        }
+
+        /**
+         * @return element {@code i} of the {@code array} of a numeric column of the {@code type},
+         *         read in place so that zipping doesn't copy the column
+         */
+        private static double value(Object array, Type type, int i) {
+            if (type == Type.INT)
+                return ((int[]) array)[i];
+            if (type == Type.LONG)
+                return ((long[]) array)[i];
+            return ((double[]) array)[i];
+        }
+
+        private static Class<?> reference(Class<?> type) {
+            if (type.isPrimitive())
+                throw new IllegalArgumentException("Primitive type: " + type + ".");
+            return type;
+        }
+
+    }
+
+}
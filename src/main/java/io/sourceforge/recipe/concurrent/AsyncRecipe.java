@@ -0,0 +1,127 @@
+// SPDX-FileCopyrightText: © 2022 Nikola Vojičić <nikolavojicic@outlook.com>
+// SPDX-License-Identifier: MIT
+
+package io.sourceforge.recipe.concurrent;
+
+import io.sourceforge.recipe.Recipe;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Recipe whose values are produced asynchronously, for recipes whose
+ * functions block on I/O. Composition with {@link #map} and {@link #bind}
+ * never blocks a thread while waiting for a value.
+ *
+ * @see Recipe#async(Executor)
+ */
+@FunctionalInterface
+public interface AsyncRecipe<T> extends Supplier<CompletableFuture<T>> {
+
+    /**
+     * @return recipe that applies {@code mapper} to the values produced by {@code this} recipe
+     * @throws NullPointerException if {@code mapper} is {@code null}
+     */
+    default <R> AsyncRecipe<R>
+        map
+            (Function<? super   T,
+                      ? extends R> mapper)
+    {
+        requireNonNull(mapper);
+        return () -> get().thenApply(mapper);
+    }
+
+    /**
+     * @return recipe that applies {@code binder} to the values:<br/>
+     *         1. produced by {@code this} recipe<br/>
+     *         2. completed by the stage produced by the recipe returned by {@code recipeFn}, given the value from 1.
+     * @throws NullPointerException if {@code recipeFn} or {@code binder} is {@code null}
+     */
+    default <U, R> AsyncRecipe<R>
+        bind
+            (Function  <? super   T,
+                        ? extends Supplier<? extends CompletionStage<? extends U>>> recipeFn,
+             BiFunction<? super   T,
+                        ? super   U,
+                        ? extends R> binder)
+    {
+        requireNonNull(recipeFn);
+        requireNonNull(binder);
+        return () -> get().thenCompose(value -> recipeFn
+                .apply(value)
+                .get()
+                .thenApply(other -> binder.apply(value, other)));
+    }
+
+    /**
+     * @return future of a list of {@code size} values produced concurrently by {@code this} recipe
+     * @throws IllegalArgumentException if {@code size} is negative
+     */
+    default CompletableFuture<List<T>>
+        take
+            (int size)
+    {
+        if (size < 0)
+            throw new IllegalArgumentException("Negative size.");
+        @SuppressWarnings("unchecked") // holds only the futures of this recipe
+        CompletableFuture<T>[] futures = (CompletableFuture<T>[]) new CompletableFuture<?>[size];
+        for (int i = 0; i < size; i++)
+            futures[i] = get();
+        return CompletableFuture
+                .allOf(futures)
+                .thenApply(__ -> {
+                    Object[] values = new Object[size];
+                    for (int i = 0; i < size; i++)
+                        values[i] = futures[i].join();
+                    @SuppressWarnings("unchecked")
+                    List<T> list = (List<T>) Arrays.asList(values);
+                    return list;
+                });
+    }
+
+    /**
+     * @return recipe that blocks until the values of {@code this} recipe are available
+     */
+    default Recipe<T>
+        join
+            ()
+    {
+        return () -> get().join();
+    }
+
+    // ---------------- FACTORIES ----------------
+
+    /**
+     * @return recipe that produces values of {@code recipe} on the {@code executor}
+     * @throws NullPointerException if {@code recipe} or {@code executor} is {@code null}
+     */
+    static <T> AsyncRecipe<T>
+        of
+            (Supplier<? extends T> recipe,
+             Executor              executor)
+    {
+        requireNonNull(recipe);
+        requireNonNull(executor);
+        return () -> CompletableFuture.supplyAsync(recipe::get, executor);
+    }
+
+    /**
+     * @return executor that starts a new virtual thread for each task on Java 21 or higher,
+     *         otherwise {@link java.util.concurrent.ForkJoinPool#commonPool()}
+     */
+    static Executor
+        defaultExecutor
+            ()
+    {
+        return DefaultExecutor.INSTANCE;
+    }
+
+}
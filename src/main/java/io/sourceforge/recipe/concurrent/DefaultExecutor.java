@@ -0,0 +1,50 @@
+// SPDX-FileCopyrightText: © 2022 Nikola Vojičić <nikolavojicic@outlook.com>
+// SPDX-License-Identifier: MIT
+
+package io.sourceforge.recipe.concurrent;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Holds the executor used by {@link AsyncRecipe#defaultExecutor()}, resolved
+ * reflectively so that the library still runs on Java 8.
+ */
+final class DefaultExecutor {
+
+    static final Executor INSTANCE = create();
+
+    private DefaultExecutor() {
+        throw new AssertionError();
+    }
+
+    private static Executor create() {
+        MethodHandle factory;
+        try {
+            factory = MethodHandles
+                    .publicLookup()
+                    .findStatic(Executors.class,
+                                "newVirtualThreadPerTaskExecutor",
+                                MethodType.methodType(ExecutorService.class));
+        } catch (ReflectiveOperationException ex) {
+            // virtual threads are not available before Java 21
+            return ForkJoinPool.commonPool();
+        }
+        try {
+            return (ExecutorService) factory.invoke();
+        } catch (UnsupportedOperationException ex) {
+            // preview feature on Java 19 and 20
+            return ForkJoinPool.commonPool();
+        } catch (RuntimeException | Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+}
@@ -0,0 +1,297 @@
+// SPDX-FileCopyrightText: © 2022 Nikola Vojičić <nikolavojicic@outlook.com>
+// SPDX-License-Identifier: MIT
+
+package io.sourceforge.recipe.concurrent;
+
+import io.sourceforge.recipe.Recipe;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Recipe backed by a bounded ring buffer that producer tasks keep filled
+ * with values of another recipe, so consumers get values in near-constant time.
+ * <p>
+ * When the buffer is full, producers {@linkplain Backoff back off}, by default
+ * parking for exponentially longer periods, up to {@link #MAX_PARK_NANOS}. When
+ * it is empty, consumers either {@linkplain WhenEmpty#GENERATE generate} the value
+ * themselves or {@linkplain WhenEmpty#WAIT wait} for a producer, backing off the
+ * same way; either way it is counted as a {@linkplain #starvations() starvation}.
+ * <p>
+ * Exceptions thrown by the recipe are rethrown to the consumer that takes them
+ * from the buffer. {@link #close()} stops the producers and discards the buffer.
+ *
+ * @see Recipe#prefetched(int, Executor)
+ */
+public final class PrefetchedRecipe<T> implements Recipe<T>, AutoCloseable {
+
+    /**
+     * Upper bound of the time a full producer or a waiting consumer parks at once with the default backoff.
+     */
+    public static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /**
+     * Largest capacity of the buffer; capacities are rounded up to a power of two.
+     */
+    public static final int MAX_CAPACITY = 1 << 30;
+
+    /**
+     * What consumers do when the buffer is empty.
+     */
+    public enum WhenEmpty {
+
+        /**
+         * Produce the value on the consumer thread.
+         */
+        GENERATE,
+
+        /**
+         * Wait until a producer adds a value.
+         */
+        WAIT
+
+    }
+
+    /**
+     * What producers do when the buffer is full, and waiting consumers when it is empty.
+     */
+    @FunctionalInterface
+    public interface Backoff {
+
+        /**
+         * Called for the {@code attempt}-th time in a row (starting from one)
+         * that the buffer was found full or empty.
+         */
+        void idle(int attempt);
+
+        /**
+         * @return backoff that parks for {@code minNanos}, doubled on each attempt up to {@code maxNanos}
+         * @throws IllegalArgumentException if {@code minNanos} is not positive
+         *                                  or {@code maxNanos} is less than {@code minNanos}
+         */
+        static Backoff exponential(long minNanos, long maxNanos) {
+            if (minNanos <= 0)
+                throw new IllegalArgumentException("Min nanos must be positive.");
+            if (maxNanos < minNanos)
+                throw new IllegalArgumentException("Max nanos must not be less than min nanos.");
+            int maxShift = Long.numberOfLeadingZeros(minNanos) - 1;
+            return attempt -> LockSupport.parkNanos(Math.min(maxNanos, minNanos << Math.min(attempt - 1, maxShift)));
+        }
+
+        /**
+         * @return backoff that yields the thread, for dedicated producer threads
+         *         that should react to consumers as fast as possible
+         */
+        static Backoff yielding() {
+            return attempt -> Thread.yield();
+        }
+
+    }
+
+    private static final Backoff DEFAULT_BACKOFF = Backoff.exponential(1_000, MAX_PARK_NANOS);
+
+    private static final Object NULL = new Object();
+
+    private final Supplier<? extends T> recipe;
+    private final RingBuffer<Object> buffer;
+    private final WhenEmpty whenEmpty;
+    private final Backoff backoff;
+    private final LongAdder starvations = new LongAdder();
+    private final LongAdder produced = new LongAdder();
+    private final ConcurrentHashMap.KeySetView<Thread, Boolean> producers = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger running = new AtomicInteger();
+    private volatile boolean closed;
+
+    private PrefetchedRecipe(Supplier<? extends T> recipe, int capacity, WhenEmpty whenEmpty, Backoff backoff) {
+        this.recipe    = recipe;
+        this.buffer    = new RingBuffer<>(capacity);
+        this.whenEmpty = whenEmpty;
+        this.backoff   = backoff;
+    }
+
+    /**
+     * @return recipe for values of {@code recipe} prefetched into a buffer of at least {@code capacity}
+     *         values by {@code producers} tasks submitted to the {@code executor}
+     * @throws NullPointerException if {@code recipe}, {@code executor} or {@code whenEmpty} is {@code null}
+     * @throws IllegalArgumentException if {@code capacity} or {@code producers} is not positive,
+     *                                  or {@code capacity} is greater than {@link #MAX_CAPACITY}
+     */
+    public static <T> PrefetchedRecipe<T> of(Supplier<? extends T> recipe,
+                                             int capacity,
+                                             int producers,
+                                             Executor executor,
+                                             WhenEmpty whenEmpty)
+    {
+        return of(recipe, capacity, producers, executor, whenEmpty, DEFAULT_BACKOFF);
+    }
+
+    /**
+     * @return recipe for values of {@code recipe} prefetched into a buffer of at least {@code capacity}
+     *         values by {@code producers} tasks submitted to the {@code executor}, which idle
+     *         with the {@code backoff} while the buffer is full
+     * @throws NullPointerException if {@code recipe}, {@code executor}, {@code whenEmpty}
+     *                              or {@code backoff} is {@code null}
+     * @throws IllegalArgumentException if {@code capacity} or {@code producers} is not positive,
+     *                                  or {@code capacity} is greater than {@link #MAX_CAPACITY}
+     */
+    public static <T> PrefetchedRecipe<T> of(Supplier<? extends T> recipe,
+                                             int capacity,
+                                             int producers,
+                                             Executor executor,
+                                             WhenEmpty whenEmpty,
+                                             Backoff backoff)
+    {
+        requireNonNull(recipe);
+        requireNonNull(executor);
+        requireNonNull(whenEmpty);
+        requireNonNull(backoff);
+        if (capacity <= 0)
+            throw new IllegalArgumentException("Capacity must be positive.");
+        if (capacity > MAX_CAPACITY)
+            throw new IllegalArgumentException("Capacity must not be greater than " + MAX_CAPACITY + ".");
+        if (producers <= 0)
+            throw new IllegalArgumentException("Producers must be positive.");
+        PrefetchedRecipe<T> rec = new PrefetchedRecipe<>(recipe, capacity, whenEmpty, backoff);
+        for (int i = 0; i < producers; i++)
+            executor.execute(rec::produce);
+        return rec;
+    }
+
+    private void produce() {
+        Thread thread = Thread.currentThread();
+        // counted before checking closed, so that close() either waits for this producer or is seen by it
+        running.incrementAndGet();
+        producers.add(thread);
+        try {
+            int attempt = 0;
+            Object value = null;
+            while (!closed) {
+                if (value == null)
+                    value = generate();
+                if (buffer.offer(value)) {
+                    produced.increment();
+                    value = null;
+                    attempt = 0;
+                } else {
+                    backoff.idle(++attempt);
+                }
+            }
+        } finally {
+            producers.remove(thread);
+            synchronized (running) {
+                if (running.decrementAndGet() == 0)
+                    running.notifyAll();
+            }
+        }
+    }
+
+    private Object generate() {
+        try {
+            T value = recipe.get();
+            return value == null ? NULL : value;
+        } catch (RuntimeException | Error ex) {
+            return new Failure(ex);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get() {
+        if (closed)
+            throw new IllegalStateException("Closed.");
+        Object value = buffer.poll();
+        if (value == null) {
+            starvations.increment();
+            if (whenEmpty == WhenEmpty.GENERATE)
+                return recipe.get();
+            int attempt = 0;
+            while ((value = buffer.poll()) == null) {
+                if (closed)
+                    throw new IllegalStateException("Closed.");
+                backoff.idle(++attempt);
+            }
+        }
+        if (value == NULL)
+            return null;
+        if (value instanceof Failure)
+            throw ((Failure) value).rethrow();
+        return (T) value;
+    }
+
+    /**
+     * @return approximate number of values in the buffer
+     */
+    public int depth() {
+        return buffer.size();
+    }
+
+    /**
+     * @return capacity of the buffer, the requested capacity rounded up to a power of two
+     */
+    public int capacity() {
+        return buffer.capacity();
+    }
+
+    /**
+     * @return number of times a consumer found the buffer empty
+     */
+    public long starvations() {
+        return starvations.sum();
+    }
+
+    /**
+     * @return number of values added to the buffer by producers
+     */
+    public long produced() {
+        return produced.sum();
+    }
+
+    /**
+     * Stops the producers and waits until those that are running finish the value they
+     * are generating, then discards the values remaining in the buffer; subsequent calls
+     * of {@link #get()} throw {@link IllegalStateException}. If the calling thread is
+     * interrupted while waiting, returns early with the interrupt status set.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        for (Thread producer : producers)
+            LockSupport.unpark(producer);
+        synchronized (running) {
+            while (running.get() > 0) {
+                try {
+                    running.wait();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+        while (buffer.poll() != null)
+            ;
+    }
+
+    private static final class Failure {
+
+        private final Throwable cause;
+
+        Failure(Throwable cause) {
+            this.cause = cause;
+        }
+
+        RuntimeException rethrow() {
+            if (cause instanceof Error)
+                throw (Error) cause;
+            throw (RuntimeException) cause;
+        }
+
+    }
+
+}
@@ -0,0 +1,58 @@
+// SPDX-FileCopyrightText: © 2022 Nikola Vojičić <nikolavojicic@outlook.com>
+// SPDX-License-Identifier: MIT
+
+package io.sourceforge.recipe.dedup;
+
+import io.sourceforge.recipe.random.SplitMixRandom;
+
+/**
+ * Bloom filter of {@code long} keys that derives its bit indexes by
+ * double hashing two mixes of the key.
+ */
+final class BloomFilter implements KeySet {
+
+    private final long[] words;
+    private final long bits;
+    private final int hashes;
+
+    BloomFilter(long expected, double falsePositiveRate) {
+        if (expected <= 0)
+            throw new IllegalArgumentException("Expected keys must be positive.");
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1))
+            throw new IllegalArgumentException("False positive rate must be between zero and one.");
+        double ln2 = Math.log(2);
+        double optimal = Math.ceil(-expected * Math.log(falsePositiveRate) / (ln2 * ln2));
+        long words = (long) Math.ceil(Math.max(64, optimal) / 64);
+        if (words > Integer.MAX_VALUE - 8)
+            throw new IllegalArgumentException("Too many expected keys.");
+        this.words  = new long[(int) words];
+        this.bits   = words * 64;
+        this.hashes = (int) Math.max(1, Math.min(30, Math.round((double) bits / expected * ln2)));
+    }
+
+    @Override
+    public boolean add(long key) {
+        long h1 = SplitMixRandom.mix64(key);
+        long h2 = SplitMixRandom.mix64(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        boolean added = false;
+        for (int i = 0; i < hashes; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, bits);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            if ((words[word] & mask) == 0) {
+                words[word] |= mask;
+                added = true;
+            }
+        }
+        return added;
+    }
+
+    int hashes() {
+        return hashes;
+    }
+
+    long bits() {
+        return bits;
+    }
+
+}
@@ -0,0 +1,211 @@
+// SPDX-FileCopyrightText: © 2022 Nikola Vojičić <nikolavojicic@outlook.com>
+// SPDX-License-Identifier: MIT
+
+package io.sourceforge.recipe.dedup;
+
+import io.sourceforge.recipe.Recipe;
+import io.sourceforge.recipe.exception.RecipeFilterException;
+import io.sourceforge.recipe.metrics.Metrics;
+import io.sourceforge.recipe.random.SplitMixRandom;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Strategy that remembers the values produced by a {@linkplain Recipe#distinct(Dedup) distinct}
+ * recipe, so that no value is produced twice.
+ * <p>
+ * Values are remembered either themselves, compared by {@link Object#equals(Object)}, or by
+ * their 64-bit keys. Keys are stored in primitive structures, either exactly in an
+ * open-addressing hash set, or approximately in a Bloom filter, which take much less memory
+ * than the values. All strategies never let a duplicate through; a new value is retried when
+ * its key was already seen, which with approximate strategies (and with keys that are not
+ * unique) also happens for a small fraction of new values.
+ * <p>
+ * Retries are counted separately from filter rejections, both here and in
+ * {@linkplain Metrics named recipe metrics}. Strategies are not thread-safe,
+ * unless created by one of the {@code concurrent*} factories.
+ */
+public final class Dedup<T> {
+
+    private final Predicate<? super T> seen;
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder retries  = new LongAdder();
+    private final LongAdder failed   = new LongAdder();
+
+    private Dedup(Predicate<? super T> seen) {
+        this.seen = seen;
+    }
+
+    private static <T> Dedup<T> keyed(ToLongFunction<? super T> key, KeySet keys) {
+        requireNonNull(key);
+        return new Dedup<>(value -> !keys.add(key.applyAsLong(value)));
+    }
+
+    /**
+     * @return value produced by {@code recipe} whose key wasn't seen before
+     * @throws RecipeFilterException (without stack trace) if all {@code maxTries} values had keys seen before
+     */
+    public <V extends T> V next(Supplier<? extends V> recipe, int maxTries) {
+        int tries = 0;
+        while (tries < maxTries) {
+            V value = recipe.get();
+            if (!seen.test(value)) {
+                accepted.increment();
+                if (tries > 0) {
+                    retries.add(tries);
+                    Metrics.recordRetries(tries);
+                }
+                return value;
+            }
+            tries++;
+        }
+        retries.add(tries);
+        failed.increment();
+        Metrics.recordRetries(tries);
+        throw new RecipeFilterException(
+                "Couldn't produce a distinct value after " + maxTries + " tries.", false);
+    }
+
+    /**
+     * @return number of distinct values produced
+     */
+    public long accepted() {
+        return accepted.sum();
+    }
+
+    /**
+     * @return number of values discarded because their keys were seen before
+     */
+    public long retries() {
+        return retries.sum();
+    }
+
+    /**
+     * @return number of times a distinct recipe ran out of tries
+     */
+    public long failed() {
+        return failed.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "Dedup[accepted=" + accepted()
+                + ", retries=" + retries()
+                + ", failed=" + failed() + ']';
+    }
+
+    // ---------------- FACTORIES ----------------
+
+    /**
+     * @return strategy that stores the values in a hash set, which is not thread-safe
+     */
+    public static <T> Dedup<T> equality() {
+        Set<T> values = new HashSet<>();
+        return new Dedup<T>(value -> !values.add(value));
+    }
+
+    /**
+     * @return thread-safe variant of {@link #equality()}
+     */
+    public static <T> Dedup<T> concurrentEquality() {
+        Set<T> values = ConcurrentHashMap.newKeySet();
+        return new Dedup<T>(value -> !values.add(value));
+    }
+
+    /**
+     * @return strategy that stores the keys exactly in a primitive hash set, which is not thread-safe;
+     *         distinct values with equal keys are treated as duplicates
+     * @throws NullPointerException if {@code key} is {@code null}
+     */
+    public static <T> Dedup<T> exact(ToLongFunction<? super T> key) {
+        return keyed(key, new LongHashSet());
+    }
+
+    /**
+     * @return strategy that stores the keys in a Bloom filter sized for {@code expected} keys,
+     *         which discards new values with probability {@code falsePositiveRate} at that size
+     * @throws NullPointerException if {@code key} is {@code null}
+     * @throws IllegalArgumentException if {@code expected} is not positive or
+     *                                  {@code falsePositiveRate} is not between zero and one (exclusive)
+     */
+    public static <T> Dedup<T> approximate(ToLongFunction<? super T> key, long expected, double falsePositiveRate) {
+        return keyed(key, new BloomFilter(expected, falsePositiveRate));
+    }
+
+    /**
+     * @return thread-safe variant of {@link #exact(ToLongFunction)} that spreads the keys over
+     *         {@code stripes} independently locked sets
+     * @throws NullPointerException if {@code key} is {@code null}
+     * @throws IllegalArgumentException if {@code stripes} is not positive
+     */
+    public static <T> Dedup<T> concurrentExact(ToLongFunction<? super T> key, int stripes) {
+        KeySet[] sets = stripes(stripes);
+        for (int i = 0; i < sets.length; i++)
+            sets[i] = new LongHashSet();
+        return keyed(key, new StripedKeySet(sets));
+    }
+
+    /**
+     * @return thread-safe variant of {@link #approximate(ToLongFunction, long, double)} that spreads
+     *         the keys over {@code stripes} independently locked filters
+     * @throws NullPointerException if {@code key} is {@code null}
+     * @throws IllegalArgumentException if {@code expected} or {@code stripes} is not positive or
+     *                                  {@code falsePositiveRate} is not between zero and one (exclusive)
+     */
+    public static <T> Dedup<T> concurrentApproximate(ToLongFunction<? super T> key,
+                                                     long expected,
+                                                     double falsePositiveRate,
+                                                     int stripes)
+    {
+        KeySet[] sets = stripes(stripes);
+        long perStripe = (expected + sets.length - 1) / sets.length;
+        for (int i = 0; i < sets.length; i++)
+            sets[i] = new BloomFilter(perStripe, falsePositiveRate);
+        return keyed(key, new StripedKeySet(sets));
+    }
+
+    private static KeySet[] stripes(int stripes) {
+        if (stripes <= 0)
+            throw new IllegalArgumentException("Stripes must be positive.");
+        int n = 1;
+        while (n < stripes && n < 1 << 16)
+            n <<= 1;
+        return new KeySet[n];
+    }
+
+    /**
+     * @return 64-bit key of {@code value}: integral numbers and characters map to themselves,
+     *         floating-point numbers to their bits, char sequences to a 64-bit hash of their contents,
+     *         other objects to a mix of their 32-bit hash codes, which collide often enough
+     *         that such objects are better deduplicated by {@link #equality()}
+     */
+    public static long fingerprint(Object value) {
+        if (value == null)
+            return 0;
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte)
+            return ((Number) value).longValue();
+        if (value instanceof Double)
+            return Double.doubleToLongBits((Double) value);
+        if (value instanceof Float)
+            return Float.floatToIntBits((Float) value);
+        if (value instanceof Character)
+            return (Character) value;
+        if (value instanceof CharSequence) {
+            CharSequence chars = (CharSequence) value;
+            long h = 0xCBF29CE484222325L;
+            for (int i = 0; i < chars.length(); i++)
+                h = (h ^ chars.charAt(i)) * 0x100000001B3L;
+            return SplitMixRandom.mix64(h ^ chars.length());
+        }
+        return SplitMixRandom.mix64(value.hashCode());
+    }
+
+}
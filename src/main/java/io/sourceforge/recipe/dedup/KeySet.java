@@ -0,0 +1,16 @@
+// SPDX-FileCopyrightText: © 2022 Nikola Vojičić <nikolavojicic@outlook.com>
+// SPDX-License-Identifier: MIT
+
+package io.sourceforge.recipe.dedup;
+
+/**
+ * Set of 64-bit keys.
+ */
+interface KeySet {
+
+    /**
+     * @return {@code true} if {@code key} wasn't in the set
+     */
+    boolean add(long key);
+
+}
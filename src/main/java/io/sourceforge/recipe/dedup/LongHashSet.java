@@ -0,0 +1,68 @@
+// SPDX-FileCopyrightText: © 2022 Nikola Vojičić <nikolavojicic@outlook.com>
+// SPDX-License-Identifier: MIT
+
+package io.sourceforge.recipe.dedup;
+
+import io.sourceforge.recipe.random.SplitMixRandom;
+
+/**
+ * Open-addressing set of {@code long} keys with linear probing,
+ * which stores zero as a flag and every other key in a plain array.
+ */
+final class LongHashSet implements KeySet {
+
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private long[] keys = new long[16];
+    private int mask = 15;
+    private int shift = 64 - 4;
+    private int size;
+    private boolean zero;
+
+    @Override
+    public boolean add(long key) {
+        if (key == 0) {
+            if (zero)
+                return false;
+            zero = true;
+            return true;
+        }
+        for (int i = index(key); ; i = (i + 1) & mask) {
+            long k = keys[i];
+            if (k == key)
+                return false;
+            if (k == 0) {
+                keys[i] = key;
+                if (++size > (keys.length >> 2) * 3)
+                    grow();
+                return true;
+            }
+        }
+    }
+
+    int size() {
+        return zero ? size + 1 : size;
+    }
+
+    private int index(long key) {
+        return (int) (SplitMixRandom.mix64(key) >>> shift);
+    }
+
+    private void grow() {
+        if (keys.length == MAX_CAPACITY)
+            throw new IllegalStateException("Too many keys.");
+        long[] old = keys;
+        keys = new long[old.length * 2];
+        mask = keys.length - 1;
+        shift--;
+        for (long key : old) {
+            if (key == 0)
+                continue;
+            int i = index(key);
+            while (keys[i] != 0)
+                i = (i + 1) & mask;
+            keys[i] = key;
+        }
+    }
+
+}
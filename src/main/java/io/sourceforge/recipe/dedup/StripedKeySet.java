@@ -0,0 +1,31 @@
+// SPDX-FileCopyrightText: © 2022 Nikola Vojičić <nikolavojicic@outlook.com>
+// SPDX-License-Identifier: MIT
+
+package io.sourceforge.recipe.dedup;
+
+import io.sourceforge.recipe.random.SplitMixRandom;
+
+/**
+ * Thread-safe set that routes each key to one of a power-of-two number
+ * of sets, each guarded by its own lock.
+ */
+final class StripedKeySet implements KeySet {
+
+    private final KeySet[] stripes;
+    private final int shift;
+
+    StripedKeySet(KeySet[] stripes) {
+        this.stripes = stripes;
+        this.shift   = 64 - Integer.numberOfTrailingZeros(stripes.length);
+    }
+
+    @Override
+    public boolean add(long key) {
+        // high bits pick the stripe, the sets themselves hash by all bits
+        KeySet stripe = shift == 64 ? stripes[0] : stripes[(int) (SplitMixRandom.mix64(key ^ 0xC2B2AE3D27D4EB4FL) >>> shift)];
+        synchronized (stripe) {
+            return stripe.add(key);
+        }
+    }
+
+}
@@ -9,4 +9,12 @@ public class RecipeFilterException extends RuntimeException {
         super(message);
     }
 
+    /**
+     * @param writableStackTrace whether the stack trace should be captured,
+     *                           filters pass {@code false} because failures may be frequent
+     */
+    public RecipeFilterException(String message, boolean writableStackTrace) {
+        super(message, null, writableStackTrace, writableStackTrace);
+    }
+
 }
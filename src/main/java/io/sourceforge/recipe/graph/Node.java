@@ -0,0 +1,547 @@
+// SPDX-FileCopyrightText: © 2022 Nikola Vojičić <nikolavojicic@outlook.com>
+// SPDX-License-Identifier: MIT
+
+package io.sourceforge.recipe.graph;
+
+import io.sourceforge.recipe.FilterStats;
+import io.sourceforge.recipe.Recipe;
+import io.sourceforge.recipe.exception.RecipeFilterException;
+import io.sourceforge.recipe.random.AliasTable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import static io.sourceforge.recipe.random.RandomSource.current;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Recipe built as an inspectable tree of nodes instead of nested lambdas.
+ * <p>
+ * Methods {@link #map}, {@link #bind}, {@link #filter} and {@link #or} return
+ * new nodes, {@link #compile()} turns the tree into an executable recipe:
+ * <ul>
+ *     <li>consecutive maps, binds and filters run in a single loop over their steps,
+ *         as the same calls on a {@link Recipe} do, so chains of any depth run in constant stack space</li>
+ *     <li>nested {@code or} and {@code oneOf} nodes are flattened into one weighted choice,
+ *         so each value costs a single random draw regardless of nesting</li>
+ *     <li>choices between {@link #ofValue constants} pick from an array of values</li>
+ * </ul>
+ * Functions are never applied at compile time, because they may be impure.
+ * Nodes are compiled and printed without recursion, so trees of any depth can be compiled.
+ * <p>
+ * Calling {@link #get()} on a node compiles it on first use.
+ */
+public abstract class Node<T> implements Recipe<T> {
+
+    private volatile Recipe<T> compiled;
+
+    Node() {}
+
+    /**
+     * @return recipe that produces the same values as {@code this} node,
+     *         built from the optimized tree
+     */
+    public final Recipe<T> compile() {
+        Recipe<T> rec = compiled;
+        if (rec == null) {
+            compileTree();
+            rec = compiled;
+        }
+        return rec;
+    }
+
+    /**
+     * Compiles the dependencies of each node before the node itself, in depth-first
+     * post-order kept on explicit stacks, so that {@link #compileNode()} finds them compiled.
+     */
+    private void compileTree() {
+        Set<Node<?>> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<Node<?>> path = new ArrayDeque<>();
+        Deque<Iterator<Node<?>>> pending = new ArrayDeque<>();
+        path.push(this);
+        pending.push(dependencies().iterator());
+        while (!path.isEmpty()) {
+            Iterator<Node<?>> it = pending.peek();
+            if (it.hasNext()) {
+                Node<?> node = it.next();
+                if (node.compiled == null && visited.add(node)) {
+                    path.push(node);
+                    pending.push(node.dependencies().iterator());
+                }
+            } else {
+                pending.pop();
+                path.pop().compileOnce();
+            }
+        }
+    }
+
+    private void compileOnce() {
+        if (compiled == null)
+            compiled = compileNode();
+    }
+
+    /**
+     * @return nodes whose recipes {@link #compileNode()} uses
+     */
+    abstract List<Node<?>> dependencies();
+
+    abstract Recipe<T> compileNode();
+
+    /**
+     * Pushes the parts of the description of {@code this} node, strings or other nodes,
+     * in reverse order.
+     */
+    abstract void describe(Deque<Object> parts);
+
+    @Override
+    public final String toString() {
+        StringBuilder sb = new StringBuilder();
+        Deque<Object> parts = new ArrayDeque<>();
+        parts.push(this);
+        while (!parts.isEmpty()) {
+            Object part = parts.pop();
+            if (part instanceof Node)
+                ((Node<?>) part).describe(parts);
+            else
+                sb.append(part);
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public final T get() {
+        return compile().get();
+    }
+
+    /**
+     * @return node that applies {@code mapper} to the values produced by {@code this} node
+     * @throws NullPointerException if {@code mapper} is {@code null}
+     */
+    @Override
+    public <R> Node<R>
+        map
+            (Function<? super   T,
+                      ? extends R> mapper)
+    {
+        requireNonNull(mapper);
+        return new MapNode<>(this, mapper);
+    }
+
+    /**
+     * @return node that applies {@code binder} to the values:<br/>
+     *         1. produced by {@code this} node<br/>
+     *         2. produced by the recipe returned by {@code recipeFn}, given the value from 1.
+     * @throws NullPointerException if {@code recipeFn} or {@code binder} is {@code null}
+     */
+    @Override
+    public <U, R> Node<R>
+        bind
+            (Function  <? super   T,
+                        ? extends Supplier<? extends U>> recipeFn,
+             BiFunction<? super   T,
+                        ? super   U,
+                        ? extends R> binder)
+    {
+        requireNonNull(recipeFn);
+        requireNonNull(binder);
+        return new BindNode<>(this, recipeFn, binder);
+    }
+
+    /**
+     * @return node for values produced by {@code this} node that match the {@code predicate}
+     * @throws NullPointerException if {@code predicate} is {@code null}
+     * @throws RecipeFilterException (without stack trace) if {@code predicate} returns {@code false}
+     *                               for 100 values in a row
+     */
+    @Override
+    public Node<T>
+        filter
+            (Predicate<? super T> predicate)
+    {
+        return filter(predicate, 100);
+    }
+
+    /**
+     * @return node for values produced by {@code this} node that match the {@code predicate}
+     * @throws NullPointerException if {@code predicate} is {@code null}
+     * @throws IllegalArgumentException if {@code maxTries} is not positive
+     * @throws RecipeFilterException (without stack trace) if {@code predicate} returns {@code false}
+     *                               for {@code maxTries} values in a row
+     */
+    @Override
+    public Node<T>
+        filter
+            (Predicate<? super T> predicate,
+             int                  maxTries)
+    {
+        requireNonNull(predicate);
+        if (maxTries <= 0)
+            throw new IllegalArgumentException("Max tries must be positive.");
+        return new FilterNode<>(this, predicate, maxTries, null);
+    }
+
+    /**
+     * @return node for values produced by {@code this} node that match the {@code predicate},
+     *         which records accepted and rejected values in {@code stats}
+     * @throws NullPointerException if {@code predicate} or {@code stats} is {@code null}
+     * @throws IllegalArgumentException if {@code maxTries} is not positive
+     * @throws RecipeFilterException (without stack trace) if {@code predicate} returns {@code false}
+     *                               for {@code maxTries} values in a row
+     */
+    @Override
+    public Node<T>
+        filter
+            (Predicate<? super T> predicate,
+             int                  maxTries,
+             FilterStats          stats)
+    {
+        requireNonNull(predicate);
+        requireNonNull(stats);
+        if (maxTries <= 0)
+            throw new IllegalArgumentException("Max tries must be positive.");
+        return new FilterNode<>(this, predicate, maxTries, stats);
+    }
+
+    /**
+     * @return node that randomly chooses between {@code this} and {@code recipe}
+     * @throws NullPointerException if {@code recipe} is {@code null}
+     */
+    @Override
+    public Node<T>
+        or
+            (Supplier<? extends T> recipe)
+    {
+        List<Node<? extends T>> children = new ArrayList<>(2);
+        children.add(this);
+        children.add(of(recipe));
+        return new ChoiceNode<>(children, new double[]{1, 1});
+    }
+
+    // ---------------- FACTORIES ----------------
+
+    /**
+     * @return given {@code recipe} if it is a node, otherwise a leaf node that delegates to it
+     * @throws NullPointerException if {@code recipe} is {@code null}
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Node<T>
+        of
+            (Supplier<? extends T> recipe)
+    {
+        requireNonNull(recipe);
+        return recipe instanceof Node
+                ? (Node<T>) recipe
+                : new SourceNode<>(recipe);
+    }
+
+    /**
+     * @return node that constantly returns {@code value}
+     */
+    public static <T> Node<T>
+        ofValue
+            (T value)
+    {
+        return new ConstNode<>(value);
+    }
+
+    /**
+     * @return node that randomly chooses between {@code recipes}
+     * @throws IllegalArgumentException if {@code recipes} is empty
+     * @throws NullPointerException if any of {@code recipes} is {@code null}
+     */
+    @SafeVarargs
+    public static <T> Node<T>
+        oneOf
+            (Supplier<? extends T>... recipes)
+    {
+        if (recipes.length == 0)
+            throw new IllegalArgumentException("Empty recipes.");
+        List<Node<? extends T>> children = new ArrayList<>(recipes.length);
+        double[] weights = new double[recipes.length];
+        for (int i = 0; i < recipes.length; i++) {
+            children.add(of(recipes[i]));
+            weights[i] = 1;
+        }
+        return new ChoiceNode<>(children, weights);
+    }
+
+    /**
+     * @return node that randomly chooses between {@code recipes} with probabilities proportional to {@code weights}
+     * @throws IllegalArgumentException if {@code weights} and {@code recipes} differ in length,
+     *                                  or {@code weights} is empty, contains negative or non-finite values
+     *                                  or all of them are zero
+     * @throws NullPointerException if {@code weights} or any of {@code recipes} is {@code null}
+     */
+    @SafeVarargs
+    public static <T> Node<T>
+        oneOfWeighted
+            (double[]                 weights,
+             Supplier<? extends T>... recipes)
+    {
+        if (weights.length != recipes.length)
+            throw new IllegalArgumentException("Weights and recipes differ in length.");
+        AliasTable.of(weights); // check constraints
+        List<Node<? extends T>> children = new ArrayList<>(recipes.length);
+        for (Supplier<? extends T> recipe : recipes)
+            children.add(of(recipe));
+        return new ChoiceNode<>(children, weights.clone());
+    }
+
+    // ---------------- NODES ----------------
+
+    private static final class SourceNode<T> extends Node<T> {
+
+        private final Supplier<? extends T> recipe;
+
+        SourceNode(Supplier<? extends T> recipe) {
+            this.recipe = recipe;
+        }
+
+        @Override
+        List<Node<?>> dependencies() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        Recipe<T> compileNode() {
+            return Recipe.of(recipe);
+        }
+
+        @Override
+        void describe(Deque<Object> parts) {
+            parts.push("Source");
+        }
+
+    }
+
+    private static final class ConstNode<T> extends Node<T> {
+
+        private final T value;
+
+        ConstNode(T value) {
+            this.value = value;
+        }
+
+        @Override
+        List<Node<?>> dependencies() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        Recipe<T> compileNode() {
+            return Recipe.ofValue(value);
+        }
+
+        @Override
+        void describe(Deque<Object> parts) {
+            parts.push("Const[" + value + ']');
+        }
+
+    }
+
+    private static final class MapNode<T, R> extends Node<R> {
+
+        private final Node<T> source;
+        private final Function<? super T, ? extends R> mapper;
+
+        MapNode(Node<T> source, Function<? super T, ? extends R> mapper) {
+            this.source = source;
+            this.mapper = mapper;
+        }
+
+        @Override
+        List<Node<?>> dependencies() {
+            return Collections.singletonList(source);
+        }
+
+        @Override
+        Recipe<R> compileNode() {
+            return source.compile().map(mapper);
+        }
+
+        @Override
+        void describe(Deque<Object> parts) {
+            parts.push("]");
+            parts.push(source);
+            parts.push("Map[");
+        }
+
+    }
+
+    private static final class BindNode<T, U, R> extends Node<R> {
+
+        private final Node<T> source;
+        private final Function<? super T, ? extends Supplier<? extends U>> recipeFn;
+        private final BiFunction<? super T, ? super U, ? extends R> binder;
+
+        BindNode(Node<T> source,
+                 Function<? super T, ? extends Supplier<? extends U>> recipeFn,
+                 BiFunction<? super T, ? super U, ? extends R> binder)
+        {
+            this.source   = source;
+            this.recipeFn = recipeFn;
+            this.binder   = binder;
+        }
+
+        @Override
+        List<Node<?>> dependencies() {
+            return Collections.singletonList(source);
+        }
+
+        @Override
+        Recipe<R> compileNode() {
+            return source.compile().bind(recipeFn, binder);
+        }
+
+        @Override
+        void describe(Deque<Object> parts) {
+            parts.push("]");
+            parts.push(source);
+            parts.push("Bind[");
+        }
+
+    }
+
+    private static final class FilterNode<T> extends Node<T> {
+
+        private final Node<T> source;
+        private final Predicate<? super T> predicate;
+        private final int maxTries;
+        private final FilterStats stats;
+
+        FilterNode(Node<T> source, Predicate<? super T> predicate, int maxTries, FilterStats stats) {
+            this.source    = source;
+            this.predicate = predicate;
+            this.maxTries  = maxTries;
+            this.stats     = stats;
+        }
+
+        @Override
+        List<Node<?>> dependencies() {
+            return Collections.singletonList(source);
+        }
+
+        @Override
+        Recipe<T> compileNode() {
+            Recipe<T> recipe = source.compile();
+            return stats == null
+                    ? recipe.filter(predicate, maxTries)
+                    : recipe.filter(predicate, maxTries, stats);
+        }
+
+        @Override
+        void describe(Deque<Object> parts) {
+            parts.push("]");
+            parts.push(source);
+            parts.push("Filter[");
+        }
+
+    }
+
+    private static final class ChoiceNode<T> extends Node<T> {
+
+        private final List<Node<? extends T>> children;
+        private final double[] weights;
+
+        ChoiceNode(List<Node<? extends T>> children, double[] weights) {
+            this.children = children;
+            this.weights  = weights;
+        }
+
+        /**
+         * Collects the non-choice descendants, left to right, with their probabilities.
+         */
+        private void flatten(List<Node<? extends T>> leaves, List<Double> probs) {
+            Deque<Node<? extends T>> nodes = new ArrayDeque<>();
+            Deque<Double> scales = new ArrayDeque<>();
+            nodes.push(this);
+            scales.push(1.0);
+            while (!nodes.isEmpty()) {
+                Node<? extends T> node = nodes.pop();
+                double scale = scales.pop();
+                if (!(node instanceof ChoiceNode)) {
+                    leaves.add(node);
+                    probs.add(scale);
+                    continue;
+                }
+                ChoiceNode<? extends T> choice = (ChoiceNode<? extends T>) node;
+                double sum = 0;
+                for (double weight : choice.weights)
+                    sum += weight;
+                for (int i = choice.children.size() - 1; i >= 0; i--) {
+                    double prob = scale * choice.weights[i] / sum;
+                    if (prob == 0)
+                        continue;
+                    nodes.push(choice.children.get(i));
+                    scales.push(prob);
+                }
+            }
+        }
+
+        @Override
+        List<Node<?>> dependencies() {
+            List<Node<? extends T>> leaves = new ArrayList<>();
+            flatten(leaves, new ArrayList<>());
+            return new ArrayList<>(leaves);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        Recipe<T> compileNode() {
+            List<Node<? extends T>> leaves = new ArrayList<>();
+            List<Double> probs = new ArrayList<>();
+            flatten(leaves, probs);
+            int n = leaves.size();
+            if (n == 1)
+                return (Recipe<T>) leaves.get(0).compile();
+            boolean uniform = true;
+            double[] ws = new double[n];
+            for (int i = 0; i < n; i++) {
+                ws[i] = probs.get(i);
+                uniform &= Math.abs(ws[i] - ws[0]) <= 1e-12;
+            }
+            boolean constant = true;
+            for (Node<? extends T> leaf : leaves)
+                constant &= leaf instanceof ConstNode;
+            AliasTable table = uniform ? null : AliasTable.of(ws);
+            if (constant) {
+                Object[] values = new Object[n];
+                for (int i = 0; i < n; i++)
+                    values[i] = ((ConstNode<?>) leaves.get(i)).value;
+                return uniform
+                        ? () -> (T) values[current().nextInt(n)]
+                        : () -> (T) values[table.sample(current())];
+            }
+            Recipe<?>[] recipes = new Recipe<?>[n];
+            for (int i = 0; i < n; i++)
+                recipes[i] = leaves.get(i).compile();
+            return uniform
+                    ? () -> (T) recipes[current().nextInt(n)].get()
+                    : () -> (T) recipes[table.sample(current())].get();
+        }
+
+        @Override
+        void describe(Deque<Object> parts) {
+            parts.push("]");
+            for (int i = children.size() - 1; i >= 0; i--) {
+                parts.push(children.get(i));
+                parts.push(weights[i] + "=");
+                if (i > 0)
+                    parts.push(", ");
+            }
+            parts.push("Choice[");
+        }
+
+    }
+
+}
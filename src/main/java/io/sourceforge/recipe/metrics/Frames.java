@@ -0,0 +1,63 @@
+// SPDX-FileCopyrightText: © 2022 Nikola Vojičić <nikolavojicic@outlook.com>
+// SPDX-License-Identifier: MIT
+
+package io.sourceforge.recipe.metrics;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+/**
+ * Per-thread stack of named recipes being evaluated, used to subtract
+ * the time and allocations of children from their parents.
+ */
+final class Frames {
+
+    private static final ThreadLocal<Frames> FRAMES = ThreadLocal.withInitial(Frames::new);
+
+    private NodeMetrics[] nodes = new NodeMetrics[16];
+    private long[] childNanos = new long[16];
+    private long[] childBytes = new long[16];
+    private int depth = -1;
+
+    static Frames get() {
+        return FRAMES.get();
+    }
+
+    <T> T call(NodeMetrics node, Supplier<? extends T> recipe) {
+        int d = ++depth;
+        if (d == nodes.length) {
+            nodes      = Arrays.copyOf(nodes,      d * 2);
+            childNanos = Arrays.copyOf(childNanos, d * 2);
+            childBytes = Arrays.copyOf(childBytes, d * 2);
+        }
+        nodes[d] = node;
+        childNanos[d] = 0;
+        childBytes[d] = 0;
+        long bytes = Metrics.allocatedBytes();
+        long start = System.nanoTime();
+        try {
+            return recipe.get();
+        } finally {
+            long nanos = System.nanoTime() - start;
+            bytes = Metrics.allocatedBytes() - bytes;
+            node.record(nanos, nanos - childNanos[d], bytes - childBytes[d]);
+            nodes[d] = null;
+            depth--;
+            if (depth >= 0) {
+                childNanos[depth] += nanos;
+                childBytes[depth] += bytes;
+            }
+        }
+    }
+
+    void reject(int count) {
+        if (depth >= 0)
+            nodes[depth].rejections.add(count);
+    }
+
+    void retry(int count) {
+        if (depth >= 0)
+            nodes[depth].retries.add(count);
+    }
+
+}
@@ -0,0 +1,139 @@
+// SPDX-FileCopyrightText: © 2022 Nikola Vojičić <nikolavojicic@outlook.com>
+// SPDX-License-Identifier: MIT
+
+package io.sourceforge.recipe.metrics;
+
+import io.sourceforge.recipe.Recipe;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Non-instantiable class that controls the opt-in instrumentation of recipes
+ * created by {@link Recipe#named(String)}.
+ * <p>
+ * Instrumentation is disabled by default, it can be enabled with the system property
+ * {@code io.sourceforge.recipe.metrics=true} or with {@link #setEnabled(boolean)}.
+ * Recipes named while it is disabled are returned as they are, so they cost nothing.
+ * Tracking of allocated bytes is enabled separately, with the system property
+ * {@code io.sourceforge.recipe.metrics.allocations=true} or with {@link #setAllocationTracking(boolean)},
+ * and works only on JVMs that support {@code com.sun.management.ThreadMXBean}, which is looked up
+ * and switched to measuring allocations only when the tracking is enabled for the first time.
+ */
+public final class Metrics {
+
+    private static final MetricsRegistry REGISTRY = new MetricsRegistry();
+
+    private static volatile boolean enabled = Boolean.getBoolean("io.sourceforge.recipe.metrics");
+
+    private static volatile boolean allocations =
+            Boolean.getBoolean("io.sourceforge.recipe.metrics.allocations") && Threads.BEAN != null;
+
+    private static volatile boolean threadsResolved;
+
+    private Metrics() {
+        throw new AssertionError();
+    }
+
+    /**
+     * Holder of the thread bean, initialized on first use, so that disabled metrics don't load it.
+     */
+    private static final class Threads {
+
+        static final ThreadMXBean BEAN = threads();
+
+    }
+
+    private static ThreadMXBean threads() {
+        threadsResolved = true;
+        try {
+            ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            if (bean instanceof com.sun.management.ThreadMXBean) {
+                com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+                if (threads.isThreadAllocatedMemorySupported()) {
+                    threads.setThreadAllocatedMemoryEnabled(true);
+                    return bean;
+                }
+            }
+        } catch (LinkageError | RuntimeException ignored) {
+            // not a HotSpot-compatible JVM
+        }
+        return null;
+    }
+
+    /**
+     * @return whether recipes named from now on will be instrumented
+     */
+    public static boolean enabled() {
+        return enabled;
+    }
+
+    /**
+     * Affects only the recipes named after this call, on any thread.
+     */
+    public static void setEnabled(boolean enabled) {
+        Metrics.enabled = enabled;
+    }
+
+    /**
+     * Has no effect if the JVM doesn't support measuring allocated bytes per thread.
+     */
+    public static void setAllocationTracking(boolean enabled) {
+        allocations = enabled && Threads.BEAN != null;
+    }
+
+    /**
+     * @return registry that holds the metrics of all named recipes
+     */
+    public static MetricsRegistry registry() {
+        return REGISTRY;
+    }
+
+    /**
+     * @return recipe that records metrics of {@code recipe} under the {@code name},
+     *         or {@code recipe} itself if instrumentation is disabled
+     * @throws NullPointerException if {@code recipe} or {@code name} is {@code null}
+     */
+    public static <T> Recipe<T> instrument(Recipe<T> recipe, String name) {
+        requireNonNull(recipe);
+        requireNonNull(name);
+        if (!enabled)
+            return recipe;
+        NodeMetrics node = REGISTRY.node(name);
+        return () -> Frames.get().call(node, recipe);
+    }
+
+    /**
+     * Attributes {@code count} filter rejections to the innermost named recipe
+     * that is being evaluated on the current thread, if any.
+     */
+    public static void recordRejections(int count) {
+        if (enabled)
+            Frames.get().reject(count);
+    }
+
+    /**
+     * Attributes {@code count} retries of distinct recipes to the innermost named recipe
+     * that is being evaluated on the current thread, if any.
+     */
+    public static void recordRetries(int count) {
+        if (enabled)
+            Frames.get().retry(count);
+    }
+
+    /**
+     * @return whether the thread bean has been looked up
+     */
+    static boolean threadsResolved() {
+        return threadsResolved;
+    }
+
+    static long allocatedBytes() {
+        return allocations
+                ? ((com.sun.management.ThreadMXBean) Threads.BEAN).getThreadAllocatedBytes(Thread.currentThread().getId())
+                : 0;
+    }
+
+}
@@ -0,0 +1,48 @@
+// SPDX-FileCopyrightText: © 2022 Nikola Vojičić <nikolavojicic@outlook.com>
+// SPDX-License-Identifier: MIT
+
+package io.sourceforge.recipe.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static java.util.Comparator.comparing;
+
+/**
+ * Thread-safe registry of metrics of named recipes.
+ * Recipes with the same name share their metrics.
+ *
+ * @see Metrics#registry()
+ */
+public final class MetricsRegistry {
+
+    private final ConcurrentMap<String, NodeMetrics> nodes = new ConcurrentHashMap<>();
+
+    MetricsRegistry() {}
+
+    NodeMetrics node(String name) {
+        return nodes.computeIfAbsent(name, NodeMetrics::new);
+    }
+
+    /**
+     * @return current metrics of all named recipes, sorted by name
+     */
+    public MetricsSnapshot snapshot() {
+        List<NodeSnapshot> snapshots = new ArrayList<>(nodes.size());
+        for (NodeMetrics node : nodes.values())
+            snapshots.add(node.snapshot());
+        snapshots.sort(comparing(NodeSnapshot::name));
+        return new MetricsSnapshot(snapshots);
+    }
+
+    /**
+     * Sets all the counters to zero.
+     */
+    public void reset() {
+        for (NodeMetrics node : nodes.values())
+            node.reset();
+    }
+
+}
@@ -0,0 +1,58 @@
+// SPDX-FileCopyrightText: © 2022 Nikola Vojičić <nikolavojicic@outlook.com>
+// SPDX-License-Identifier: MIT
+
+package io.sourceforge.recipe.metrics;
+
+import java.util.List;
+
+import static java.util.Collections.unmodifiableList;
+
+/**
+ * Unmodifiable metrics of all named recipes at some point in time.
+ *
+ * @see MetricsRegistry#snapshot()
+ */
+public final class MetricsSnapshot {
+
+    private final List<NodeSnapshot> nodes;
+
+    MetricsSnapshot(List<NodeSnapshot> nodes) {
+        this.nodes = unmodifiableList(nodes);
+    }
+
+    /**
+     * @return metrics of named recipes, sorted by name
+     */
+    public List<NodeSnapshot> nodes() {
+        return nodes;
+    }
+
+    /**
+     * @return metrics of the recipe with the {@code name}, or {@code null} if there is none
+     */
+    public NodeSnapshot node(String name) {
+        for (NodeSnapshot node : nodes)
+            if (node.name().equals(name))
+                return node;
+        return null;
+    }
+
+    /**
+     * @return JSON object with the {@code nodes} array
+     */
+    public String toJson() {
+        StringBuilder sb = new StringBuilder("{\"nodes\":[");
+        for (int i = 0; i < nodes.size(); i++) {
+            if (i > 0)
+                sb.append(',');
+            nodes.get(i).appendJson(sb);
+        }
+        return sb.append("]}").toString();
+    }
+
+    @Override
+    public String toString() {
+        return "MetricsSnapshot" + nodes;
+    }
+
+}
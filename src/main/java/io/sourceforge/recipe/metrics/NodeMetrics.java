@@ -0,0 +1,67 @@
+// SPDX-FileCopyrightText: © 2022 Nikola Vojičić <nikolavojicic@outlook.com>
+// SPDX-License-Identifier: MIT
+
+package io.sourceforge.recipe.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Mutable, thread-safe counters of one named recipe.
+ */
+final class NodeMetrics {
+
+    /**
+     * Bucket {@code i} counts calls whose latency in nanoseconds has {@code i} significant bits.
+     */
+    static final int BUCKETS = 64;
+
+    final String name;
+    final LongAdder count          = new LongAdder();
+    final LongAdder totalNanos     = new LongAdder();
+    final LongAdder selfNanos      = new LongAdder();
+    final LongAdder rejections     = new LongAdder();
+    final LongAdder retries        = new LongAdder();
+    final LongAdder allocatedBytes = new LongAdder();
+    final AtomicLongArray latencies = new AtomicLongArray(BUCKETS);
+
+    NodeMetrics(String name) {
+        this.name = name;
+    }
+
+    void record(long totalNanos, long selfNanos, long selfBytes) {
+        count.increment();
+        this.totalNanos.add(totalNanos);
+        this.selfNanos.add(selfNanos);
+        if (selfBytes != 0)
+            allocatedBytes.add(selfBytes);
+        latencies.incrementAndGet(Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(totalNanos)));
+    }
+
+    NodeSnapshot snapshot() {
+        long[] histogram = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++)
+            histogram[i] = latencies.get(i);
+        return new NodeSnapshot(
+                name,
+                count.sum(),
+                totalNanos.sum(),
+                selfNanos.sum(),
+                rejections.sum(),
+                retries.sum(),
+                allocatedBytes.sum(),
+                histogram);
+    }
+
+    void reset() {
+        count.reset();
+        totalNanos.reset();
+        selfNanos.reset();
+        rejections.reset();
+        retries.reset();
+        allocatedBytes.reset();
+        for (int i = 0; i < BUCKETS; i++)
+            latencies.set(i, 0);
+    }
+
+}
@@ -0,0 +1,134 @@
+// SPDX-FileCopyrightText: © 2022 Nikola Vojičić <nikolavojicic@outlook.com>
+// SPDX-License-Identifier: MIT
+
+package io.sourceforge.recipe.metrics;
+
+/**
+ * Unmodifiable metrics of one named recipe.
+ */
+public final class NodeSnapshot {
+
+    private final String name;
+    private final long count;
+    private final long totalNanos;
+    private final long selfNanos;
+    private final long rejections;
+    private final long retries;
+    private final long allocatedBytes;
+    private final long[] histogram;
+
+    NodeSnapshot(String name, long count, long totalNanos, long selfNanos,
+                 long rejections, long retries, long allocatedBytes, long[] histogram)
+    {
+        this.name           = name;
+        this.count          = count;
+        this.totalNanos     = totalNanos;
+        this.selfNanos      = selfNanos;
+        this.rejections     = rejections;
+        this.retries        = retries;
+        this.allocatedBytes = allocatedBytes;
+        this.histogram      = histogram;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /**
+     * @return number of values produced
+     */
+    public long count() {
+        return count;
+    }
+
+    /**
+     * @return time spent producing values, including named children
+     */
+    public long totalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * @return time spent producing values, excluding named children
+     */
+    public long selfNanos() {
+        return selfNanos;
+    }
+
+    /**
+     * @return number of values rejected by filters, excluding named children
+     */
+    public long rejections() {
+        return rejections;
+    }
+
+    /**
+     * @return number of duplicates rejected by distinct recipes, excluding named children
+     */
+    public long retries() {
+        return retries;
+    }
+
+    /**
+     * @return bytes allocated while producing values, excluding named children,
+     *         or zero if allocation tracking is disabled
+     */
+    public long allocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * @return latency histogram, where element {@code i} is the number of values whose
+     *         total time in nanoseconds was less than {@code 2^i} and at least {@code 2^(i-1)}
+     */
+    public long[] histogram() {
+        return histogram.clone();
+    }
+
+    void appendJson(StringBuilder sb) {
+        sb.append("{\"name\":");
+        appendString(sb, name);
+        sb.append(",\"count\":").append(count)
+          .append(",\"totalNanos\":").append(totalNanos)
+          .append(",\"selfNanos\":").append(selfNanos)
+          .append(",\"rejections\":").append(rejections)
+          .append(",\"retries\":").append(retries)
+          .append(",\"allocatedBytes\":").append(allocatedBytes)
+          .append(",\"histogram\":[");
+        int last = histogram.length - 1;
+        while (last > 0 && histogram[last] == 0)
+            last--;
+        for (int i = 0; i <= last; i++) {
+            if (i > 0)
+                sb.append(',');
+            sb.append(histogram[i]);
+        }
+        sb.append("]}");
+    }
+
+    private static void appendString(StringBuilder sb, String s) {
+        sb.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '"' || c == '\\')
+                sb.append('\\').append(c);
+            else if (c < 0x20)
+                sb.append(String.format("\\u%04x", (int) c));
+            else
+                sb.append(c);
+        }
+        sb.append('"');
+    }
+
+    @Override
+    public String toString() {
+        return "NodeSnapshot[name=" + name
+                + ", count=" + count
+                + ", totalNanos=" + totalNanos
+                + ", selfNanos=" + selfNanos
+                + ", rejections=" + rejections
+                + ", retries=" + retries
+                + ", allocatedBytes=" + allocatedBytes + ']';
+    }
+
+}
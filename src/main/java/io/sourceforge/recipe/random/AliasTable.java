@@ -0,0 +1,105 @@
+// SPDX-FileCopyrightText: © 2022 Nikola Vojičić <nikolavojicic@outlook.com>
+// SPDX-License-Identifier: MIT
+
+package io.sourceforge.recipe.random;
+
+/**
+ * Immutable alias table (Vose's method) for sampling indexes with given
+ * weights in constant time, using a single {@link RandomSource#nextLong()}
+ * draw per sample.
+ */
+public final class AliasTable {
+
+    private static final double SCALE = 0x1.0p32;
+
+    private final long[] thresholds;
+    private final int[] aliases;
+
+    private AliasTable(long[] thresholds, int[] aliases) {
+        this.thresholds = thresholds;
+        this.aliases    = aliases;
+    }
+
+    /**
+     * @return table for sampling indexes of the {@code weights} with probabilities proportional to them
+     * @throws NullPointerException if {@code weights} is {@code null}
+     * @throws IllegalArgumentException if {@code weights} is empty, contains negative or non-finite values
+     *                                  or all of them are zero
+     */
+    public static AliasTable of(double... weights) {
+        int n = weights.length;
+        if (n == 0)
+            throw new IllegalArgumentException("Empty weights.");
+        double sum = 0;
+        for (double weight : weights) {
+            if (!(weight >= 0) || weight == Double.POSITIVE_INFINITY)
+                throw new IllegalArgumentException("Weights must be finite and non-negative.");
+            sum += weight;
+        }
+        if (!(sum > 0) || sum == Double.POSITIVE_INFINITY)
+            throw new IllegalArgumentException("Sum of weights must be positive and finite.");
+        double[] probs = new double[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int s = 0;
+        int l = 0;
+        for (int i = 0; i < n; i++) {
+            probs[i] = weights[i] * n / sum;
+            if (probs[i] < 1)
+                small[s++] = i;
+            else
+                large[l++] = i;
+        }
+        long[] thresholds = new long[n];
+        int[] aliases = new int[n];
+        while (s > 0 && l > 0) {
+            int less = small[--s];
+            int more = large[--l];
+            thresholds[less] = threshold(probs[less]);
+            aliases[less] = more;
+            probs[more] = (probs[more] + probs[less]) - 1;
+            if (probs[more] < 1)
+                small[s++] = more;
+            else
+                large[l++] = more;
+        }
+        // leftovers differ from 1 only by rounding errors
+        while (l > 0) {
+            int i = large[--l];
+            thresholds[i] = (long) SCALE;
+            aliases[i] = i;
+        }
+        while (s > 0) {
+            int i = small[--s];
+            thresholds[i] = (long) SCALE;
+            aliases[i] = i;
+        }
+        return new AliasTable(thresholds, aliases);
+    }
+
+    private static long threshold(double prob) {
+        return Math.max(0, Math.min((long) SCALE, Math.round(prob * SCALE)));
+    }
+
+    /**
+     * @return number of weights
+     */
+    public int size() {
+        return aliases.length;
+    }
+
+    /**
+     * The upper 32 bits of the draw choose the column and the lower 32 bits
+     * choose between the column and its alias.
+     *
+     * @return random index between zero (inclusive) and {@link #size()} (exclusive)
+     */
+    public int sample(RandomSource source) {
+        long r = source.nextLong();
+        int column = (int) (((r >>> 32) * aliases.length) >>> 32);
+        return (r & 0xffffffffL) < thresholds[column]
+                ? column
+                : aliases[column];
+    }
+
+}
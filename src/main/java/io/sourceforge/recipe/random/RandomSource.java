@@ -0,0 +1,198 @@
+// SPDX-FileCopyrightText: © 2022 Nikola Vojičić <nikolavojicic@outlook.com>
+// SPDX-License-Identifier: MIT
+
+package io.sourceforge.recipe.random;
+
+import java.util.function.Supplier;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Source of pseudorandom values that the built-in recipes draw from.
+ * <p>
+ * By default, {@link #current()} delegates to {@link java.util.concurrent.ThreadLocalRandom}.
+ * Seeded sources can be installed for the current thread with {@link #call(RandomSource, Supplier)},
+ * which makes the generated values reproducible.
+ * <p>
+ * Implementations are not required to be thread-safe, use {@link #split()} to
+ * create an independent source for each thread.
+ */
+public interface RandomSource {
+
+    /**
+     * @return pseudorandom {@code long} value
+     */
+    long nextLong();
+
+    /**
+     * @return new source that produces a stream of values independent of {@code this} source
+     */
+    RandomSource split();
+
+    /**
+     * Built-in sources derive the fork from their current state without advancing it, so that
+     * forks with the same index are the same. The default implementation can only seed the fork
+     * with a value drawn from {@code this} source, which advances it, so streams forked from
+     * sources that don't override it are neither reproducible nor thread-safe.
+     *
+     * @return source for the stream with the given {@code index}; sources forked with
+     *         different indexes produce independent streams of values
+     */
+    default RandomSource fork(long index) {
+        return seeded(SplitMixRandom.mix64(nextLong() ^ SplitMixRandom.mix64(index)));
+    }
+
+    /**
+     * @return pseudorandom {@code int} value
+     */
+    default int nextInt() {
+        return (int) (nextLong() >>> 32);
+    }
+
+    /**
+     * @return pseudorandom {@code int} value between zero (inclusive) and {@code bound} (exclusive)
+     * @throws IllegalArgumentException if {@code bound} is not positive
+     */
+    default int nextInt(int bound) {
+        if (bound <= 0)
+            throw new IllegalArgumentException("Bound must be positive.");
+        int r = nextInt();
+        int m = bound - 1;
+        if ((bound & m) == 0)
+            return r & m;
+        for (int u = r >>> 1;
+             u + m - (r = u % bound) < 0;
+             u = nextInt() >>> 1)
+            ;
+        return r;
+    }
+
+    /**
+     * @return pseudorandom {@code int} value between {@code origin} (inclusive) and {@code bound} (exclusive)
+     * @throws IllegalArgumentException if {@code origin} is greater than or equal to {@code bound}
+     */
+    default int nextInt(int origin, int bound) {
+        if (origin >= bound)
+            throw new IllegalArgumentException("Bound must be greater than origin.");
+        int n = bound - origin;
+        if (n > 0)
+            return nextInt(n) + origin;
+        int r;
+        do {
+            r = nextInt();
+        } while (r < origin || r >= bound);
+        return r;
+    }
+
+    /**
+     * @return pseudorandom {@code long} value between zero (inclusive) and {@code bound} (exclusive)
+     * @throws IllegalArgumentException if {@code bound} is not positive
+     */
+    default long nextLong(long bound) {
+        if (bound <= 0)
+            throw new IllegalArgumentException("Bound must be positive.");
+        long r = nextLong();
+        long m = bound - 1;
+        if ((bound & m) == 0L)
+            return r & m;
+        for (long u = r >>> 1;
+             u + m - (r = u % bound) < 0L;
+             u = nextLong() >>> 1)
+            ;
+        return r;
+    }
+
+    /**
+     * @return pseudorandom {@code long} value between {@code origin} (inclusive) and {@code bound} (exclusive)
+     * @throws IllegalArgumentException if {@code origin} is greater than or equal to {@code bound}
+     */
+    default long nextLong(long origin, long bound) {
+        if (origin >= bound)
+            throw new IllegalArgumentException("Bound must be greater than origin.");
+        long n = bound - origin;
+        if (n > 0)
+            return nextLong(n) + origin;
+        long r;
+        do {
+            r = nextLong();
+        } while (r < origin || r >= bound);
+        return r;
+    }
+
+    /**
+     * @return pseudorandom {@code double} value between zero (inclusive) and one (exclusive)
+     */
+    default double nextDouble() {
+        return (nextLong() >>> 11) * 0x1.0p-53;
+    }
+
+    /**
+     * @return pseudorandom {@code double} value between {@code origin} (inclusive) and {@code bound} (exclusive)
+     * @throws IllegalArgumentException if {@code origin} is greater than or equal to {@code bound}
+     */
+    default double nextDouble(double origin, double bound) {
+        if (!(origin < bound))
+            throw new IllegalArgumentException("Bound must be greater than origin.");
+        double r = nextDouble() * (bound - origin) + origin;
+        return r < bound ? r : Math.nextDown(bound);
+    }
+
+    /**
+     * @return pseudorandom {@code boolean} value
+     */
+    default boolean nextBoolean() {
+        return nextLong() < 0;
+    }
+
+    // ---------------- FACTORIES ----------------
+
+    /**
+     * Costs the same as {@link java.util.concurrent.ThreadLocalRandom#current()} until a source
+     * is installed by {@link #call(RandomSource, Supplier)} on any thread, and a thread-local
+     * lookup more from then on.
+     *
+     * @return source installed for the current thread by {@link #call(RandomSource, Supplier)},
+     *         or {@link #threadLocal()} if there is none
+     */
+    static RandomSource
+        current
+            ()
+    {
+        return Scope.current();
+    }
+
+    /**
+     * @return source that delegates to {@link java.util.concurrent.ThreadLocalRandom#current()}
+     */
+    static RandomSource
+        threadLocal
+            ()
+    {
+        return ThreadLocalRandomSource.INSTANCE;
+    }
+
+    /**
+     * @return new source that produces the same stream of values for the same {@code seed}
+     */
+    static RandomSource
+        seeded
+            (long seed)
+    {
+        return new SplitMixRandom(seed);
+    }
+
+    /**
+     * @return result of {@code supplier} called while {@code source} is the {@link #current()} source of this thread
+     * @throws NullPointerException if {@code source} or {@code supplier} is {@code null}
+     */
+    static <T> T
+        call
+            (RandomSource          source,
+             Supplier<? extends T> supplier)
+    {
+        requireNonNull(source);
+        requireNonNull(supplier);
+        return Scope.call(source, supplier);
+    }
+
+}
@@ -0,0 +1,51 @@
+// SPDX-FileCopyrightText: © 2022 Nikola Vojičić <nikolavojicic@outlook.com>
+// SPDX-License-Identifier: MIT
+
+package io.sourceforge.recipe.random;
+
+import java.util.function.Supplier;
+
+/**
+ * Holds the sources installed by {@link RandomSource#call(RandomSource, Supplier)}.
+ * <p>
+ * Until the first source is installed, {@link #current()} skips the
+ * thread-local lookup, so unseeded generation costs the same as
+ * calling {@link java.util.concurrent.ThreadLocalRandom} directly.
+ * Once any thread has installed a source, the flag stays set and every
+ * {@link #current()} looks up the thread-local first, which costs about
+ * a nanosecond per call ({@code DistributionBenchmark.gaussianAfterSeeded}).
+ * Counting the active scopes instead would put a shared atomic counter
+ * on every {@link #call(RandomSource, Supplier)}.
+ */
+final class Scope {
+
+    private static final ThreadLocal<RandomSource> SOURCE = new ThreadLocal<>();
+
+    private static volatile boolean used;
+
+    private Scope() {
+        throw new AssertionError();
+    }
+
+    static RandomSource current() {
+        if (!used)
+            return ThreadLocalRandomSource.INSTANCE;
+        RandomSource source = SOURCE.get();
+        return source == null
+                ? ThreadLocalRandomSource.INSTANCE
+                : source;
+    }
+
+    static <T> T call(RandomSource source, Supplier<? extends T> supplier) {
+        if (!used)
+            used = true;
+        RandomSource previous = SOURCE.get();
+        SOURCE.set(source);
+        try {
+            return supplier.get();
+        } finally {
+            SOURCE.set(previous);
+        }
+    }
+
+}
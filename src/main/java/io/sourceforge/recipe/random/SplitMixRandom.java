@@ -0,0 +1,72 @@
+// SPDX-FileCopyrightText: © 2022 Nikola Vojičić <nikolavojicic@outlook.com>
+// SPDX-License-Identifier: MIT
+
+package io.sourceforge.recipe.random;
+
+/**
+ * Seedable {@link RandomSource} based on the SplitMix64 algorithm,
+ * the same one used by {@link java.util.SplittableRandom}.
+ * <p>
+ * Instances are not thread-safe.
+ */
+public final class SplitMixRandom implements RandomSource {
+
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private long seed;
+    private final long gamma;
+
+    public SplitMixRandom(long seed) {
+        this(seed, GOLDEN_GAMMA);
+    }
+
+    private SplitMixRandom(long seed, long gamma) {
+        this.seed  = seed;
+        this.gamma = gamma;
+    }
+
+    @Override
+    public long nextLong() {
+        return mix64(seed += gamma);
+    }
+
+    @Override
+    public int nextInt() {
+        return mix32(seed += gamma);
+    }
+
+    @Override
+    public SplitMixRandom split() {
+        return new SplitMixRandom(nextLong(), mixGamma(seed += gamma));
+    }
+
+    @Override
+    public SplitMixRandom fork(long index) {
+        long z = mix64(seed + mix64(index ^ gamma));
+        return new SplitMixRandom(z, mixGamma(z + GOLDEN_GAMMA));
+    }
+
+    /**
+     * @return {@code z} scrambled by the SplitMix64 finalizer, a bijection in which
+     *         every bit of the result depends on every bit of {@code z}
+     */
+    public static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private static int mix32(long z) {
+        z = (z ^ (z >>> 33)) * 0x62a9d9ed799705f5L;
+        return (int) (((z ^ (z >>> 28)) * 0xcb24d0a5c88c35b3L) >>> 32);
+    }
+
+    private static long mixGamma(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        z = (z ^ (z >>> 33)) | 1L;
+        int n = Long.bitCount(z ^ (z >>> 1));
+        return n < 24 ? z ^ 0xaaaaaaaaaaaaaaaaL : z;
+    }
+
+}
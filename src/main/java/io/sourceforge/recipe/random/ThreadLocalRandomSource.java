@@ -0,0 +1,72 @@
+// SPDX-FileCopyrightText: © 2022 Nikola Vojičić <nikolavojicic@outlook.com>
+// SPDX-License-Identifier: MIT
+
+package io.sourceforge.recipe.random;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import static java.util.concurrent.ThreadLocalRandom.current;
+
+/**
+ * Stateless source that delegates every call to {@link ThreadLocalRandom#current()}.
+ */
+enum ThreadLocalRandomSource implements RandomSource {
+
+    INSTANCE;
+
+    @Override
+    public long nextLong() {
+        return current().nextLong();
+    }
+
+    @Override
+    public RandomSource split() {
+        return new SplitMixRandom(current().nextLong());
+    }
+
+    @Override
+    public RandomSource fork(long index) {
+        return this;
+    }
+
+    @Override
+    public int nextInt() {
+        return current().nextInt();
+    }
+
+    @Override
+    public int nextInt(int bound) {
+        return current().nextInt(bound);
+    }
+
+    @Override
+    public int nextInt(int origin, int bound) {
+        return current().nextInt(origin, bound);
+    }
+
+    @Override
+    public long nextLong(long bound) {
+        return current().nextLong(bound);
+    }
+
+    @Override
+    public long nextLong(long origin, long bound) {
+        return current().nextLong(origin, bound);
+    }
+
+    @Override
+    public double nextDouble() {
+        return current().nextDouble();
+    }
+
+    @Override
+    public double nextDouble(double origin, double bound) {
+        return current().nextDouble(origin, bound);
+    }
+
+    @Override
+    public boolean nextBoolean() {
+        return current().nextBoolean();
+    }
+
+}
@@ -0,0 +1,149 @@
+// SPDX-FileCopyrightText: © 2022 Nikola Vojičić <nikolavojicic@outlook.com>
+// SPDX-License-Identifier: MIT
+
+package io.sourceforge.recipe.sink;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Growable output backed by a direct {@link ByteBuffer} that {@link RecordEncoder}s
+ * write encoded records into. Instances are reused from batch to batch and are
+ * not thread-safe.
+ */
+public final class ByteOutput {
+
+    private final byte[] digits = new byte[20];
+    private ByteBuffer buffer;
+
+    ByteOutput(int capacity) {
+        buffer = ByteBuffer.allocateDirect(capacity);
+    }
+
+    /**
+     * @return number of bytes written since the output was last cleared
+     */
+    public int size() {
+        return buffer.position();
+    }
+
+    /**
+     * Writes the given byte.
+     */
+    public ByteOutput put(byte b) {
+        ensure(1);
+        buffer.put(b);
+        return this;
+    }
+
+    /**
+     * Writes the given bytes.
+     *
+     * @throws NullPointerException if {@code bytes} is {@code null}
+     */
+    public ByteOutput put(byte[] bytes) {
+        ensure(bytes.length);
+        buffer.put(bytes);
+        return this;
+    }
+
+    /**
+     * Writes the decimal representation of the given value.
+     */
+    public ByteOutput putLong(long value) {
+        if (value == Long.MIN_VALUE)
+            return putAscii("-9223372036854775808");
+        ensure(20);
+        if (value < 0) {
+            buffer.put((byte) '-');
+            value = -value;
+        }
+        int i = digits.length;
+        do {
+            digits[--i] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        buffer.put(digits, i, digits.length - i);
+        return this;
+    }
+
+    /**
+     * Writes the characters of {@code chars}, each of which must be in the ASCII range.
+     *
+     * @throws NullPointerException if {@code chars} is {@code null}
+     */
+    public ByteOutput putAscii(CharSequence chars) {
+        int length = chars.length();
+        ensure(length);
+        for (int i = 0; i < length; i++)
+            buffer.put((byte) chars.charAt(i));
+        return this;
+    }
+
+    /**
+     * Writes the UTF-8 encoding of {@code chars}.
+     *
+     * @throws NullPointerException if {@code chars} is {@code null}
+     */
+    public ByteOutput putUtf8(CharSequence chars) {
+        int length = chars.length();
+        ensure(length * 3);
+        for (int i = 0; i < length; i++)
+            i = putUtf8(chars, i, chars.charAt(i));
+        return this;
+    }
+
+    /**
+     * Writes the UTF-8 encoding of the character at {@code index} of {@code chars},
+     * assuming that there is enough room. Returns the index of its last char.
+     */
+    int putUtf8(CharSequence chars, int index, char c) {
+        if (c < 0x80) {
+            buffer.put((byte) c);
+        } else if (c < 0x800) {
+            buffer.put((byte) (0xC0 | c >> 6));
+            buffer.put((byte) (0x80 | c & 0x3F));
+        } else if (Character.isHighSurrogate(c)
+                && index + 1 < chars.length()
+                && Character.isLowSurrogate(chars.charAt(index + 1))) {
+            int cp = Character.toCodePoint(c, chars.charAt(index + 1));
+            buffer.put((byte) (0xF0 | cp >> 18));
+            buffer.put((byte) (0x80 | cp >> 12 & 0x3F));
+            buffer.put((byte) (0x80 | cp >> 6 & 0x3F));
+            buffer.put((byte) (0x80 | cp & 0x3F));
+            return index + 1;
+        } else if (Character.isSurrogate(c)) {
+            buffer.put((byte) '?');
+        } else {
+            buffer.put((byte) (0xE0 | c >> 12));
+            buffer.put((byte) (0x80 | c >> 6 & 0x3F));
+            buffer.put((byte) (0x80 | c & 0x3F));
+        }
+        return index;
+    }
+
+    void ensure(int bytes) {
+        if (buffer.remaining() >= bytes)
+            return;
+        long needed = (long) buffer.position() + bytes;
+        if (needed > Integer.MAX_VALUE)
+            throw new IllegalStateException("Batch too large.");
+        int capacity = (int) Math.min(Integer.MAX_VALUE, Math.max(needed, 2L * buffer.capacity()));
+        ByteBuffer grown = ByteBuffer.allocateDirect(capacity);
+        buffer.flip();
+        grown.put(buffer);
+        buffer = grown;
+    }
+
+    void clear() {
+        buffer.clear();
+    }
+
+    /**
+     * @return buffer flipped for reading the bytes written since the output was last cleared
+     */
+    ByteBuffer flip() {
+        buffer.flip();
+        return buffer;
+    }
+
+}
@@ -0,0 +1,48 @@
+// SPDX-FileCopyrightText: © 2022 Nikola Vojičić <nikolavojicic@outlook.com>
+// SPDX-License-Identifier: MIT
+
+package io.sourceforge.recipe.sink;
+
+/**
+ * Comma-separated values written by {@link RecordEncoder#csv}.
+ */
+final class Csv {
+
+    private Csv() {
+        throw new AssertionError();
+    }
+
+    static void value(Object value, ByteOutput out) {
+        if (value == null)
+            return;
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            out.putLong(((Number) value).longValue());
+            return;
+        }
+        String s = value.toString();
+        if (!needsQuotes(s)) {
+            out.putUtf8(s);
+            return;
+        }
+        int length = s.length();
+        out.ensure(length * 6 + 2);
+        out.put((byte) '"');
+        for (int i = 0; i < length; i++) {
+            char c = s.charAt(i);
+            if (c == '"')
+                out.put((byte) '"');
+            i = out.putUtf8(s, i, c);
+        }
+        out.put((byte) '"');
+    }
+
+    private static boolean needsQuotes(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r')
+                return true;
+        }
+        return false;
+    }
+
+}
@@ -0,0 +1,35 @@
+// SPDX-FileCopyrightText: © 2022 Nikola Vojičić <nikolavojicic@outlook.com>
+// SPDX-License-Identifier: MIT
+
+package io.sourceforge.recipe.sink;
+
+import java.util.Map;
+import java.util.function.Function;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Named function that extracts a column or member of the records of a {@link RecordEncoder}.
+ */
+final class Field<T> {
+
+    final String name;
+    final Function<? super T, ?> function;
+
+    private Field(String name, Function<? super T, ?> function) {
+        this.name     = requireNonNull(name);
+        this.function = requireNonNull(function);
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> Field<T>[] of(Map<String, ? extends Function<? super T, ?>> functions) {
+        if (functions.isEmpty())
+            throw new IllegalArgumentException("Empty fields.");
+        Field<T>[] fields = (Field<T>[]) new Field<?>[functions.size()];
+        int i = 0;
+        for (Map.Entry<String, ? extends Function<? super T, ?>> e : functions.entrySet())
+            fields[i++] = new Field<>(e.getKey(), e.getValue());
+        return fields;
+    }
+
+}
@@ -0,0 +1,286 @@
+// SPDX-FileCopyrightText: © 2022 Nikola Vojičić <nikolavojicic@outlook.com>
+// SPDX-License-Identifier: MIT
+
+package io.sourceforge.recipe.sink;
+
+import io.sourceforge.recipe.random.RandomSource;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import static java.nio.file.StandardOpenOption.*;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Writes records produced by a recipe to a file, encoding them in batches
+ * into reusable direct buffers that are written through a {@link FileChannel}.
+ * <p>
+ * With {@linkplain #withParallelism(int, Executor) parallelism}, batches are
+ * generated and encoded by tasks submitted to an executor, and written back in
+ * order, so the file has the same layout as with a single thread. The recipe and
+ * the encoder are then called from several threads at once, so both must be
+ * thread-safe; recipes returned by {@code withSeed} are not.
+ * <p>
+ * For reproducible files, set the random source with {@link #withRandom(RandomSource)}
+ * instead: each batch then draws from its own fork of that source, so the contents
+ * depend only on the source, the batch size and the recipe, not on the parallelism
+ * or on the order in which batches are generated.
+ * <p>
+ * Instances are immutable, the {@code with*} methods return modified copies.
+ */
+public final class FileSink<T> {
+
+    private static final int INITIAL_BUFFER = 1 << 16;
+
+    private final RecordEncoder<? super T> encoder;
+    private final int batchSize;
+    private final int parallelism;
+    private final Executor executor;
+    private final Consumer<? super Progress> listener;
+    private final long intervalNanos;
+    private final RandomSource source;
+
+    private FileSink(RecordEncoder<? super T> encoder,
+                     int batchSize,
+                     int parallelism,
+                     Executor executor,
+                     Consumer<? super Progress> listener,
+                     long intervalNanos,
+                     RandomSource source)
+    {
+        this.encoder       = encoder;
+        this.batchSize     = batchSize;
+        this.parallelism   = parallelism;
+        this.executor      = executor;
+        this.listener      = listener;
+        this.intervalNanos = intervalNanos;
+        this.source        = source;
+    }
+
+    /**
+     * @return sequential sink that encodes records with the {@code encoder} in batches of 1024
+     * @throws NullPointerException if {@code encoder} is {@code null}
+     */
+    public static <T> FileSink<T> of(RecordEncoder<? super T> encoder) {
+        return new FileSink<>(requireNonNull(encoder), 1024, 1, null, null, 0, null);
+    }
+
+    /**
+     * @return copy of {@code this} sink that encodes {@code batchSize} records per buffer
+     * @throws IllegalArgumentException if {@code batchSize} is not positive
+     */
+    public FileSink<T> withBatchSize(int batchSize) {
+        if (batchSize <= 0)
+            throw new IllegalArgumentException("Batch size must be positive.");
+        return new FileSink<>(encoder, batchSize, parallelism, executor, listener, intervalNanos, source);
+    }
+
+    /**
+     * @return copy of {@code this} sink that generates and encodes up to {@code parallelism}
+     *         batches at once in tasks submitted to the {@code executor}
+     * @throws NullPointerException if {@code executor} is {@code null}
+     * @throws IllegalArgumentException if {@code parallelism} is not positive
+     */
+    public FileSink<T> withParallelism(int parallelism, Executor executor) {
+        requireNonNull(executor);
+        if (parallelism <= 0)
+            throw new IllegalArgumentException("Parallelism must be positive.");
+        return new FileSink<>(encoder, batchSize, parallelism, executor, listener, intervalNanos, source);
+    }
+
+    /**
+     * @return copy of {@code this} sink that passes the progress to the {@code listener}
+     *         after a batch is written, at most once per {@code interval}, and once more at the end
+     * @throws NullPointerException if {@code listener} or {@code unit} is {@code null}
+     * @throws IllegalArgumentException if {@code interval} is negative
+     */
+    public FileSink<T> withProgress(Consumer<? super Progress> listener, long interval, TimeUnit unit) {
+        requireNonNull(listener);
+        if (interval < 0)
+            throw new IllegalArgumentException("Negative interval.");
+        return new FileSink<>(encoder, batchSize, parallelism, executor, listener, unit.toNanos(interval), source);
+    }
+
+    /**
+     * @return copy of {@code this} sink whose batches draw random values from forks of the {@code source},
+     *         the batch with index {@code i} from {@code source.fork(i)}
+     * @throws NullPointerException if {@code source} is {@code null}
+     * @see RandomSource#fork(long)
+     */
+    public FileSink<T> withRandom(RandomSource source) {
+        requireNonNull(source);
+        return new FileSink<>(encoder, batchSize, parallelism, executor, listener, intervalNanos, source);
+    }
+
+    /**
+     * Writes {@code count} records produced by the {@code recipe} to the file at {@code path},
+     * replacing its contents.
+     *
+     * @return final progress
+     * @throws NullPointerException if {@code recipe} or {@code path} is {@code null}
+     * @throws IllegalArgumentException if {@code count} is negative
+     * @throws IOException if the file cannot be written
+     */
+    public Progress write(Supplier<? extends T> recipe, long count, Path path) throws IOException {
+        requireNonNull(recipe);
+        if (count < 0)
+            throw new IllegalArgumentException("Negative count.");
+        try (FileChannel channel = FileChannel.open(path, CREATE, WRITE, TRUNCATE_EXISTING)) {
+            return write(recipe, count, channel);
+        }
+    }
+
+    /**
+     * Writes {@code count} records produced by the {@code recipe} to the {@code channel},
+     * which is left open.
+     *
+     * @return final progress
+     * @throws NullPointerException if {@code recipe} or {@code channel} is {@code null}
+     * @throws IllegalArgumentException if {@code count} is negative
+     * @throws IOException if the channel cannot be written
+     */
+    public Progress write(Supplier<? extends T> recipe, long count, WritableByteChannel channel) throws IOException {
+        requireNonNull(recipe);
+        requireNonNull(channel);
+        if (count < 0)
+            throw new IllegalArgumentException("Negative count.");
+        Writer writer = new Writer(channel, count);
+        ByteOutput out = new ByteOutput(INITIAL_BUFFER);
+        encoder.header(out);
+        writer.write(out);
+        if (parallelism == 1)
+            sequential(recipe, count, writer, out);
+        else
+            parallel(recipe, count, writer);
+        return writer.finish();
+    }
+
+    private void sequential(Supplier<? extends T> recipe, long count, Writer writer, ByteOutput out)
+            throws IOException
+    {
+        long batch = 0;
+        for (long start = 0; start < count; start += batchSize) {
+            int size = (int) Math.min(batchSize, count - start);
+            encode(recipe, batch++, size, out);
+            writer.write(out);
+            writer.advance(size);
+        }
+    }
+
+    private void parallel(Supplier<? extends T> recipe, long count, Writer writer) throws IOException {
+        int window = 2 * parallelism;
+        ConcurrentLinkedQueue<ByteOutput> pool = new ConcurrentLinkedQueue<>();
+        for (int i = 0; i < window; i++)
+            pool.add(new ByteOutput(INITIAL_BUFFER));
+        ArrayDeque<CompletableFuture<ByteOutput>> pending = new ArrayDeque<>(window);
+        ArrayDeque<Integer> sizes = new ArrayDeque<>(window);
+        AtomicBoolean stopped = new AtomicBoolean();
+        long next = 0;
+        long batch = 0;
+        try {
+            while (next < count || !pending.isEmpty()) {
+                while (next < count && pending.size() < window) {
+                    int size = (int) Math.min(batchSize, count - next);
+                    // never empty: every buffer is either in the pool or held by a pending batch
+                    ByteOutput out = pool.poll();
+                    long index = batch++;
+                    pending.add(CompletableFuture.supplyAsync(
+                            () -> stopped.get() ? out : encode(recipe, index, size, out), executor));
+                    sizes.add(size);
+                    next += size;
+                }
+                ByteOutput out = join(pending.peek());
+                pending.poll();
+                writer.write(out);
+                writer.advance(sizes.poll());
+                pool.add(out);
+            }
+        } finally {
+            // running tasks can't be cancelled: let the queued ones skip their batch and wait for all,
+            // so that none of them calls the recipe or touches a buffer after this method returns
+            stopped.set(true);
+            for (CompletableFuture<ByteOutput> future : pending)
+                future.handle((out, ex) -> out).join();
+        }
+    }
+
+    private ByteOutput encode(Supplier<? extends T> recipe, long batch, int size, ByteOutput out) {
+        if (source != null)
+            return RandomSource.call(source.fork(batch), () -> encode(recipe, size, out));
+        return encode(recipe, size, out);
+    }
+
+    private ByteOutput encode(Supplier<? extends T> recipe, int size, ByteOutput out) {
+        out.clear();
+        for (int i = 0; i < size; i++)
+            encoder.encode(recipe.get(), out);
+        return out;
+    }
+
+    private static ByteOutput join(CompletableFuture<ByteOutput> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException)
+                throw (RuntimeException) cause;
+            if (cause instanceof Error)
+                throw (Error) cause;
+            throw ex;
+        }
+    }
+
+    private final class Writer {
+
+        private final WritableByteChannel channel;
+        private final long total;
+        private final long start = System.nanoTime();
+        private long lastReport = start;
+        private long records;
+        private long bytes;
+
+        Writer(WritableByteChannel channel, long total) {
+            this.channel = channel;
+            this.total   = total;
+        }
+
+        void write(ByteOutput out) throws IOException {
+            ByteBuffer buffer = out.flip();
+            while (buffer.hasRemaining())
+                bytes += channel.write(buffer);
+            out.clear();
+        }
+
+        void advance(int size) {
+            records += size;
+            if (listener == null || records == total)
+                return;
+            long now = System.nanoTime();
+            if (now - lastReport >= intervalNanos) {
+                lastReport = now;
+                listener.accept(new Progress(records, total, bytes, now - start));
+            }
+        }
+
+        Progress finish() {
+            Progress progress = new Progress(records, total, bytes, System.nanoTime() - start);
+            if (listener != null)
+                listener.accept(progress);
+            return progress;
+        }
+
+    }
+
+}
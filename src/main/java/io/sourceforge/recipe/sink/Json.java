@@ -0,0 +1,59 @@
+// SPDX-FileCopyrightText: © 2022 Nikola Vojičić <nikolavojicic@outlook.com>
+// SPDX-License-Identifier: MIT
+
+package io.sourceforge.recipe.sink;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * JSON values written by {@link RecordEncoder#jsonLines}.
+ */
+final class Json {
+
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private Json() {
+        throw new AssertionError();
+    }
+
+    static void value(Object value, ByteOutput out) {
+        if (value == null) {
+            out.putAscii("null");
+        } else if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            out.putLong(((Number) value).longValue());
+        } else if (value instanceof Double || value instanceof Float) {
+            double d = ((Number) value).doubleValue();
+            out.putAscii(Double.isFinite(d) ? value.toString() : "null");
+        } else if (value instanceof Number || value instanceof Boolean) {
+            out.putAscii(value.toString());
+        } else {
+            string(value.toString(), out);
+        }
+    }
+
+    private static void string(String s, ByteOutput out) {
+        int length = s.length();
+        out.ensure(length * 6 + 2);
+        out.put((byte) '"');
+        for (int i = 0; i < length; i++) {
+            char c = s.charAt(i);
+            if (c == '"' || c == '\\') {
+                out.put((byte) '\\').put((byte) c);
+            } else if (c < 0x20) {
+                out.put((byte) '\\');
+                switch (c) {
+                    case '\n': out.put((byte) 'n'); break;
+                    case '\r': out.put((byte) 'r'); break;
+                    case '\t': out.put((byte) 't'); break;
+                    default:
+                        out.put((byte) 'u').put((byte) '0').put((byte) '0')
+                           .put(HEX[c >> 4]).put(HEX[c & 0xF]);
+                }
+            } else {
+                i = out.putUtf8(s, i, c);
+            }
+        }
+        out.put((byte) '"');
+    }
+
+}
@@ -0,0 +1,85 @@
+// SPDX-FileCopyrightText: © 2022 Nikola Vojičić <nikolavojicic@outlook.com>
+// SPDX-License-Identifier: MIT
+
+package io.sourceforge.recipe.sink;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Immutable snapshot of the progress of a {@link FileSink} write.
+ */
+public final class Progress {
+
+    private final long records;
+    private final long total;
+    private final long bytes;
+    private final long elapsedNanos;
+
+    Progress(long records, long total, long bytes, long elapsedNanos) {
+        this.records      = records;
+        this.total        = total;
+        this.bytes        = bytes;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * @return number of records written so far
+     */
+    public long records() {
+        return records;
+    }
+
+    /**
+     * @return number of records to write in total
+     */
+    public long total() {
+        return total;
+    }
+
+    /**
+     * @return number of bytes written so far, including the header
+     */
+    public long bytes() {
+        return bytes;
+    }
+
+    /**
+     * @return nanoseconds elapsed since the write started
+     */
+    public long elapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * @return {@code true} if all records have been written
+     */
+    public boolean done() {
+        return records == total;
+    }
+
+    /**
+     * @return average number of records written per second
+     */
+    public double recordsPerSecond() {
+        return perSecond(records);
+    }
+
+    /**
+     * @return average number of bytes written per second
+     */
+    public double bytesPerSecond() {
+        return perSecond(bytes);
+    }
+
+    private double perSecond(long count) {
+        return elapsedNanos == 0 ? 0 : count * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d/%d records, %d bytes in %.3f s (%.0f records/s, %.1f MiB/s)",
+                             records, total, bytes, elapsedNanos / 1e9,
+                             recordsPerSecond(), bytesPerSecond() / (1 << 20));
+    }
+
+}
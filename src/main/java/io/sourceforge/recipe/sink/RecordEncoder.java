@@ -0,0 +1,97 @@
+// SPDX-FileCopyrightText: © 2022 Nikola Vojičić <nikolavojicic@outlook.com>
+// SPDX-License-Identifier: MIT
+
+package io.sourceforge.recipe.sink;
+
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Encodes records into the bytes of a {@link FileSink}.
+ * Implementations must be thread-safe when used for parallel encoding.
+ */
+@FunctionalInterface
+public interface RecordEncoder<T> {
+
+    /**
+     * Writes the encoding of {@code record}, including its line terminator, to {@code out}.
+     */
+    void encode(T record, ByteOutput out);
+
+    /**
+     * Writes bytes that precede the first record to {@code out}, does nothing by default.
+     */
+    default void header(ByteOutput out) {
+    }
+
+    // ---------------- FACTORIES ----------------
+
+    /**
+     * @return encoder that writes each record as a line of comma-separated values returned by
+     *         the {@code columns} functions, in iteration order, preceded by a header with their names;
+     *         values that contain commas, quotes or line breaks are quoted, {@code null}s are empty
+     * @throws NullPointerException if {@code columns} is {@code null} or contains {@code null}s
+     * @throws IllegalArgumentException if {@code columns} is empty
+     */
+    static <T> RecordEncoder<T>
+        csv
+            (Map<String, ? extends Function<? super T, ?>> columns)
+    {
+        Field<T>[] fields = Field.of(columns);
+        ByteOutput header = new ByteOutput(64);
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) header.put((byte) ',');
+            Csv.value(fields[i].name, header);
+        }
+        header.put((byte) '\n');
+        byte[] headerBytes = new byte[header.size()];
+        header.flip().get(headerBytes);
+        return new RecordEncoder<T>() {
+            @Override
+            public void encode(T record, ByteOutput out) {
+                for (int i = 0; i < fields.length; i++) {
+                    if (i > 0) out.put((byte) ',');
+                    Csv.value(fields[i].function.apply(record), out);
+                }
+                out.put((byte) '\n');
+            }
+
+            @Override
+            public void header(ByteOutput out) {
+                out.put(headerBytes);
+            }
+        };
+    }
+
+    /**
+     * @return encoder that writes each record as a line with a JSON object whose members are
+     *         the values returned by the {@code fields} functions, in iteration order;
+     *         numbers and booleans are written as such, non-finite numbers as {@code null},
+     *         everything else as strings
+     * @throws NullPointerException if {@code fields} is {@code null} or contains {@code null}s
+     * @throws IllegalArgumentException if {@code fields} is empty
+     */
+    static <T> RecordEncoder<T>
+        jsonLines
+            (Map<String, ? extends Function<? super T, ?>> fields)
+    {
+        Field<T>[] members = Field.of(fields);
+        byte[][] names = new byte[members.length][];
+        for (int i = 0; i < members.length; i++) {
+            ByteOutput name = new ByteOutput(32);
+            name.put((byte) (i == 0 ? '{' : ','));
+            Json.value(members[i].name, name);
+            name.put((byte) ':');
+            names[i] = new byte[name.size()];
+            name.flip().get(names[i]);
+        }
+        return (record, out) -> {
+            for (int i = 0; i < members.length; i++) {
+                out.put(names[i]);
+                Json.value(members[i].function.apply(record), out);
+            }
+            out.put((byte) '}').put((byte) '\n');
+        };
+    }
+
+}
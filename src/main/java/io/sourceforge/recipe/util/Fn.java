@@ -106,4 +106,22 @@ public class Fn {
         return x -> Recipe.ofValue(function.apply(x));
     }
 
+    /**
+     * @return function that caches up to {@code maximumSize} results of the {@code function},
+     *         evicting the least recently used ones, plus one result per enum constant
+     * @throws NullPointerException if {@code function} is {@code null}
+     * @throws IllegalArgumentException if {@code maximumSize} is not positive
+     */
+    public static <T, R> Memo<T, R>
+        memo
+            (Function<? super   T,
+                      ? extends R> function,
+             int                   maximumSize)
+    {
+        requireNonNull(function);
+        if (maximumSize <= 0)
+            throw new IllegalArgumentException("Maximum size must be positive.");
+        return new Memo<>(function, maximumSize);
+    }
+
 }
@@ -0,0 +1,201 @@
+// SPDX-FileCopyrightText: © 2022 Nikola Vojičić <nikolavojicic@outlook.com>
+// SPDX-License-Identifier: MIT
+
+package io.sourceforge.recipe.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Function that caches the results of another function in a bounded, thread-safe cache.
+ * <p>
+ * Keys are spread over up to 64 independently locked stripes of at least 16 entries,
+ * each evicting its least recently used entry when full, so small caches are exact LRU.
+ * A stripe also remembers its last entry, which is returned without locking when the
+ * same key instance is requested again. Enum keys are kept apart, in
+ * arrays indexed by ordinal that are never evicted and don't count towards the size.
+ * <p>
+ * The function is called at most once per key while its result stays cached,
+ * and it should not depend on anything but the key.
+ *
+ * @see Fn#memo(Function, int)
+ */
+public final class Memo<T, R> implements Function<T, R> {
+
+    private static final Object NULL = new Object();
+
+    private static final int MAX_STRIPES = 64;
+
+    private static final int MIN_STRIPE_SIZE = 16;
+
+    private final Function<? super T, ? extends R> function;
+    private final int maximumSize;
+    private final Stripe[] stripes;
+    private final int mask;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private final ClassValue<AtomicReferenceArray<Object>> enums = new ClassValue<AtomicReferenceArray<Object>>() {
+        @Override
+        protected AtomicReferenceArray<Object> computeValue(Class<?> type) {
+            return new AtomicReferenceArray<>(type.getEnumConstants().length);
+        }
+    };
+
+    Memo(Function<? super T, ? extends R> function, int maximumSize) {
+        this.function    = function;
+        this.maximumSize = maximumSize;
+        int count = Integer.highestOneBit(Math.min(MAX_STRIPES, Math.max(1, maximumSize / MIN_STRIPE_SIZE)));
+        this.stripes = new Stripe[count];
+        this.mask    = count - 1;
+        for (int i = 0; i < count; i++)
+            stripes[i] = new Stripe(maximumSize / count + (i < maximumSize % count ? 1 : 0), evictions);
+    }
+
+    @Override
+    public R apply(T key) {
+        if (key instanceof Enum)
+            return ordinal((Enum<?>) key);
+        Object k = key == null ? NULL : key;
+        int h = k.hashCode();
+        Stripe stripe = stripes[(h ^ h >>> 16) & mask];
+        Last last = stripe.last;
+        if (last != null && last.key == k) {
+            hits.increment();
+            return unwrap(last.value);
+        }
+        synchronized (stripe) {
+            Last entry = stripe.get(k);
+            if (entry != null) {
+                hits.increment();
+            } else {
+                misses.increment();
+                entry = new Last(k, wrap(function.apply(key)));
+                stripe.put(k, entry);
+            }
+            stripe.last = entry;
+            return unwrap(entry.value);
+        }
+    }
+
+    private R ordinal(Enum<?> key) {
+        AtomicReferenceArray<Object> values = enums.get(key.getDeclaringClass());
+        int i = key.ordinal();
+        Object value = values.get(i);
+        if (value == null) {
+            synchronized (values) {
+                value = values.get(i);
+                if (value == null) {
+                    misses.increment();
+                    @SuppressWarnings("unchecked")
+                    T k = (T) key;
+                    value = wrap(function.apply(k));
+                    values.set(i, value);
+                    return unwrap(value);
+                }
+            }
+        }
+        hits.increment();
+        return unwrap(value);
+    }
+
+    private static Object wrap(Object value) {
+        return value == null ? NULL : value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <R> R unwrap(Object value) {
+        return value == NULL ? null : (R) value;
+    }
+
+    /**
+     * @return number of calls answered from the cache
+     */
+    public long hits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return number of calls that called the function
+     */
+    public long misses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return number of entries evicted to stay within the maximum size
+     */
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * @return number of cached non-enum keys, at most the maximum size
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes)
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        return size;
+    }
+
+    @Override
+    public String toString() {
+        return "Memo[size=" + size()
+                + ", maximumSize=" + maximumSize
+                + ", hits=" + hits()
+                + ", misses=" + misses()
+                + ", evictions=" + evictions()
+                + ']';
+    }
+
+    /**
+     * Cached entry, kept as the map value so that it can also be remembered
+     * as the last entry of its stripe without allocating.
+     */
+    private static final class Last {
+
+        final Object key;
+        final Object value;
+
+        Last(Object key, Object value) {
+            this.key   = key;
+            this.value = value;
+        }
+
+    }
+
+    private static final class Stripe extends LinkedHashMap<Object, Last> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int capacity;
+        private final transient LongAdder evictions;
+
+        volatile transient Last last;
+
+        Stripe(int capacity, LongAdder evictions) {
+            super(16, 0.75f, true);
+            this.capacity  = capacity;
+            this.evictions = evictions;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Object, Last> eldest) {
+            if (size() <= capacity)
+                return false;
+            evictions.increment();
+            if (last == eldest.getValue())
+                last = null;
+            return true;
+        }
+
+    }
+
+}
@@ -0,0 +1,104 @@
+// SPDX-FileCopyrightText: © 2022 Nikola Vojičić <nikolavojicic@outlook.com>
+// SPDX-License-Identifier: MIT
+
+package io.sourceforge.recipe;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SuppressWarnings({"ConstantConditions", "ResultOfMethodCallIgnored"})
+class DictionaryTest {
+
+    @TempDir
+    Path dir;
+
+    private Path write(String name, String content) throws IOException {
+        return Files.write(dir.resolve(name), content.getBytes(UTF_8));
+    }
+
+    @Test
+    void uniform() throws IOException {
+        Path path = write("words.txt", "﻿alpha\r\nβeta\n\n🙂 gamma");
+        Recipe<String> rec = Recipe.fromDictionary(path);
+        assertEquals(
+                new HashSet<>(Arrays.asList("alpha", "βeta", "🙂 gamma")),
+                new HashSet<>(rec.take(300)));
+        assertTrue(Files.exists(dir.resolve("words.txt.idx")));
+        assertEquals(rec.withSeed(3).take(20), rec.withSeed(3).take(20));
+    }
+
+    @Test
+    void uniform_persisted_index() throws IOException {
+        Path path = write("words.txt", "a\nb\n");
+        Recipe.fromDictionary(path);
+        Path index = dir.resolve("words.txt.idx");
+        FileTime modified = Files.getLastModifiedTime(index);
+        assertEquals(new HashSet<>(Arrays.asList("a", "b")), new HashSet<>(Recipe.fromDictionary(path).take(100)));
+        assertEquals(modified, Files.getLastModifiedTime(index));
+        write("words.txt", "ccc\n");
+        assertEquals("ccc", Recipe.fromDictionary(path).get());
+    }
+
+    @Test
+    void uniform_persisted_index_same_size_and_time() throws IOException {
+        Path path = write("words.txt", "ab\ncd\nef\n");
+        Recipe.fromDictionary(path);
+        FileTime modified = Files.getLastModifiedTime(path);
+        write("words.txt", "abcdefgh\n");
+        Files.setLastModifiedTime(path, modified);
+        assertEquals(new HashSet<>(Arrays.asList("abcdefgh")), new HashSet<>(Recipe.fromDictionary(path).take(200)));
+    }
+
+    @Test
+    void uniform_persisted_index_same_size_time_and_samples() throws IOException {
+        String head = String.join("", Collections.nCopies(5000, "h")) + "\n";
+        String tail = String.join("", Collections.nCopies(5000, "t")) + "\n";
+        Path path = write("words.txt", head + "bb\ncc\n" + tail);
+        Recipe.fromDictionary(path);
+        FileTime modified = Files.getLastModifiedTime(path);
+        write("words.txt", head + "bbbcc\n" + tail);
+        Files.setLastModifiedTime(path, modified);
+        assertEquals(
+                new HashSet<>(Arrays.asList(head.trim(), "bbbcc", tail.trim())),
+                new HashSet<>(Recipe.fromDictionary(path).take(200)));
+    }
+
+    @Test
+    void weighted() throws IOException {
+        Path path = write("cities.tsv", "Paris\tFR\t3\nNice\tFR\t1\nNowhere\tXX\t0\n");
+        Recipe<String> rec = Recipe.fromDictionary(path, '\t', 2);
+        Map<String, Integer> counts = new HashMap<>();
+        for (String city : rec.take(40_000))
+            counts.merge(city, 1, Integer::sum);
+        assertNull(counts.get("Nowhere"));
+        assertEquals(0.75, counts.get("Paris") / 40_000.0, 0.02);
+        assertTrue(Files.exists(dir.resolve("cities.tsv.2.idx")));
+    }
+
+    @Test
+    void invalid() throws IOException {
+        assertThrows(IllegalArgumentException.class, () -> Recipe.fromDictionary(write("empty.txt", "\n\r\n")));
+        Path path = write("bad.csv", "a,1\nb\n");
+        assertThrows(IllegalArgumentException.class, () -> Recipe.fromDictionary(path, ',', 1));
+        assertThrows(IllegalArgumentException.class, () -> Recipe.fromDictionary(write("neg.csv", "a,-1\n"), ',', 1));
+        assertThrows(IllegalArgumentException.class, () -> Recipe.fromDictionary(write("zero.csv", "a,0\n"), ',', 1));
+        assertThrows(IllegalArgumentException.class, () -> Recipe.fromDictionary(path, ',', 0));
+        assertThrows(IllegalArgumentException.class, () -> Recipe.fromDictionary(path, 'é', 1));
+        assertThrows(IOException.class, () -> Recipe.fromDictionary(dir.resolve("missing.txt")));
+        assertThrows(NullPointerException.class, () -> Recipe.fromDictionary(null));
+    }
+
+}
@@ -0,0 +1,162 @@
+// SPDX-FileCopyrightText: © 2022 Nikola Vojičić <nikolavojicic@outlook.com>
+// SPDX-License-Identifier: MIT
+
+package io.sourceforge.recipe;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.IntSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SuppressWarnings("ResultOfMethodCallIgnored")
+class DistributionsTest {
+
+    private static final int SAMPLES = 200_000;
+
+    private static final int BINS = 20;
+
+    /**
+     * Asserts that the chi-square statistic of the {@code observed} counts is below
+     * the 0.999 quantile of its distribution (Wilson–Hilferty approximation).
+     */
+    private static void assertChiSquare(long[] observed, double[] probabilities) {
+        double total = 0, statistic = 0;
+        for (long count : observed)
+            total += count;
+        for (int i = 0; i < observed.length; i++) {
+            double expected = total * probabilities[i];
+            assertTrue(expected >= 5, "Bin too small.");
+            statistic += (observed[i] - expected) * (observed[i] - expected) / expected;
+        }
+        int df = observed.length - 1;
+        double c = 2.0 / (9 * df);
+        double critical = df * Math.pow(1 - c + 3.09 * Math.sqrt(c), 3);
+        assertTrue(statistic < critical, "Chi-square " + statistic + " exceeds " + critical + ".");
+    }
+
+    /**
+     * Bins samples into {@link #BINS} equiprobable bins, given the distribution function.
+     */
+    private static void assertContinuous(Recipe<Double> rec, DoubleUnaryOperator cdf) {
+        long[] observed = new long[BINS];
+        for (double x : rec.withSeed(42).take(SAMPLES))
+            observed[Math.min(BINS - 1, (int) (cdf.applyAsDouble(x) * BINS))]++;
+        double[] probabilities = new double[BINS];
+        java.util.Arrays.fill(probabilities, 1.0 / BINS);
+        assertChiSquare(observed, probabilities);
+    }
+
+    /**
+     * Bins samples by value, merging the tails with small expected counts into the first and the last bin.
+     */
+    private static void assertDiscrete(IntSupplier rec, double[] pmf) {
+        int low = 0, high = pmf.length - 1;
+        while (pmf[low] * SAMPLES < 5)
+            low++;
+        while (pmf[high] * SAMPLES < 5)
+            high--;
+        double lowMass = 0, highMass = 0;
+        for (int k = 0; k <= low; k++)
+            lowMass += pmf[k];
+        for (int k = high; k < pmf.length; k++)
+            highMass += pmf[k];
+        long[] observed = new long[high - low + 1];
+        double[] probabilities = new double[observed.length];
+        for (int k = low; k <= high; k++)
+            probabilities[k - low] = pmf[k];
+        probabilities[0] = lowMass;
+        probabilities[observed.length - 1] = highMass;
+        Recipe<Integer> boxed = IntRecipe.of(rec).boxed();
+        for (int k : boxed.withSeed(42).take(SAMPLES))
+            observed[Math.max(low, Math.min(high, k)) - low]++;
+        assertChiSquare(observed, probabilities);
+    }
+
+    @Test
+    void normalCdf_normalQuantile() {
+        assertEquals(0.5, Distributions.normalCdf(0), 1e-16);
+        assertEquals(0.024997895148220435, Distributions.normalCdf(-1.96), 1e-15);
+        assertEquals(7.619853024160527e-24, Distributions.normalCdf(-10), 1e-32);
+        assertEquals(0.9999683287581669, Distributions.normalCdf(4), 1e-15);
+        for (double x = -30; x <= 0; x += 0.25)
+            assertEquals(x, Distributions.normalQuantile(Distributions.normalCdf(x)), 1e-7 * Math.max(1, Math.abs(x)));
+    }
+
+    @Test
+    void gaussian() {
+        assertContinuous(DoubleRecipe.gaussian(10, 2).boxed(), x -> Distributions.normalCdf((x - 10) / 2));
+    }
+
+    @Test
+    void gaussian_truncated() {
+        for (double[] bounds : new double[][]{{-1, 2}, {1.5, 3}, {8, 9}, {-9, -8}, {-50, 50}}) {
+            double a = bounds[0], b = bounds[1];
+            Recipe<Double> rec = DoubleRecipe.gaussian(0, 1, a, b).boxed();
+            for (double x : rec.take(1000))
+                assertTrue(x >= a && x < b);
+            double pa = Distributions.normalCdf(a), pb = Distributions.normalCdf(b);
+            if (a > 0) {
+                double qa = Distributions.normalCdf(-a), qb = Distributions.normalCdf(-b);
+                assertContinuous(rec, x -> (qa - Distributions.normalCdf(-x)) / (qa - qb));
+            } else {
+                assertContinuous(rec, x -> (Distributions.normalCdf(x) - pa) / (pb - pa));
+            }
+        }
+    }
+
+    @Test
+    void exponential() {
+        assertContinuous(DoubleRecipe.exponential(2).boxed(), x -> -Math.expm1(-2 * x));
+        Recipe<Double> truncated = DoubleRecipe.exponential(1, 5, 6).boxed();
+        for (double x : truncated.take(1000))
+            assertTrue(x >= 5 && x < 6);
+        assertContinuous(truncated, x -> -Math.expm1(-(x - 5)) / -Math.expm1(-1));
+    }
+
+    @Test
+    void zipf() {
+        for (double exponent : new double[]{0, 0.8, 1, 2.5}) {
+            int n = 30;
+            double[] pmf = new double[n + 1];
+            double norm = 0;
+            for (int k = 1; k <= n; k++)
+                norm += pmf[k] = Math.pow(k, -exponent);
+            for (int k = 1; k <= n; k++)
+                pmf[k] /= norm;
+            assertDiscrete(LongRecipe.zipf(n, exponent).mapToInt(k -> (int) k), pmf);
+        }
+        LongRecipe large = LongRecipe.zipf(Long.MAX_VALUE, 1.2);
+        for (int i = 0; i < 1000; i++)
+            assertTrue(large.getAsLong() >= 1);
+        assertEquals(1, LongRecipe.zipf(1, 1).getAsLong());
+    }
+
+    @Test
+    void poisson() {
+        for (double mean : new double[]{0.5, 3.5, 9.99, 10, 100, 5000}) {
+            int n = (int) (mean + 12 * Math.sqrt(mean) + 20);
+            double[] pmf = new double[n];
+            for (int k = 0; k < n; k++)
+                pmf[k] = Math.exp(-mean + k * Math.log(mean) - Distributions.logFactorial(k));
+            assertDiscrete(IntRecipe.poisson(mean), pmf);
+        }
+        assertEquals(0, IntRecipe.poisson(0).getAsInt());
+    }
+
+    @Test
+    void invalid() {
+        assertThrows(IllegalArgumentException.class, () -> DoubleRecipe.gaussian(0, 0));
+        assertThrows(IllegalArgumentException.class, () -> DoubleRecipe.gaussian(Double.NaN, 1));
+        assertThrows(IllegalArgumentException.class, () -> DoubleRecipe.gaussian(0, 1, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> DoubleRecipe.gaussian(0, 1, 50, 60));
+        assertThrows(IllegalArgumentException.class, () -> DoubleRecipe.exponential(-1));
+        assertThrows(IllegalArgumentException.class, () -> DoubleRecipe.exponential(1, 2, 1));
+        assertThrows(IllegalArgumentException.class, () -> LongRecipe.zipf(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> LongRecipe.zipf(10, -1));
+        assertThrows(IllegalArgumentException.class, () -> IntRecipe.poisson(-1));
+        assertThrows(IllegalArgumentException.class, () -> IntRecipe.poisson(Double.NaN));
+    }
+
+}
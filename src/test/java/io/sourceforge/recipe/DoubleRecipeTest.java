@@ -0,0 +1,55 @@
+// SPDX-FileCopyrightText: © 2022 Nikola Vojičić <nikolavojicic@outlook.com>
+// SPDX-License-Identifier: MIT
+
+package io.sourceforge.recipe;
+
+import io.sourceforge.recipe.exception.RecipeFilterException;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.DoubleStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SuppressWarnings("ResultOfMethodCallIgnored")
+class DoubleRecipeTest {
+
+    @Test
+    void doubles_invalid() {
+        assertThrows(IllegalArgumentException.class, () -> DoubleRecipe.doubles(1, 1));
+        assertThrows(IllegalArgumentException.class, () -> DoubleRecipe.doubles(Double.NaN, 1));
+    }
+
+    @Test
+    void doubles_bounded() {
+        assertTrue(DoubleStream
+                .generate(DoubleRecipe.doubles(-1, 1))
+                .limit(1000)
+                .allMatch(x -> x >= -1 && x < 1));
+        assertTrue(DoubleStream
+                .generate(DoubleRecipe.doubles())
+                .limit(1000)
+                .allMatch(x -> x >= 0 && x < 1));
+    }
+
+    @Test
+    void map_bind_filter() {
+        DoubleRecipe rec = DoubleRecipe
+                .doubles()
+                .map(x -> x * 10)
+                .bind(x -> () -> x, Double::sum)
+                .filter(x -> x >= 10);
+        assertTrue(DoubleStream.generate(rec).limit(100).allMatch(x -> x >= 10 && x < 20));
+        assertThrows(RecipeFilterException.class, DoubleRecipe.doubles().filter(x -> x > 1)::getAsDouble);
+        assertEquals(3, DoubleRecipe.ofValue(3.5).mapToLong(x -> (long) x).getAsLong());
+        assertEquals(3.5, DoubleRecipe.ofValue(3.5).boxed().get());
+    }
+
+    @Test
+    void arrayOf() {
+        assertArrayEquals(new double[]{7.0, 7.0, 7.0}, DoubleRecipe.arrayOf(() -> 3, () -> 7.0).get(), 0);
+        assertEquals(0, DoubleRecipe.arrayOf(() -> 0, () -> 7.0).get().length);
+        assertThrows(IllegalArgumentException.class, () -> DoubleRecipe.arrayOf(() -> -1, () -> 7.0).get());
+        assertThrows(NullPointerException.class, () -> DoubleRecipe.arrayOf(null, () -> 7.0));
+    }
+
+}
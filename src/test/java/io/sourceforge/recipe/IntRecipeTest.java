@@ -0,0 +1,171 @@
+// SPDX-FileCopyrightText: © 2022 Nikola Vojičić <nikolavojicic@outlook.com>
+// SPDX-License-Identifier: MIT
+
+package io.sourceforge.recipe;
+
+import io.sourceforge.recipe.exception.RecipeFilterException;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toSet;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SuppressWarnings({
+        "ConstantConditions",
+        "ResultOfMethodCallIgnored"})
+class IntRecipeTest {
+
+    @Test
+    void ofValue_test() {
+        assertEquals(5, IntRecipe.ofValue(5).getAsInt());
+    }
+
+    @Test
+    void ints_invalid() {
+        assertThrows(IllegalArgumentException.class, () -> IntRecipe.ints(5, 5));
+        assertThrows(IllegalArgumentException.class, () -> IntRecipe.ints(5, 4));
+    }
+
+    @Test
+    void ints_bounded() {
+        assertEquals(
+                IntStream.range(-2, 3).boxed().collect(toSet()),
+                IntStream.generate(IntRecipe.ints(-2, 3)).limit(1000).boxed().collect(toSet()));
+    }
+
+    @Test
+    void map_null() {
+        IntRecipe rec = IntRecipe.ofValue(5);
+        assertThrows(NullPointerException.class, () -> rec.map(null));
+        assertThrows(NullPointerException.class, () -> rec.mapToObj(null));
+        assertThrows(NullPointerException.class, () -> rec.mapToLong(null));
+        assertThrows(NullPointerException.class, () -> rec.mapToDouble(null));
+    }
+
+    @Test
+    void map_nonNull() {
+        IntRecipe rec = IntRecipe.ofValue(5).map(x -> x + 1);
+        assertEquals(6, rec.getAsInt());
+        assertEquals("6", rec.mapToObj(Integer::toString).get());
+        assertEquals(6L, rec.mapToLong(x -> x).getAsLong());
+        assertEquals(6.0, rec.mapToDouble(x -> x).getAsDouble());
+    }
+
+    @Test
+    void bind_null() {
+        IntRecipe rec = IntRecipe.ofValue(5);
+        assertThrows(NullPointerException.class, () -> rec.bind(null, Integer::sum));
+        assertThrows(NullPointerException.class, () -> rec.bind(x -> () -> x, null));
+    }
+
+    @Test
+    void bind_nonNull() {
+        IntRecipe rec = IntRecipe
+                .ints(0, 10)
+                .bind(x -> IntRecipe.ints(x, x + 1), (x, y) -> x - y);
+        assertEquals(
+                0,
+                IntStream.generate(rec).limit(100).sum());
+    }
+
+    @Test
+    void filter_null() {
+        IntRecipe rec = IntRecipe.ofValue(5);
+        assertThrows(NullPointerException.class, () -> rec.filter(null));
+    }
+
+    @Test
+    void filter_unsatisfiable() {
+        AtomicInteger counter = new AtomicInteger();
+        IntRecipe rec = IntRecipe
+                .of(counter::incrementAndGet)
+                .filter(x -> x == 0);
+        assertThrows(RecipeFilterException.class, rec::getAsInt);
+        assertEquals(100, counter.get());
+    }
+
+    @Test
+    void filter_maxTries() {
+        AtomicInteger counter = new AtomicInteger();
+        IntRecipe rec = IntRecipe
+                .of(counter::incrementAndGet)
+                .filter(x -> x == 0, 3);
+        assertThrows(RecipeFilterException.class, rec::getAsInt);
+        assertEquals(3, counter.get());
+        assertThrows(IllegalArgumentException.class, () -> rec.filter(x -> true, -1));
+    }
+
+    @Test
+    void filter_stats() {
+        FilterStats stats = new FilterStats("odd");
+        assertThrows(NullPointerException.class, () -> IntRecipe.of(() -> 1).filter(x -> true, 1, null));
+        AtomicInteger counter = new AtomicInteger();
+        IntRecipe rec = IntRecipe
+                .of(counter::incrementAndGet)
+                .filter(x -> x % 3 == 0, 2, stats);
+        assertThrows(RecipeFilterException.class, rec::getAsInt); // 1, 2
+        assertEquals(3, rec.getAsInt());                          // 3
+        assertEquals(1, stats.accepted());
+        assertEquals(2, stats.rejected());
+        assertEquals(1, stats.failed());
+    }
+
+    @Test
+    void filter_satisfiable() {
+        IntRecipe rec = IntRecipe
+                .ints(0, 10)
+                .filter(x -> x % 2 == 0);
+        assertTrue(IntStream.generate(rec).limit(100).allMatch(x -> x % 2 == 0));
+    }
+
+    @Test
+    void or_null() {
+        IntRecipe rec = IntRecipe.ofValue(5);
+        assertThrows(NullPointerException.class, () -> rec.or(null));
+    }
+
+    @Test
+    void or_nonNull() {
+        IntRecipe rec = IntRecipe.ofValue(5).or(() -> 6);
+        assertEquals(
+                Stream.of(5, 6).collect(toSet()),
+                IntStream.generate(rec).limit(100).boxed().collect(toSet()));
+    }
+
+    @Test
+    void boxed_test() {
+        assertEquals(5, IntRecipe.ofValue(5).boxed().get());
+        assertEquals(4, Recipe.ofValue("five").mapToInt(String::length).getAsInt());
+    }
+
+    @Test
+    void fill_test() {
+        AtomicInteger counter = new AtomicInteger();
+        int[] xs = new int[3];
+        assertSame(xs, IntRecipe.of(counter::incrementAndGet).fill(xs));
+        assertArrayEquals(new int[]{1, 2, 3}, xs);
+    }
+
+    @Test
+    void weighted_test() {
+        assertThrows(IllegalArgumentException.class, IntRecipe::weighted);
+        int[] counts = new int[3];
+        IntRecipe rec = IntRecipe.weighted(1, 0, 3);
+        for (int i = 0; i < 10_000; i++)
+            counts[rec.getAsInt()]++;
+        assertEquals(0, counts[1]);
+        assertEquals(0.75, counts[2] / 10_000.0, 0.03);
+    }
+
+    @Test
+    void arrayOf() {
+        assertArrayEquals(new int[]{7, 7, 7}, IntRecipe.arrayOf(() -> 3, () -> 7).get());
+        assertEquals(0, IntRecipe.arrayOf(() -> 0, () -> 7).get().length);
+        assertThrows(IllegalArgumentException.class, () -> IntRecipe.arrayOf(() -> -1, () -> 7).get());
+        assertThrows(NullPointerException.class, () -> IntRecipe.arrayOf(null, () -> 7));
+    }
+
+}
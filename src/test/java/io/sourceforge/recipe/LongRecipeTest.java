@@ -0,0 +1,124 @@
+// SPDX-FileCopyrightText: © 2022 Nikola Vojičić <nikolavojicic@outlook.com>
+// SPDX-License-Identifier: MIT
+
+package io.sourceforge.recipe;
+
+import io.sourceforge.recipe.exception.RecipeFilterException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toSet;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SuppressWarnings("ResultOfMethodCallIgnored")
+class LongRecipeTest {
+
+    @Test
+    void longs_invalid() {
+        assertThrows(IllegalArgumentException.class, () -> LongRecipe.longs(5, 5));
+    }
+
+    @Test
+    void longs_bounded() {
+        assertEquals(
+                LongStream.range(-2, 3).boxed().collect(toSet()),
+                LongStream.generate(LongRecipe.longs(-2, 3)).limit(1000).boxed().collect(toSet()));
+    }
+
+    @Test
+    void map_bind_or() {
+        LongRecipe rec = LongRecipe
+                .ofValue(5)
+                .map(x -> x + 1)
+                .bind(x -> () -> x, Long::sum)
+                .or(() -> 0);
+        assertEquals(
+                Stream.of(0L, 12L).collect(toSet()),
+                LongStream.generate(rec).limit(100).boxed().collect(toSet()));
+        assertEquals(12, LongRecipe.ofValue(12).mapToInt(x -> (int) x).getAsInt());
+        assertEquals(12L, LongRecipe.ofValue(12).boxed().get());
+    }
+
+    @Test
+    void filter_unsatisfiable() {
+        AtomicLong counter = new AtomicLong();
+        LongRecipe rec = LongRecipe
+                .of(counter::incrementAndGet)
+                .filter(x -> x == 0);
+        assertThrows(RecipeFilterException.class, rec::getAsLong);
+        assertEquals(100, counter.get());
+    }
+
+    @Test
+    void fill_test() {
+        AtomicLong counter = new AtomicLong();
+        assertArrayEquals(
+                new long[]{1, 2, 3},
+                LongRecipe.of(counter::incrementAndGet).fill(new long[3]));
+    }
+
+    @Test
+    void arrayOf() {
+        assertArrayEquals(new long[]{7L, 7L, 7L}, LongRecipe.arrayOf(() -> 3, () -> 7L).get());
+        assertEquals(0, LongRecipe.arrayOf(() -> 0, () -> 7L).get().length);
+        assertThrows(IllegalArgumentException.class, () -> LongRecipe.arrayOf(() -> -1, () -> 7L).get());
+        assertThrows(NullPointerException.class, () -> LongRecipe.arrayOf(null, () -> 7L));
+    }
+
+    @Test
+    void sequence() {
+        LongRecipe rec = LongRecipe.sequence(10, -3);
+        assertArrayEquals(new long[]{10, 7, 4, 1}, rec.fill(new long[4]));
+        assertThrows(IllegalArgumentException.class, () -> LongRecipe.sequence(0, 0));
+    }
+
+    @Test
+    void sequence_blocks() {
+        LongRecipe rec = LongRecipe.sequence(100, 2, 4);
+        assertArrayEquals(new long[]{100, 102, 104, 106, 108, 110}, rec.fill(new long[6]));
+        assertThrows(IllegalArgumentException.class, () -> LongRecipe.sequence(0, 1, 0));
+        assertThrows(IllegalArgumentException.class, () -> LongRecipe.sequence(0, 0, 4));
+    }
+
+    @Test
+    void sequence_partitions() {
+        assertArrayEquals(new long[]{1, 4, 7}, LongRecipe.sequence(0, 1, 1, 3).fill(new long[3]));
+        assertArrayEquals(new long[]{5, 25, 45}, LongRecipe.sequence(5, 10, 0, 2).fill(new long[3]));
+        assertThrows(IllegalArgumentException.class, () -> LongRecipe.sequence(0, 1, 3, 3));
+        assertThrows(IllegalArgumentException.class, () -> LongRecipe.sequence(0, 1, -1, 3));
+        assertThrows(IllegalArgumentException.class, () -> LongRecipe.sequence(0, 1, 0, 0));
+    }
+
+    @Test
+    void sequence_concurrent() throws Exception {
+        for (LongRecipe rec : new LongRecipe[]{
+                LongRecipe.sequence(0, 1),
+                LongRecipe.sequence(0, 1, 16)}) {
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            try {
+                List<Future<long[]>> futures = new ArrayList<>();
+                for (int i = 0; i < 8; i++)
+                    futures.add(executor.submit(() -> rec.fill(new long[10_000])));
+                Set<Long> all = new HashSet<>();
+                for (Future<long[]> future : futures)
+                    for (long value : future.get(10, TimeUnit.SECONDS))
+                        assertTrue(all.add(value));
+                assertEquals(80_000, all.size());
+            } finally {
+                executor.shutdown();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,123 @@
+// SPDX-FileCopyrightText: © 2022 Nikola Vojičić <nikolavojicic@outlook.com>
+// SPDX-License-Identifier: MIT
+
+package io.sourceforge.recipe;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SuppressWarnings({
+        "ConstantConditions",
+        "ResultOfMethodCallIgnored"})
+class PopulatorTest {
+
+    static final class Person {
+
+        String name;
+        int    age;
+        long   id;
+        double score;
+
+        void setName (String name ) { this.name  = name;  }
+        void setAge  (int    age  ) { this.age   = age;   }
+        void setId   (long   id   ) { this.id    = id;    }
+        void setScore(double score) { this.score = score; }
+
+    }
+
+    private static Populator<Person> populator() {
+        AtomicInteger counter = new AtomicInteger();
+        return Populator.<Person>of()
+                .with(Person::setName, () -> "name" + counter.incrementAndGet())
+                .withInt(Person::setAge, () -> 42)
+                .withLong(Person::setId, () -> 7L)
+                .withDouble(Person::setScore, () -> 0.5);
+    }
+
+    @Test
+    void populate() {
+        Person person = new Person();
+        assertSame(person, populator().populate(person));
+        assertEquals("name1", person.name);
+        assertEquals(42, person.age);
+        assertEquals(7, person.id);
+        assertEquals(0.5, person.score);
+        assertThrows(NullPointerException.class, () -> populator().populate(null));
+    }
+
+    @Test
+    void immutable() {
+        Populator<Person> empty = Populator.of();
+        Populator<Person> named = empty.with(Person::setName, () -> "x");
+        Person person = new Person();
+        empty.populate(person);
+        assertNull(person.name);
+        named.populate(person);
+        assertEquals("x", person.name);
+    }
+
+    @Test
+    void then() {
+        Populator<Person> populator = Populator.<Person>of()
+                .with(Person::setName, () -> "first")
+                .then(Populator.<Object>of().with((target, value) -> ((Person) target).setName("second"), () -> 0));
+        assertEquals("second", populator.populate(new Person()).name);
+    }
+
+    @Test
+    void into() {
+        Person person = new Person();
+        Recipe<Person> rec = populator().into(person);
+        assertSame(person, rec.get());
+        assertSame(person, rec.get());
+        assertEquals("name2", person.name);
+        assertThrows(NullPointerException.class, () -> populator().into(null));
+    }
+
+    @Test
+    void fresh() {
+        Recipe<Person> rec = populator().fresh(Person::new);
+        assertNotSame(rec.get(), rec.get());
+    }
+
+    @Test
+    void fillInto() {
+        List<String> names = new ArrayList<>();
+        Person person = new Person();
+        populator().fillInto(person, 3, p -> names.add(p.name));
+        assertEquals(3, names.size());
+        assertEquals("name3", names.get(2));
+        assertThrows(IllegalArgumentException.class, () -> populator().fillInto(person, -1, p -> {}));
+        assertThrows(NullPointerException.class, () -> populator().fillInto(person, 1, null));
+    }
+
+    @Test
+    void pooled() throws Exception {
+        Recipe<Person> rec = populator().pooled(Person::new);
+        assertSame(rec.get(), rec.get());
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Set<Person> instances = ConcurrentHashMap.newKeySet();
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 4; i++)
+                futures.add(executor.submit(() -> {
+                    for (int j = 0; j < 100; j++)
+                        instances.add(rec.get());
+                }));
+            for (Future<?> future : futures)
+                future.get(5, TimeUnit.SECONDS);
+            assertTrue(instances.size() <= 4);
+        } finally {
+            executor.shutdown();
+        }
+        assertThrows(NullPointerException.class, () -> populator().pooled(null));
+    }
+
+}
@@ -0,0 +1,139 @@
+// SPDX-FileCopyrightText: © 2022 Nikola Vojičić <nikolavojicic@outlook.com>
+// SPDX-License-Identifier: MIT
+
+package io.sourceforge.recipe;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static java.time.DayOfWeek.*;
+import static java.util.Arrays.asList;
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.counting;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toSet;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SuppressWarnings({
+        "ConstantConditions",
+        "ResultOfMethodCallIgnored"})
+class RangesTest {
+
+    private static final LocalDate JAN_1 = LocalDate.of(2025, 1, 1);
+    private static final LocalDate NEXT_JAN_1 = LocalDate.of(2026, 1, 1);
+
+    @Test
+    void dates() {
+        Set<LocalDate> dates = Ranges.dates(JAN_1, JAN_1.plusDays(3)).stream(1000).collect(toSet());
+        assertEquals(EnumSet.of(WEDNESDAY, THURSDAY, FRIDAY),
+                     dates.stream().map(LocalDate::getDayOfWeek).collect(toSet()));
+        assertEquals(3, dates.size());
+        assertThrows(IllegalArgumentException.class, () -> Ranges.dates(JAN_1, JAN_1));
+        assertThrows(NullPointerException.class, () -> Ranges.dates(null, JAN_1));
+    }
+
+    @Test
+    void dates_weekdays() {
+        Set<DayOfWeek> weekdays = EnumSet.range(MONDAY, FRIDAY);
+        Map<DayOfWeek, Long> counts = Ranges
+                .dates(JAN_1, NEXT_JAN_1, weekdays)
+                .stream(70_000)
+                .peek(date -> assertEquals(2025, date.getYear()))
+                .collect(groupingBy(LocalDate::getDayOfWeek, counting()));
+        assertEquals(weekdays, counts.keySet());
+        for (long count : counts.values())
+            assertEquals(14_000, count, 1_000);
+        // 261 weekdays in 2025
+        assertEquals(261, Ranges.dates(JAN_1, NEXT_JAN_1, weekdays).stream(100_000).distinct().count());
+    }
+
+    @Test
+    void dates_partialWeek() {
+        // Wednesday to Saturday (exclusive), only Friday and Sunday allowed
+        assertEquals(
+                new HashSet<>(asList(LocalDate.of(2025, 1, 3))),
+                Ranges.dates(JAN_1, JAN_1.plusDays(3), EnumSet.of(FRIDAY, SUNDAY)).stream(100).collect(toSet()));
+        assertThrows(IllegalArgumentException.class,
+                     () -> Ranges.dates(JAN_1, JAN_1.plusDays(2), EnumSet.of(FRIDAY)));
+        assertThrows(IllegalArgumentException.class,
+                     () -> Ranges.dates(JAN_1, NEXT_JAN_1, EnumSet.noneOf(DayOfWeek.class)));
+    }
+
+    @Test
+    void instants() {
+        Instant origin = Instant.parse("2025-01-01T00:00:00Z");
+        Instant bound = origin.plusNanos(3);
+        assertEquals(
+                new HashSet<>(asList(origin, origin.plusNanos(1), origin.plusNanos(2))),
+                Ranges.instants(origin, bound).stream(1000).collect(toSet()));
+        assertThrows(IllegalArgumentException.class, () -> Ranges.instants(bound, origin));
+    }
+
+    @Test
+    void instants_wide() {
+        for (Instant instant : Ranges.instants(Instant.MIN, Instant.MAX).take(1000)) {
+            assertFalse(instant.isBefore(Instant.MIN));
+            assertTrue(instant.isBefore(Instant.MAX));
+        }
+    }
+
+    @Test
+    void durations() {
+        Duration origin = Duration.ofMillis(-5);
+        Duration bound = Duration.ofMillis(5);
+        for (Duration duration : Ranges.durations(origin, bound).take(1000)) {
+            assertTrue(duration.compareTo(origin) >= 0);
+            assertTrue(duration.compareTo(bound) < 0);
+        }
+        Duration max = Duration.ofSeconds(Long.MAX_VALUE, 999_999_999);
+        assertTrue(Ranges.durations(Duration.ZERO, max).take(100).stream().allMatch(d -> !d.isNegative()));
+        assertThrows(IllegalArgumentException.class, () -> Ranges.durations(bound, bound));
+    }
+
+    @Test
+    void decimals() {
+        Map<BigDecimal, Long> counts = Ranges
+                .decimals(new BigDecimal("0.01"), new BigDecimal("0.05"), 2)
+                .stream(40_000)
+                .collect(groupingBy(identity(), counting()));
+        assertEquals(
+                new HashSet<>(asList(new BigDecimal("0.01"), new BigDecimal("0.02"), new BigDecimal("0.03"), new BigDecimal("0.04"))),
+                counts.keySet());
+        for (long count : counts.values())
+            assertEquals(10_000, count, 600);
+    }
+
+    @Test
+    void decimals_amounts() {
+        BigDecimal origin = new BigDecimal("0.01");
+        BigDecimal bound = new BigDecimal("10000.00");
+        for (BigDecimal amount : Ranges.decimals(origin, bound, 2).take(1000)) {
+            assertEquals(2, amount.scale());
+            assertTrue(amount.compareTo(origin) >= 0);
+            assertTrue(amount.compareTo(bound) < 0);
+        }
+        BigDecimal huge = new BigDecimal("1e30");
+        assertTrue(Ranges.decimals(huge, huge.add(BigDecimal.TEN), 0).get().compareTo(huge) >= 0);
+    }
+
+    @Test
+    void decimals_invalid() {
+        assertThrows(IllegalArgumentException.class,
+                     () -> Ranges.decimals(BigDecimal.ONE, BigDecimal.ONE, 2));
+        assertThrows(IllegalArgumentException.class,
+                     () -> Ranges.decimals(new BigDecimal("0.011"), new BigDecimal("0.019"), 2));
+        assertThrows(IllegalArgumentException.class,
+                     () -> Ranges.decimals(BigDecimal.ZERO, new BigDecimal("1e30"), 0));
+        assertThrows(NullPointerException.class, () -> Ranges.decimals(null, BigDecimal.ONE, 2));
+    }
+
+}
@@ -4,19 +4,38 @@
 package io.sourceforge.recipe;
 
 import io.sourceforge.recipe.exception.RecipeFilterException;
+import io.sourceforge.recipe.random.RandomSource;
 import io.sourceforge.recipe.util.Pair;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
 import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 import java.util.stream.Stream;
 
+import static io.sourceforge.recipe.util.Fn.biFirst;
 import static io.sourceforge.recipe.util.Fn.doto;
+import static io.sourceforge.recipe.util.Fn.recfn;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
 import static java.util.Collections.singleton;
+import static java.util.Collections.singletonList;
 import static java.util.concurrent.ThreadLocalRandom.current;
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.counting;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toSet;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -173,6 +192,24 @@ class RecipeTest {
         assertEquals(6, rec.get());
     }
 
+    @Test
+    void map_deep() {
+        Recipe<Integer> rec = Recipe.ofValue(0);
+        for (int i = 0; i < 100_000; i++)
+            rec = rec.map(x -> x + 1);
+        assertEquals(100_000, rec.get());
+    }
+
+    @Test
+    void map_shared() {
+        Recipe<Integer> base = Recipe.ofValue(1).map(x -> x + 1);
+        Recipe<Integer> x = base.map(v -> v * 10);
+        Recipe<Integer> y = base.map(v -> v * 100);
+        assertEquals(2, base.get());
+        assertEquals(20, x.get());
+        assertEquals(200, y.get());
+    }
+
     @Test
     void bind_null() {
         Recipe<Integer> rec = Recipe.ofValue(5);
@@ -193,6 +230,33 @@ class RecipeTest {
                 Stream.generate(rec).limit(100).collect(toSet()));
     }
 
+    @Test
+    void bind_deep() {
+        Recipe<List<Integer>> rec = Recipe.of(ArrayList::new);
+        for (int i = 0; i < 100_000; i++)
+            rec = rec
+                    .bind(recfn(() -> 1), biFirst(List::add))
+                    .map(xs -> xs);
+        assertEquals(100_000, rec.get().size());
+    }
+
+    @Test
+    void bindCached() {
+        AtomicInteger created = new AtomicInteger();
+        Recipe<Pair<Integer, Integer>> rec = IntRecipe
+                .ints(0, 3)
+                .boxed()
+                .bindCached(x -> {
+                    created.incrementAndGet();
+                    return () -> x * 10;
+                }, Pair::new, 10);
+        for (Pair<Integer, Integer> pair : rec.take(100))
+            assertEquals(pair.first() * 10, pair.second());
+        assertEquals(3, created.get());
+        assertThrows(NullPointerException.class, () -> rec.bindCached(null, Pair::new, 10));
+        assertThrows(IllegalArgumentException.class, () -> rec.bindCached(x -> () -> x, Pair::new, 0));
+    }
+
     @Test
     void filter_null() {
         Recipe<Integer> rec = Recipe.ofValue(5);
@@ -235,6 +299,48 @@ class RecipeTest {
         assertEquals(2, rec.get());
     }
 
+    @Test
+    void filter_maxTries() {
+        AtomicInteger counter = new AtomicInteger();
+        Recipe<Integer> rec = Recipe
+                .of(counter::incrementAndGet)
+                .filter(x -> x == 0, 7);
+        RecipeFilterException ex = assertThrows(RecipeFilterException.class, rec::get);
+        assertEquals(7, counter.get());
+        assertEquals(0, ex.getStackTrace().length);
+        assertThrows(IllegalArgumentException.class, () -> rec.filter(x -> true, 0));
+        assertThrows(NullPointerException.class, () -> rec.filter(null, 1));
+    }
+
+    @Test
+    void filter_stats() {
+        FilterStats stats = new FilterStats("even");
+        assertThrows(NullPointerException.class, () -> Recipe.ofValue(1).filter(x -> true, 1, null));
+        assertTrue(Double.isNaN(stats.acceptanceRate()));
+        AtomicInteger counter = new AtomicInteger();
+        Recipe<Integer> rec = Recipe
+                .of(counter::incrementAndGet)
+                .filter(x -> x % 4 == 0, 2, stats);
+        assertThrows(RecipeFilterException.class, rec::get); // 1, 2
+        assertEquals(4, rec.get());                          // 3, 4
+        assertEquals("even", stats.name());
+        assertEquals(1, stats.accepted());
+        assertEquals(3, stats.rejected());
+        assertEquals(1, stats.failed());
+        assertEquals(0.25, stats.acceptanceRate());
+        stats.reset();
+        assertEquals(0, stats.rejected());
+    }
+
+    @Test
+    void tryGet_test() {
+        assertEquals(Optional.of(5), Recipe.ofValue(5).tryGet());
+        assertEquals(Optional.empty(), Recipe.ofValue(5).filter(x -> x > 5).tryGet());
+        assertThrows(NullPointerException.class, Recipe.ofNull()::tryGet);
+        assertThrows(NullPointerException.class, Recipe.ofNull().filter(x -> true)::tryGet);
+        assertEquals(Optional.empty(), Recipe.ofNull().filter(x -> false).tryGet());
+    }
+
     @Test
     void or_null() {
         Recipe<Integer> rec = Recipe.ofValue(5);
@@ -268,4 +374,273 @@ class RecipeTest {
         assertEquals(10, rec.get());
     }
 
-}
\ No newline at end of file
+    @Test
+    void withRandom_null() {
+        Recipe<Integer> rec = Recipe.ofValue(5);
+        assertThrows(NullPointerException.class, () -> rec.withRandom(null));
+    }
+
+    @Test
+    void withSeed_reproducible() {
+        Recipe<?> rec = Recipe
+                .oneOf(Recipe.ofEnum(E3.class),
+                       Recipe.ofValue(5).or(() -> 6));
+        assertEquals(
+                Stream.generate(rec.withSeed(42)).limit(100).collect(toList()),
+                Stream.generate(rec.withSeed(42)).limit(100).collect(toList()));
+        assertNotEquals(
+                Stream.generate(rec.withSeed(42)).limit(100).collect(toList()),
+                Stream.generate(rec.withSeed(43)).limit(100).collect(toList()));
+    }
+
+    @Test
+    void stream_negative() {
+        Recipe<Integer> rec = Recipe.ofValue(5);
+        assertThrows(IllegalArgumentException.class, () -> rec.stream(-1));
+        assertThrows(IllegalArgumentException.class, () -> rec.stream(-1, RandomSource.seeded(42)));
+        assertThrows(NullPointerException.class, () -> rec.stream(1, null));
+    }
+
+    @Test
+    void stream_sized() {
+        Recipe<Integer> rec = Recipe.of(() -> current().nextInt());
+        assertEquals(10_000, rec.stream(10_000).count());
+        assertEquals(10_000, rec.stream(10_000).parallel().toArray().length);
+        assertEquals(10_000, rec.stream(10_000).spliterator().getExactSizeIfKnown());
+    }
+
+    @Test
+    void stream_parallelReproducible() {
+        Recipe<Integer> rec = Recipe
+                .of(() -> RandomSource.current().nextInt())
+                .or(() -> 0);
+        List<Integer> sequential = rec
+                .stream(10_000, RandomSource.seeded(42))
+                .collect(toList());
+        List<Integer> parallel = rec
+                .stream(10_000, RandomSource.seeded(42))
+                .parallel()
+                .collect(toList());
+        assertEquals(sequential, parallel);
+        assertNotEquals(1, new HashSet<>(sequential).size());
+    }
+
+    @Test
+    void stream_seededScope() {
+        Recipe<List<Integer>> rec = Recipe
+                .of(() -> RandomSource.current().nextInt())
+                .wrap(r -> r.stream(100).collect(toList()));
+        assertEquals(rec.withSeed(42).get(), rec.withSeed(42).get());
+        Recipe<List<Integer>> seeded = rec.withSeed(42);
+        assertNotEquals(seeded.get(), seeded.get());
+    }
+
+    @Test
+    void take_test() {
+        AtomicInteger counter = new AtomicInteger();
+        Recipe<Integer> rec = Recipe.of(counter::incrementAndGet);
+        assertThrows(IllegalArgumentException.class, () -> rec.take(-1));
+        assertEquals(emptyList(), rec.take(0));
+        assertEquals(asList(1, 2, 3), rec.take(3));
+    }
+
+    @Test
+    void fill_array() {
+        AtomicInteger counter = new AtomicInteger();
+        Recipe<Integer> rec = Recipe.of(counter::incrementAndGet);
+        Integer[] xs = new Integer[3];
+        assertSame(xs, rec.fill(xs));
+        assertArrayEquals(new Integer[]{1, 2, 3}, xs);
+        assertThrows(NullPointerException.class, () -> rec.fill((Integer[]) null));
+    }
+
+    @Test
+    void fill_list() {
+        AtomicInteger counter = new AtomicInteger();
+        Recipe<Integer> rec = Recipe.of(counter::incrementAndGet);
+        List<Object> xs = new ArrayList<>(asList("a", "b", "c"));
+        assertSame(xs, rec.fill(xs));
+        assertEquals(asList(1, 2, 3), xs);
+        assertThrows(UnsupportedOperationException.class, () -> rec.fill(singletonList(0)));
+    }
+
+    @Test
+    void oneOfWeighted_invalid() {
+        assertThrows(NullPointerException.class, () -> Recipe.oneOfWeighted(null, () -> 1));
+        assertThrows(NullPointerException.class, () -> Recipe.oneOfWeighted(new double[]{1}, (Supplier<?>) null));
+        assertThrows(IllegalArgumentException.class, () -> Recipe.oneOfWeighted(new double[]{1, 2}, () -> 1));
+        assertThrows(IllegalArgumentException.class, () -> Recipe.oneOfWeighted(new double[]{0}, () -> 1));
+        assertThrows(IllegalArgumentException.class, () -> Recipe.oneOfWeighted(new double[]{}));
+    }
+
+    @Test
+    void oneOfWeighted_skewed() {
+        Recipe<String> rec = Recipe.oneOfWeighted(
+                new double[]{95, 5, 0},
+                () -> "ACTIVE",
+                () -> "INACTIVE",
+                () -> "DELETED");
+        Map<String, Long> counts = Stream
+                .generate(rec.withSeed(42))
+                .limit(10_000)
+                .collect(groupingBy(identity(), counting()));
+        assertEquals(Stream.of("ACTIVE", "INACTIVE").collect(toSet()), counts.keySet());
+        assertEquals(0.95, counts.get("ACTIVE") / 10_000.0, 0.01);
+    }
+
+    @Test
+    void weighted_test() {
+        assertThrows(NullPointerException.class, () -> Recipe.weighted(null));
+        assertThrows(IllegalArgumentException.class, () -> Recipe.weighted(emptyMap()));
+        Map<Recipe<String>, Integer> frequencies = new HashMap<>();
+        frequencies.put(() -> "foo", 1);
+        frequencies.put(() -> "bar", 0);
+        assertEquals(
+                singleton("foo"),
+                Stream.generate(Recipe.weighted(frequencies)).limit(100).collect(toSet()));
+    }
+
+    @Test
+    void listOf() {
+        AtomicInteger counter = new AtomicInteger();
+        List<Integer> list = Recipe.listOf(() -> 3, counter::incrementAndGet).get();
+        assertEquals(asList(1, 2, 3), list);
+        assertTrue(list instanceof ArrayList);
+        assertEquals(emptyList(), Recipe.listOf(() -> 0, () -> 1).get());
+        assertThrows(IllegalArgumentException.class, () -> Recipe.listOf(() -> -1, () -> 1).get());
+        assertThrows(NullPointerException.class, () -> Recipe.listOf(null, () -> 1));
+        assertThrows(NullPointerException.class, () -> Recipe.listOf(() -> 1, null));
+    }
+
+    @Test
+    void compactListOf() {
+        AtomicInteger counter = new AtomicInteger();
+        List<Integer> list = Recipe.compactListOf(() -> 3, counter::incrementAndGet).get();
+        assertEquals(asList(1, 2, 3), list);
+        assertEquals(asList(1, 2, 3).hashCode(), list.hashCode());
+        assertTrue(list.contains(2));
+        assertEquals(2, list.indexOf(3));
+        assertThrows(UnsupportedOperationException.class, () -> list.add(4));
+        assertThrows(UnsupportedOperationException.class, () -> list.set(0, 4));
+        assertThrows(IllegalArgumentException.class, () -> Recipe.compactListOf(() -> -1, () -> 1).get());
+    }
+
+    @Test
+    void setOf() {
+        Set<Integer> set = Recipe.setOf(() -> 50, () -> current().nextInt(100)).get();
+        assertEquals(50, set.size());
+        RecipeFilterException ex = assertThrows(
+                RecipeFilterException.class,
+                () -> Recipe.setOf(() -> 2, () -> 1).get());
+        assertEquals(0, ex.getStackTrace().length);
+        assertThrows(IllegalArgumentException.class, () -> Recipe.setOf(() -> -1, () -> 1).get());
+    }
+
+    @Test
+    void mapOf() {
+        AtomicInteger counter = new AtomicInteger();
+        Map<Integer, String> map = Recipe
+                .mapOf(() -> 20, () -> current().nextInt(40), () -> "v" + counter.incrementAndGet())
+                .get();
+        assertEquals(20, map.size());
+        // values are produced only for accepted keys
+        assertEquals(20, counter.get());
+        assertThrows(RecipeFilterException.class, () -> Recipe.mapOf(() -> 2, () -> 1, () -> 1).get());
+        assertThrows(NullPointerException.class, () -> Recipe.mapOf(() -> 2, () -> 1, null));
+    }
+
+    @Test
+    void arrayOf() {
+        assertArrayEquals(
+                new String[]{"a", "a"},
+                Recipe.arrayOf(() -> 2, () -> "a", String[]::new).get());
+        assertThrows(IllegalArgumentException.class, () -> Recipe.arrayOf(() -> -1, () -> "a", String[]::new).get());
+        assertThrows(NullPointerException.class, () -> Recipe.arrayOf(() -> 1, () -> "a", null));
+    }
+
+    @Test
+    void collections_nested() {
+        Recipe<List<List<Integer>>> rec = Recipe.compactListOf(
+                IntRecipe.ints(0, 5),
+                Recipe.compactListOf(IntRecipe.ints(0, 5), () -> 1));
+        for (List<List<Integer>> outer : rec.take(100)) {
+            assertTrue(outer.size() < 5);
+            for (List<Integer> inner : outer)
+                assertTrue(inner.size() < 5);
+        }
+    }
+
+    @Test
+    void ofString() {
+        Recipe<String> rec = Recipe.ofString("abc", () -> 5);
+        for (String s : rec.take(100))
+            assertTrue(s.matches("[abc]{5}"), s);
+        assertEquals(new HashSet<>(asList('a', 'b', 'c')),
+                     Recipe.ofString("abc", () -> 1000).get().chars().mapToObj(c -> (char) c).collect(toSet()));
+        assertEquals("xxx", Recipe.ofString("x", () -> 3).get());
+        assertEquals("", Recipe.ofString("ab", () -> 0).get());
+        assertEquals(100, Recipe.ofString("ab", () -> 100).get().length());
+        assertThrows(IllegalArgumentException.class, () -> Recipe.ofString("", () -> 1));
+        assertThrows(IllegalArgumentException.class, () -> Recipe.ofString("a", () -> -1).get());
+        assertThrows(NullPointerException.class, () -> Recipe.ofString(null, () -> 1));
+        assertThrows(NullPointerException.class, () -> Recipe.ofString("a", null));
+    }
+
+    @Test
+    void ofString_uniform() {
+        Map<Character, Long> counts = Recipe
+                .ofString("abcde", () -> 50_000)
+                .get()
+                .chars()
+                .mapToObj(c -> (char) c)
+                .collect(groupingBy(identity(), counting()));
+        for (long count : counts.values())
+            assertEquals(10_000, count, 500);
+    }
+
+    @Test
+    void ofString_seeded() {
+        Recipe<String> rec = Recipe.ofString("0123456789abcdef", () -> 12);
+        assertEquals(rec.withSeed(5).take(10), rec.withSeed(5).take(10));
+    }
+
+    @Test
+    void matching() {
+        for (String regex : asList(
+                "[a-z]{3,8}@[a-z]{2,5}\\.(com|org|net)",
+                "^\\d{3}-\\d{2}-\\d{4}$",
+                "[A-Z][a-z]*( [A-Z][a-z]+)?",
+                "(?:ab|cd)+x?y*z{2,}",
+                "[^a-z]{4}",
+                "\\w+\\s\\W\\S\\D",
+                "[\\d_-]{5}\\.\\*\\u0041.",
+                "a|b|",
+                "[-a]c[a-]",
+                "a$|^b",
+                "(^a)",
+                "(a$)",
+                "^(?:^x|y)z?$",
+                "x(?:a|b$)$")) {
+            Pattern pattern = Pattern.compile(regex);
+            for (String s : Recipe.matching(regex).take(200))
+                assertTrue(pattern.matcher(s).matches(), regex + " / " + s);
+        }
+    }
+
+    @Test
+    void matching_invalid() {
+        assertThrows(PatternSyntaxException.class, () -> Recipe.matching("a{2"));
+        assertThrows(IllegalArgumentException.class, () -> Recipe.matching("(a)\\1"));
+        assertThrows(IllegalArgumentException.class, () -> Recipe.matching("(?=a)b"));
+        assertThrows(IllegalArgumentException.class, () -> Recipe.matching("\\bword"));
+        assertThrows(IllegalArgumentException.class, () -> Recipe.matching("a^b"));
+        assertThrows(IllegalArgumentException.class, () -> Recipe.matching("a$b"));
+        assertThrows(IllegalArgumentException.class, () -> Recipe.matching("(a$)b"));
+        assertThrows(IllegalArgumentException.class, () -> Recipe.matching("(a$|b)c"));
+        assertThrows(IllegalArgumentException.class, () -> Recipe.matching("a(^b)"));
+        assertThrows(IllegalArgumentException.class, () -> Recipe.matching("(a$)+"));
+        assertThrows(IllegalArgumentException.class, () -> Recipe.matching("^*a"));
+        assertThrows(NullPointerException.class, () -> Recipe.matching(null));
+    }
+
+}
@@ -0,0 +1,153 @@
+// SPDX-FileCopyrightText: © 2022 Nikola Vojičić <nikolavojicic@outlook.com>
+// SPDX-License-Identifier: MIT
+
+package io.sourceforge.recipe;
+
+import io.sourceforge.recipe.random.RandomSource;
+import io.sourceforge.recipe.util.Pair;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.LongStream;
+
+import static io.sourceforge.recipe.random.RandomSource.current;
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SuppressWarnings({
+        "ConstantConditions",
+        "ResultOfMethodCallIgnored"})
+class RunContextTest {
+
+    private static final Supplier<Recipe<Pair<Long, Integer>>> RECIPES = () -> LongRecipe
+            .rowSequence(1, 1)
+            .boxed()
+            .bind(id -> () -> current().nextInt(1000), Pair::new);
+
+    @Test
+    void of_invalid() {
+        assertThrows(IllegalArgumentException.class, () -> RunContext.of(1, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> RunContext.of(1, 3, 3));
+        assertThrows(IllegalArgumentException.class, () -> RunContext.of(1, -1, 3));
+    }
+
+    @Test
+    void ranges() {
+        long size = 10_000;
+        long previous = 0;
+        for (int shard = 0; shard < 7; shard++) {
+            RunContext context = RunContext.of(1, shard, 7);
+            assertEquals(previous, context.start(size));
+            assertEquals(0, context.start(size) % 1024);
+            previous = context.end(size);
+        }
+        assertEquals(size, previous);
+        assertEquals(0, RunContext.of(1, 2, 3).end(0));
+        assertThrows(IllegalArgumentException.class, () -> RunContext.unsharded(1).start(-1));
+    }
+
+    @Test
+    void ranges_large() {
+        long size = Long.MAX_VALUE;
+        RunContext last = RunContext.of(1, Integer.MAX_VALUE - 1, Integer.MAX_VALUE);
+        assertEquals(size, last.end(size));
+        assertTrue(last.start(size) < size);
+        assertTrue(last.start(size) > 0);
+    }
+
+    @Test
+    void stream_matchesUnsharded() {
+        List<Pair<Long, Integer>> expected = RECIPES.get()
+                .stream(5_000, RandomSource.seeded(42), true)
+                .collect(toList());
+        List<Pair<Long, Integer>> actual = new ArrayList<>();
+        for (int shard = 0; shard < 3; shard++)
+            RECIPES.get().shard(5_000, RunContext.of(42, shard, 3)).forEach(actual::add);
+        assertEquals(expected, actual);
+        assertEquals(5_000, actual.get(4_999).first());
+    }
+
+    @Test
+    void stream_parallel() {
+        RunContext context = RunContext.of(7, 1, 2);
+        assertEquals(
+                RECIPES.get().shard(10_000, context).collect(toList()),
+                RECIPES.get().shard(10_000, context).parallel().collect(toList()));
+    }
+
+    @Test
+    void difference() {
+        assertEquals(new HashMap<>(), RunContext.difference(RECIPES, 20_000, 3, 5));
+    }
+
+    @Test
+    void difference_stateful() {
+        // shared state leaks between shards: the counter doesn't restart in other processes
+        AtomicInteger counter = new AtomicInteger();
+        Map<Integer, Long> difference = RunContext.difference(() -> counter::incrementAndGet, 10, 3, 2);
+        assertEquals(20, difference.size());
+    }
+
+    @Test
+    void sequence_shards() {
+        Set<Long> ids = new HashSet<>();
+        for (int shard = 0; shard < 3; shard++) {
+            LongRecipe sequence = LongRecipe.sequence(10, 2, RunContext.of(42, shard, 3));
+            for (int i = 0; i < 100; i++)
+                assertTrue(ids.add(sequence.getAsLong()));
+        }
+        assertEquals(LongStream.range(0, 300).map(i -> 10 + 2 * i).boxed().collect(toSet()), ids);
+        assertThrows(NullPointerException.class, () -> LongRecipe.sequence(0, 1, (RunContext) null));
+    }
+
+    @Test
+    void rowSequence_outsideOfRun() {
+        assertThrows(IllegalStateException.class, () -> LongRecipe.rowSequence(0, 1).getAsLong());
+        assertThrows(IllegalArgumentException.class, () -> LongRecipe.rowSequence(0, 0));
+    }
+
+    @Test
+    void rowSequence_withoutRows() {
+        LongRecipe ids = LongRecipe.rowSequence(0, 1);
+        assertThrows(IllegalStateException.class, () -> ids.boxed().stream(3).collect(toList()));
+        assertEquals(asList(0L, 1L, 2L), ids.boxed().stream(3, RandomSource.threadLocal(), true).collect(toList()));
+    }
+
+    @Test
+    void rowSequence_nested() {
+        LongRecipe ids = LongRecipe.rowSequence(0, 1);
+        Recipe<Long> rec = () -> {
+            ids.boxed().stream(3, RandomSource.threadLocal(), true).count();
+            return ids.getAsLong();
+        };
+        assertEquals(asList(0L, 1L, 2L), rec.stream(3, RandomSource.threadLocal(), true).collect(toList()));
+    }
+
+    @Test
+    void fromSystemProperties() {
+        System.setProperty(RunContext.SEED_PROPERTY, "9");
+        System.setProperty(RunContext.SHARD_INDEX_PROPERTY, "2");
+        System.setProperty(RunContext.SHARD_COUNT_PROPERTY, "4");
+        try {
+            RunContext context = RunContext.fromSystemProperties();
+            assertEquals(9, context.seed());
+            assertEquals(2, context.shardIndex());
+            assertEquals(4, context.shardCount());
+        } finally {
+            System.clearProperty(RunContext.SEED_PROPERTY);
+            System.clearProperty(RunContext.SHARD_INDEX_PROPERTY);
+            System.clearProperty(RunContext.SHARD_COUNT_PROPERTY);
+        }
+        assertThrows(IllegalStateException.class, RunContext::fromSystemProperties);
+    }
+
+}
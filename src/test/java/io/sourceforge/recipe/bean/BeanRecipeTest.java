@@ -0,0 +1,203 @@
+// SPDX-FileCopyrightText: © 2022 Nikola Vojičić <nikolavojicic@outlook.com>
+// SPDX-License-Identifier: MIT
+
+package io.sourceforge.recipe.bean;
+
+import io.sourceforge.recipe.IntRecipe;
+import io.sourceforge.recipe.Populator;
+import io.sourceforge.recipe.Recipe;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.invoke.MethodHandles;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SuppressWarnings({"ConstantConditions", "ResultOfMethodCallIgnored"})
+class BeanRecipeTest {
+
+    enum Status { ACTIVE, BLOCKED }
+
+    public static class Person {
+
+        private int     id;
+        private Long    version;
+        private double  score;
+        private String  name;
+        private boolean admin;
+        private Status  status;
+
+        public void setId     (int     id     ) { this.id      = id;      }
+        public void setVersion(Long    version) { this.version = version; }
+        public void setScore  (double  score  ) { this.score   = score;   }
+        public void setName   (String  name   ) { this.name    = name;    }
+        public void setAdmin  (boolean admin  ) { this.admin   = admin;   }
+        public void setStatus (Status  status ) { this.status  = status;  }
+
+    }
+
+    public static class Event {
+
+        private LocalDate date;
+
+        public Event setDate(LocalDate date) { this.date = date; return this; }
+
+    }
+
+    private static class Hidden {
+
+        private String value;
+
+        Hidden() { }
+
+        public void setValue(String value) { this.value = value; }
+
+    }
+
+    public static class Child {
+
+        private String name;
+        private int size;
+
+        public void setName(String name) { this.name = name; }
+        public void setSize(int size) { this.size = size; }
+
+        public String getName() { return name; }
+        public int getSize() { return size; }
+
+    }
+
+    /**
+     * Defines its own copy of {@link Child}, as a plugin or application server loader would.
+     */
+    private static final class ChildLoader extends ClassLoader {
+
+        ChildLoader() {
+            super(BeanRecipeTest.class.getClassLoader());
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!name.equals(Child.class.getName()))
+                return super.loadClass(name, resolve);
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> loaded = findLoadedClass(name);
+                if (loaded != null)
+                    return loaded;
+                String resource = name.replace('.', '/') + ".class";
+                try (InputStream in = getParent().getResourceAsStream(resource)) {
+                    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                    byte[] buffer = new byte[4096];
+                    for (int n; (n = in.read(buffer)) > 0; )
+                        bytes.write(buffer, 0, n);
+                    return defineClass(name, bytes.toByteArray(), 0, bytes.size());
+                } catch (IOException ex) {
+                    throw new ClassNotFoundException(name, ex);
+                }
+            }
+        }
+
+    }
+
+    public static class NoConstructor {
+
+        public NoConstructor(int ignored) { }
+
+    }
+
+    @Test
+    void build_defaults() {
+        Person person = BeanRecipe.of(Person.class).build().get();
+        assertNotNull(person.version);
+        assertEquals(10, person.name.length());
+        assertNotNull(person.status);
+        assertTrue(person.score >= 0 && person.score < 1);
+    }
+
+    @Test
+    void build_overrides() {
+        Recipe<Person> rec = BeanRecipe
+                .of(Person.class)
+                .withDefault(String.class, () -> "x")
+                .withDefault(long.class, () -> 3L)
+                .withInt("id", IntRecipe.ofValue(7))
+                .with("score", () -> 0.5)
+                .with("admin", () -> true)
+                .with("status", () -> Status.BLOCKED)
+                .build();
+        Person person = rec.get();
+        assertEquals(5L, BeanRecipe.of(Person.class).withLong("version", () -> 5L).build().get().version);
+        assertEquals(7, person.id);
+        assertEquals(3L, person.version);
+        assertEquals(0.5, person.score);
+        assertEquals("x", person.name);
+        assertTrue(person.admin);
+        assertEquals(Status.BLOCKED, person.status);
+        assertNotSame(person, rec.get());
+    }
+
+    @Test
+    void build_seeded() {
+        Recipe<String> rec = BeanRecipe.of(Person.class).build().map(p -> p.id + p.name + p.status);
+        assertEquals(rec.withSeed(5).take(10), rec.withSeed(5).take(10));
+    }
+
+    @Test
+    void build_fluent_setter() {
+        assertThrows(IllegalArgumentException.class, () -> BeanRecipe.of(Event.class).build());
+        LocalDate date = LocalDate.of(2022, 1, 1);
+        assertEquals(date, BeanRecipe.of(Event.class).with("date", () -> date).build().get().date);
+        assertNull(BeanRecipe.of(Event.class).without("date").build().get().date);
+    }
+
+    @Test
+    void build_lookup() {
+        Hidden hidden = BeanRecipe
+                .of(Hidden.class, MethodHandles.lookup())
+                .with("value", () -> "v")
+                .build()
+                .get();
+        assertEquals("v", hidden.value);
+    }
+
+    @Test
+    void build_childClassLoader() throws ReflectiveOperationException {
+        Class<?> type = new ChildLoader().loadClass(Child.class.getName());
+        assertNotSame(Child.class, type);
+        Object child = BeanRecipe
+                .of(type)
+                .with("name", () -> "c")
+                .withInt("size", () -> 3)
+                .build()
+                .get();
+        assertSame(type, child.getClass());
+        assertEquals("c", type.getMethod("getName").invoke(child));
+        assertEquals(3, type.getMethod("getSize").invoke(child));
+    }
+
+    @Test
+    void build_invalid() {
+        assertThrows(IllegalArgumentException.class, () -> BeanRecipe.of(NoConstructor.class).build());
+        assertThrows(IllegalArgumentException.class, () -> BeanRecipe.of(Person.class).with("missing", () -> 1).build());
+        assertThrows(IllegalArgumentException.class, () -> BeanRecipe.of(Person.class).without("missing").build());
+        assertThrows(IllegalArgumentException.class, () -> BeanRecipe.of(Person.class).without("missing").populator());
+        assertThrows(ClassCastException.class, () -> BeanRecipe.of(Person.class).with("id", () -> "1").build().get());
+        assertThrows(IllegalArgumentException.class, () -> BeanRecipe.of(Person.class).withLong("id", () -> 1L).build());
+        assertThrows(IllegalArgumentException.class, () -> BeanRecipe.of(Person.class).withInt("version", () -> 1).build());
+        assertThrows(IllegalArgumentException.class, () -> BeanRecipe.of(Person.class).withDouble("name", () -> 1).build());
+        assertThrows(NullPointerException.class, () -> BeanRecipe.of(null));
+        assertThrows(NullPointerException.class, () -> BeanRecipe.of(Person.class).with("id", null));
+    }
+
+    @Test
+    void populator() {
+        Populator<Person> populator = BeanRecipe.of(Person.class).with("name", () -> "p").populator();
+        Person person = new Person();
+        assertSame(person, populator.populate(person));
+        assertEquals("p", person.name);
+    }
+
+}
@@ -0,0 +1,136 @@
+// SPDX-FileCopyrightText: © 2022 Nikola Vojičić <nikolavojicic@outlook.com>
+// SPDX-License-Identifier: MIT
+
+package io.sourceforge.recipe.column;
+
+import io.sourceforge.recipe.DoubleRecipe;
+import io.sourceforge.recipe.IntRecipe;
+import io.sourceforge.recipe.Recipe;
+import io.sourceforge.recipe.util.Pair;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SuppressWarnings({
+        "ConstantConditions",
+        "ResultOfMethodCallIgnored"})
+class SchemaTest {
+
+    private static Schema schema() {
+        AtomicInteger counter = new AtomicInteger();
+        return Schema.builder()
+                .ints("id", counter::incrementAndGet)
+                .ints("quantity", IntRecipe.ints(1, 10))
+                .longs("time", () -> 1_000L)
+                .doubles("price", DoubleRecipe.doubles(1, 2))
+                .objects("sku", String.class, Recipe.ofValue("a").or(() -> "b"))
+                .split("city", String.class, "zip", Integer.class, () -> new Pair<>("Novi Sad", 21000))
+                .zipInts("twice", "id", "id", Integer::sum)
+                .zipLongs("later", "time", "time", (x, y) -> x + y + 1)
+                .zipDoubles("total", "quantity", "price", (q, p) -> q * p)
+                .build();
+    }
+
+    @Test
+    void batch() {
+        Schema schema = schema();
+        assertEquals(
+                asList("id", "quantity", "time", "price", "sku", "city", "zip", "twice", "later", "total"),
+                schema.columns());
+        Batch batch = schema.batch(100);
+        assertEquals(100, batch.size());
+        assertEquals(100, batch.capacity());
+        int[] ids = batch.ints("id");
+        int[] quantities = batch.ints("quantity");
+        double[] prices = batch.doubles("price");
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i + 1, ids[i]);
+            assertEquals(2 * ids[i], batch.ints("twice")[i]);
+            assertEquals(2001, batch.longs("later")[i]);
+            assertEquals(quantities[i] * prices[i], batch.doubles("total")[i]);
+            assertTrue(asList("a", "b").contains(batch.objects("sku", String.class)[i]));
+            assertEquals("Novi Sad", batch.objects("city", String.class)[i]);
+            assertEquals(21000, batch.objects("zip", Integer.class)[i]);
+        }
+    }
+
+    @Test
+    void fill_reuse() {
+        Schema schema = schema();
+        Batch batch = schema.newBatch(10);
+        assertEquals(0, batch.size());
+        int[] ids = batch.ints("id");
+        schema.fill(batch, 10);
+        schema.fill(batch, 4);
+        assertSame(ids, batch.ints("id"));
+        assertEquals(4, batch.size());
+        assertEquals(11, ids[0]);
+        assertThrows(IllegalArgumentException.class, () -> schema.fill(batch, 11));
+        assertThrows(IllegalArgumentException.class, () -> schema.fill(batch, -1));
+        assertThrows(IllegalArgumentException.class, () -> schema().fill(batch, 1));
+        assertThrows(IllegalArgumentException.class, () -> schema.newBatch(-1));
+    }
+
+    @Test
+    void zipDoubles_mixed() {
+        Schema schema = Schema.builder()
+                .ints("a", () -> 3)
+                .longs("b", () -> 1L << 40)
+                .doubles("c", () -> 0.5)
+                .zipDoubles("ab", "a", "b", Double::sum)
+                .zipDoubles("bc", "b", "c", (x, y) -> x * y)
+                .build();
+        Batch batch = schema.newBatch(8);
+        double[] ab = batch.doubles("ab");
+        schema.fill(batch, 8);
+        schema.fill(batch, 5);
+        assertSame(ab, batch.doubles("ab"));
+        for (int i = 0; i < 5; i++) {
+            assertEquals(3 + 0x1p40, ab[i]);
+            assertEquals(0x1p39, batch.doubles("bc")[i]);
+        }
+    }
+
+    @Test
+    void access() {
+        Batch batch = schema().batch(1);
+        assertThrows(IllegalArgumentException.class, () -> batch.ints("price"));
+        assertThrows(IllegalArgumentException.class, () -> batch.doubles("missing"));
+        assertThrows(IllegalArgumentException.class, () -> batch.objects("sku", Object.class));
+        assertThrows(NullPointerException.class, () -> batch.longs(null));
+    }
+
+    @Test
+    void builder() {
+        assertThrows(IllegalArgumentException.class, () -> Schema.builder().ints("a", () -> 1).longs("a", () -> 1));
+        assertThrows(IllegalArgumentException.class, () -> Schema.builder().ints("a", () -> 1).zipInts("b", "a", "c", Integer::sum));
+        assertThrows(IllegalArgumentException.class, () -> Schema.builder().longs("a", () -> 1).zipInts("b", "a", "a", Integer::sum));
+        assertThrows(IllegalArgumentException.class, () -> Schema.builder().objects("a", String.class, () -> "").zipDoubles("b", "a", "a", Double::sum));
+        assertThrows(IllegalArgumentException.class, () -> Schema.builder().objects("a", int.class, () -> 1));
+        assertThrows(NullPointerException.class, () -> Schema.builder().ints(null, () -> 1));
+        assertThrows(NullPointerException.class, () -> Schema.builder().ints("a", null));
+        assertEquals("Schema[a:int, b:String]", Schema.builder().ints("a", () -> 1).objects("b", String.class, () -> "").build().toString());
+    }
+
+    @Test
+    void builder_failed_declaration() {
+        Schema.Builder builder = Schema.builder().ints("a", () -> 1);
+        assertThrows(IllegalArgumentException.class, () -> builder.objects("b", int.class, () -> 1));
+        assertThrows(NullPointerException.class, () -> builder.objects("b", null, () -> 1));
+        assertThrows(IllegalArgumentException.class, () -> builder.split("c", String.class, "c", String.class, () -> new Pair<>("", "")));
+        assertThrows(IllegalArgumentException.class, () -> builder.split("c", String.class, "d", int.class, () -> new Pair<>("", 1)));
+        Schema schema = builder
+                .ints("b", () -> 2)
+                .split("c", String.class, "d", Integer.class, () -> new Pair<>("x", 3))
+                .zipInts("e", "a", "b", Integer::sum)
+                .build();
+        Batch batch = schema.batch(2);
+        assertArrayEquals(new int[]{2, 2}, batch.ints("b"));
+        assertArrayEquals(new Integer[]{3, 3}, batch.objects("d", Integer.class));
+        assertArrayEquals(new int[]{3, 3}, batch.ints("e"));
+    }
+
+}
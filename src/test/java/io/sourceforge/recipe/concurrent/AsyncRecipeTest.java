@@ -0,0 +1,124 @@
+// SPDX-FileCopyrightText: © 2022 Nikola Vojičić <nikolavojicic@outlook.com>
+// SPDX-License-Identifier: MIT
+
+package io.sourceforge.recipe.concurrent;
+
+import io.sourceforge.recipe.Recipe;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Collections.nCopies;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SuppressWarnings({
+        "ConstantConditions",
+        "ResultOfMethodCallIgnored"})
+class AsyncRecipeTest {
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void start() {
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    void stop() throws InterruptedException {
+        executor.shutdownNow();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void of_null() {
+        assertThrows(NullPointerException.class, () -> AsyncRecipe.of(null, executor));
+        assertThrows(NullPointerException.class, () -> AsyncRecipe.of(() -> 1, null));
+    }
+
+    @Test
+    void getAsync() {
+        Recipe<String> rec = () -> Thread.currentThread().getName();
+        assertNotEquals(Thread.currentThread().getName(), rec.getAsync(executor).join());
+        assertThrows(NullPointerException.class, () -> rec.getAsync(null));
+    }
+
+    @Test
+    void map() {
+        AsyncRecipe<Integer> rec = Recipe.ofValue("four").async(executor).map(String::length);
+        assertEquals(4, rec.get().join());
+        assertThrows(NullPointerException.class, () -> rec.map(null));
+    }
+
+    @Test
+    void bind() {
+        AsyncRecipe<String> rec = Recipe
+                .ofValue(3)
+                .async(executor)
+                .bind(n -> Recipe.ofValue("x").async(executor).map(x -> String.join("", nCopies(n, x))),
+                      (n, xs) -> n + xs);
+        assertEquals("3xxx", rec.join().get());
+        assertThrows(NullPointerException.class, () -> rec.bind(null, (a, b) -> b));
+        assertThrows(NullPointerException.class, () -> rec.bind(x -> rec, null));
+    }
+
+    @Test
+    void bind_doesNotBlock() {
+        CompletableFuture<Integer> pending = new CompletableFuture<>();
+        AsyncRecipe<Integer> rec = Recipe
+                .ofValue(1)
+                .async(executor)
+                .bind(x -> () -> pending, Integer::sum);
+        CompletableFuture<Integer> result = rec.get();
+        assertFalse(result.isDone());
+        pending.complete(41);
+        assertEquals(42, result.join());
+    }
+
+    @Test
+    void take() {
+        AtomicInteger counter = new AtomicInteger();
+        Recipe<Integer> rec = counter::incrementAndGet;
+        List<Integer> values = rec.takeAsync(100, executor).join();
+        assertEquals(100, values.size());
+        assertEquals(100, values.stream().distinct().count());
+        assertEquals(0, rec.takeAsync(0, executor).join().size());
+        assertThrows(IllegalArgumentException.class, () -> rec.takeAsync(-1, executor));
+    }
+
+    @Test
+    void take_concurrent() throws Exception {
+        int size = 8;
+        CountDownLatch latch = new CountDownLatch(size);
+        Recipe<Long> rec = () -> {
+            latch.countDown();
+            try {
+                // completes only if all values are produced at the same time
+                assertTrue(latch.await(5, TimeUnit.SECONDS));
+            } catch (InterruptedException ex) {
+                throw new IllegalStateException(ex);
+            }
+            return Thread.currentThread().getId();
+        };
+        assertEquals(size, rec.takeAsync(size, executor).get(10, TimeUnit.SECONDS).size());
+    }
+
+    @Test
+    void take_failure() {
+        Recipe<Object> rec = () -> {
+            throw new IllegalStateException();
+        };
+        CompletionException ex = assertThrows(CompletionException.class, () -> rec.takeAsync(3, executor).join());
+        assertInstanceOf(IllegalStateException.class, ex.getCause());
+    }
+
+    @Test
+    void defaultExecutor() {
+        assertNotNull(AsyncRecipe.defaultExecutor());
+        assertEquals(10, Recipe.ofValue(1).takeAsync(10).join().size());
+    }
+
+}
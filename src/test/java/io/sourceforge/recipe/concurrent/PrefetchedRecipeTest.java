@@ -0,0 +1,184 @@
+// SPDX-FileCopyrightText: © 2022 Nikola Vojičić <nikolavojicic@outlook.com>
+// SPDX-License-Identifier: MIT
+
+package io.sourceforge.recipe.concurrent;
+
+import io.sourceforge.recipe.Recipe;
+import io.sourceforge.recipe.concurrent.PrefetchedRecipe.WhenEmpty;
+import io.sourceforge.recipe.exception.RecipeFilterException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SuppressWarnings({
+        "ConstantConditions",
+        "ResultOfMethodCallIgnored"})
+class PrefetchedRecipeTest {
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void start() {
+        executor = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    void stop() throws InterruptedException {
+        executor.shutdownNow();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    private static void await(PrefetchedRecipe<?> rec, int depth) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (rec.depth() < depth) {
+            assertTrue(System.nanoTime() < deadline);
+            Thread.sleep(1);
+        }
+    }
+
+    @Test
+    void of_invalid() {
+        Recipe<Integer> rec = Recipe.ofValue(1);
+        assertThrows(NullPointerException.class, () -> PrefetchedRecipe.of(null, 1, 1, executor, WhenEmpty.WAIT));
+        assertThrows(NullPointerException.class, () -> PrefetchedRecipe.of(rec, 1, 1, null, WhenEmpty.WAIT));
+        assertThrows(NullPointerException.class, () -> PrefetchedRecipe.of(rec, 1, 1, executor, null));
+        assertThrows(IllegalArgumentException.class, () -> PrefetchedRecipe.of(rec, 0, 1, executor, WhenEmpty.WAIT));
+        assertThrows(IllegalArgumentException.class, () -> PrefetchedRecipe.of(rec, 1, 0, executor, WhenEmpty.WAIT));
+        assertThrows(IllegalArgumentException.class, () -> PrefetchedRecipe.of(
+                rec, PrefetchedRecipe.MAX_CAPACITY + 1, 1, executor, WhenEmpty.WAIT));
+        assertThrows(IllegalArgumentException.class, () -> PrefetchedRecipe.of(
+                rec, Integer.MAX_VALUE, 1, executor, WhenEmpty.WAIT));
+        assertThrows(NullPointerException.class, () -> PrefetchedRecipe.of(rec, 1, 1, executor, WhenEmpty.WAIT, null));
+        assertThrows(IllegalArgumentException.class, () -> PrefetchedRecipe.Backoff.exponential(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> PrefetchedRecipe.Backoff.exponential(2, 1));
+    }
+
+    @Test
+    void get_ordered() throws InterruptedException {
+        AtomicInteger counter = new AtomicInteger();
+        try (PrefetchedRecipe<Integer> rec = PrefetchedRecipe.of(
+                counter::incrementAndGet, 10, 1, executor, WhenEmpty.WAIT))
+        {
+            assertEquals(16, rec.capacity());
+            await(rec, 16);
+            assertEquals(16, rec.depth());
+            for (int i = 1; i <= 16; i++)
+                assertEquals(i, rec.get());
+            assertEquals(0, rec.starvations());
+            for (int i = 17; i <= 1000; i++)
+                assertEquals(i, rec.get());
+        }
+    }
+
+    @Test
+    void get_nullAndFailure() throws InterruptedException {
+        AtomicInteger counter = new AtomicInteger();
+        try (PrefetchedRecipe<Integer> rec = PrefetchedRecipe.of(
+                Recipe
+                        .of(counter::incrementAndGet)
+                        .filter(x -> x != 2, 1)
+                        .map(x -> x == 3 ? null : x),
+                4, 1, executor, WhenEmpty.WAIT))
+        {
+            await(rec, 4);
+            assertEquals(1, rec.get());
+            assertThrows(RecipeFilterException.class, rec::get);
+            assertNull(rec.get());
+            assertEquals(4, rec.get());
+        }
+    }
+
+    @Test
+    void get_generateWhenEmpty() {
+        CountDownLatch latch = new CountDownLatch(1);
+        try (PrefetchedRecipe<Integer> rec = PrefetchedRecipe.of(
+                () -> {
+                    try {
+                        latch.await();
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return 1;
+                },
+                4, 1, executor, WhenEmpty.GENERATE))
+        {
+            latch.countDown();
+            assertEquals(1, rec.get());
+            assertTrue(rec.starvations() <= 1);
+        }
+    }
+
+    @Test
+    void get_concurrent() throws Exception {
+        AtomicInteger counter = new AtomicInteger();
+        try (PrefetchedRecipe<Integer> rec = PrefetchedRecipe.of(
+                counter::incrementAndGet, 64, 4, executor, WhenEmpty.WAIT))
+        {
+            Set<Integer> values = ConcurrentHashMap.newKeySet();
+            Future<?>[] consumers = new Future<?>[4];
+            for (int i = 0; i < consumers.length; i++)
+                consumers[i] = executor.submit(() -> {
+                    for (int j = 0; j < 10_000; j++)
+                        assertTrue(values.add(rec.get()));
+                });
+            for (Future<?> consumer : consumers)
+                consumer.get(10, TimeUnit.SECONDS);
+            assertEquals(40_000, values.size());
+        }
+    }
+
+    @Test
+    void close_test() throws InterruptedException {
+        PrefetchedRecipe<Integer> rec = Recipe.ofValue(1).prefetched(4, executor);
+        await(rec, 4);
+        rec.close();
+        assertEquals(0, rec.depth());
+        long produced = rec.produced();
+        assertThrows(IllegalStateException.class, rec::get);
+        Thread.sleep(10);
+        assertEquals(produced, rec.produced());
+    }
+
+    @Test
+    void close_waitsForProducers() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicInteger running = new AtomicInteger();
+        PrefetchedRecipe<Integer> rec = PrefetchedRecipe.of(() -> {
+            running.incrementAndGet();
+            started.countDown();
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            running.decrementAndGet();
+            return 1;
+        }, 4, 2, executor, WhenEmpty.WAIT);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        rec.close();
+        assertEquals(0, running.get());
+        assertEquals(0, rec.depth());
+    }
+
+    @Test
+    void backoff_custom() throws InterruptedException {
+        AtomicInteger idle = new AtomicInteger();
+        PrefetchedRecipe<Integer> rec = PrefetchedRecipe.of(Recipe.ofValue(1), 1, 1, executor, WhenEmpty.WAIT, attempt -> {
+            idle.incrementAndGet();
+            Thread.yield();
+        });
+        await(rec, 1);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (idle.get() == 0)
+            assertTrue(System.nanoTime() < deadline);
+        rec.close();
+        assertThrows(IllegalStateException.class, rec::get);
+    }
+
+}
@@ -0,0 +1,164 @@
+// SPDX-FileCopyrightText: © 2022 Nikola Vojičić <nikolavojicic@outlook.com>
+// SPDX-License-Identifier: MIT
+
+package io.sourceforge.recipe.dedup;
+
+import io.sourceforge.recipe.Recipe;
+import io.sourceforge.recipe.exception.RecipeFilterException;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static io.sourceforge.recipe.random.RandomSource.current;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SuppressWarnings({
+        "ConstantConditions",
+        "ResultOfMethodCallIgnored"})
+class DedupTest {
+
+    @Test
+    void longHashSet() {
+        LongHashSet set = new LongHashSet();
+        Set<Long> expected = new HashSet<>();
+        Random random = new Random(1);
+        for (int i = 0; i < 100_000; i++) {
+            long key = random.nextInt(50_000) - 25_000;
+            assertEquals(expected.add(key), set.add(key));
+        }
+        assertEquals(expected.size(), set.size());
+    }
+
+    @Test
+    void bloomFilter() {
+        BloomFilter filter = new BloomFilter(100_000, 0.01);
+        assertEquals(7, filter.hashes());
+        for (long i = 0; i < 90_000; i++)
+            filter.add(i * 31);
+        for (long i = 0; i < 90_000; i++)
+            assertFalse(filter.add(i * 31));
+        int falsePositives = 0;
+        for (long i = 0; i < 10_000; i++)
+            if (!filter.add(-i - 1))
+                falsePositives++;
+        assertTrue(falsePositives < 200, "False positives: " + falsePositives);
+    }
+
+    @Test
+    void bloomFilter_arguments() {
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(10, 0));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(10, 1));
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(10, Double.NaN));
+    }
+
+    @Test
+    void distinct() {
+        Recipe<Integer> rec = () -> current().nextInt(2000);
+        List<Integer> values = rec.distinct().take(1000);
+        assertEquals(1000, new HashSet<>(values).size());
+    }
+
+    static final class Point {
+
+        final int x, y;
+
+        Point(int x, int y) {
+            this.x = x;
+            this.y = y;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Point && ((Point) o).x == x && ((Point) o).y == y;
+        }
+
+        @Override
+        public int hashCode() {
+            return x + y;
+        }
+
+    }
+
+    @Test
+    void distinct_equality() {
+        // All points have the same hash code, but are not equal.
+        AtomicLong next = new AtomicLong();
+        Recipe<Point> rec = () -> {
+            int i = (int) next.getAndIncrement() / 2;
+            return new Point(i, -i);
+        };
+        assertEquals(1000, new HashSet<>(rec.distinct().take(1000)).size());
+        next.set(0);
+        assertEquals(1000, new HashSet<>(rec.distinct(Dedup.concurrentEquality()).take(1000)).size());
+    }
+
+    @Test
+    void distinct_exhausted() {
+        Dedup<Object> dedup = Dedup.exact(Dedup::fingerprint);
+        Recipe<Integer> rec = Recipe.ofValue(1).distinct(dedup, 5);
+        assertEquals(1, rec.get());
+        RecipeFilterException ex = assertThrows(RecipeFilterException.class, rec::get);
+        assertEquals(0, ex.getStackTrace().length);
+        assertEquals(1, dedup.accepted());
+        assertEquals(5, dedup.retries());
+        assertEquals(1, dedup.failed());
+        assertThrows(IllegalArgumentException.class, () -> Recipe.ofValue(1).distinct(dedup, 0));
+        assertThrows(NullPointerException.class, () -> Recipe.ofValue(1).distinct(null));
+    }
+
+    @Test
+    void approximate() {
+        Dedup<Long> dedup = Dedup.approximate(x -> x, 10_000, 0.001);
+        Recipe<Long> rec = Recipe.<Long>of(() -> current().nextLong(20_000)).distinct(dedup, 1000);
+        List<Long> values = rec.take(10_000);
+        assertEquals(10_000, new HashSet<>(values).size());
+        assertEquals(10_000, dedup.accepted());
+        assertTrue(dedup.retries() > 0);
+    }
+
+    @Test
+    void concurrent() throws Exception {
+        for (Dedup<Long> dedup : Arrays.asList(
+                Dedup.<Long>concurrentExact(x -> x, 8),
+                Dedup.<Long>concurrentApproximate(x -> x, 40_000, 0.001, 8))) {
+            AtomicLong next = new AtomicLong();
+            // every value is produced twice
+            Recipe<Long> rec = Recipe.<Long>of(() -> next.getAndIncrement() / 2).distinct(dedup, 100);
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                List<Future<List<Long>>> futures = new ArrayList<>();
+                for (int i = 0; i < 4; i++)
+                    futures.add(executor.submit(() -> rec.take(5_000)));
+                Set<Long> all = new HashSet<>();
+                for (Future<List<Long>> future : futures)
+                    all.addAll(future.get(10, TimeUnit.SECONDS));
+                assertEquals(20_000, all.size());
+                assertEquals(20_000, dedup.accepted());
+            } finally {
+                executor.shutdown();
+            }
+        }
+    }
+
+    @Test
+    void factories_arguments() {
+        assertThrows(NullPointerException.class, () -> Dedup.exact(null));
+        assertThrows(IllegalArgumentException.class, () -> Dedup.concurrentExact(x -> 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> Dedup.approximate(x -> 0, 0, 0.1));
+        assertThrows(IllegalArgumentException.class, () -> Dedup.concurrentApproximate(x -> 0, 10, 0.1, -1));
+    }
+
+    @Test
+    void fingerprint() {
+        assertEquals(42, Dedup.fingerprint(42));
+        assertEquals(42, Dedup.fingerprint(42L));
+        assertEquals(Dedup.fingerprint("abc"), Dedup.fingerprint(new StringBuilder("abc")));
+        assertNotEquals(Dedup.fingerprint("abc"), Dedup.fingerprint("acb"));
+        assertEquals(0, Dedup.fingerprint(null));
+        assertNotEquals(Dedup.fingerprint(1.0), Dedup.fingerprint(Double.longBitsToDouble(Double.doubleToLongBits(1.0) ^ 0x1_0000_0001L)));
+    }
+
+}
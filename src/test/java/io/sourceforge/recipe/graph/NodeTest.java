@@ -0,0 +1,193 @@
+// SPDX-FileCopyrightText: © 2022 Nikola Vojičić <nikolavojicic@outlook.com>
+// SPDX-License-Identifier: MIT
+
+package io.sourceforge.recipe.graph;
+
+import io.sourceforge.recipe.FilterStats;
+import io.sourceforge.recipe.Recipe;
+import io.sourceforge.recipe.exception.RecipeFilterException;
+import io.sourceforge.recipe.util.Pair;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static java.util.Collections.singleton;
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.counting;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toSet;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SuppressWarnings({
+        "ConstantConditions",
+        "ResultOfMethodCallIgnored"})
+class NodeTest {
+
+    @Test
+    void of_null() {
+        assertThrows(NullPointerException.class, () -> Node.of(null));
+    }
+
+    @Test
+    void of_node() {
+        Node<Integer> node = Node.ofValue(5);
+        assertSame(node, Node.of(node));
+    }
+
+    @Test
+    void ofValue_test() {
+        assertEquals(5, Node.ofValue(5).get());
+        assertNull(Node.ofValue(null).get());
+    }
+
+    @Test
+    void map_fused() {
+        Node<Integer> node = Node.ofValue(0);
+        for (int i = 0; i < 100_000; i++)
+            node = node.map(x -> x + 1);
+        assertEquals(100_000, node.get());
+    }
+
+    @Test
+    void map_mutable() {
+        Recipe<Integer> rec = Node
+                .ofValue(new AtomicInteger())
+                .map(AtomicInteger::incrementAndGet)
+                .compile();
+        assertEquals(1, rec.get());
+        assertEquals(2, rec.get());
+    }
+
+    @Test
+    void bind_test() {
+        Recipe<Pair<Integer, Integer>> rec = Node
+                .ofValue(5)
+                .map(x -> x + 1)
+                .bind(x -> () -> x * 2, Pair::new);
+        assertEquals(new Pair<>(6, 12), rec.get());
+    }
+
+    @Test
+    void filter_test() {
+        AtomicInteger counter = new AtomicInteger();
+        Recipe<Integer> rec = Node
+                .of(counter::incrementAndGet)
+                .filter(x -> x == 0);
+        assertThrows(RecipeFilterException.class, rec::get);
+        assertEquals(100, counter.get());
+        assertEquals(
+                singleton(2),
+                Stream.generate(Node.oneOf(() -> 1, () -> 2).filter(x -> x > 1)).limit(100).collect(toSet()));
+    }
+
+    @Test
+    void filter_maxTries() {
+        AtomicInteger counter = new AtomicInteger();
+        FilterStats stats = new FilterStats("node");
+        Node<Integer> node = Node
+                .of(counter::incrementAndGet)
+                .filter(x -> x % 4 == 0, 2, stats);
+        assertThrows(RecipeFilterException.class, node::get); // 1, 2
+        assertEquals(4, node.get());                          // 3, 4
+        assertEquals(1, stats.failed());
+        assertEquals(3, stats.rejected());
+        assertEquals("Filter[Source]", node.toString());
+        Node<Integer> rec = Node.ofValue(1).filter(x -> false, 3);
+        RecipeFilterException ex = assertThrows(RecipeFilterException.class, rec::get);
+        assertEquals(0, ex.getStackTrace().length);
+        assertThrows(IllegalArgumentException.class, () -> rec.filter(x -> true, 0));
+        assertThrows(NullPointerException.class, () -> rec.filter(x -> true, 1, null));
+    }
+
+    @Test
+    void compile_deep() {
+        Node<Integer> choice = Node.ofValue(0);
+        Node<Integer> bound = Node.ofValue(0);
+        for (int i = 1; i <= 100_000; i++) {
+            choice = choice.or(Node.ofValue(i));
+            bound = bound.bind(x -> () -> 1, Integer::sum);
+        }
+        int value = choice.get();
+        assertTrue(value >= 0 && value <= 100_000);
+        assertEquals(100_000, bound.get());
+        assertEquals(100_000, bound.compile().get());
+    }
+
+    @Test
+    void chain_deep() {
+        AtomicInteger counter = new AtomicInteger();
+        Node<Integer> node = Node.of(counter::incrementAndGet);
+        for (int i = 0; i < 100_000; i++)
+            node = node.map(x -> x + 1).filter(x -> true);
+        Node<Integer> filtered = node.filter(x -> x % 2 == 0);
+        assertEquals(0, filtered.get() % 2);
+        String description = node.map(x -> x).toString();
+        assertTrue(description.startsWith("Map[Filter[Map[Filter["));
+        assertTrue(description.contains("Filter[Map[Source]]"));
+        assertTrue(description.endsWith("]]]]"));
+    }
+
+    @Test
+    void filter_nested() {
+        AtomicInteger counter = new AtomicInteger();
+        Node<Integer> node = Node
+                .of(counter::incrementAndGet)
+                .filter(x -> x % 2 == 0)
+                .map(x -> x / 2)
+                .filter(x -> x % 3 == 0);
+        assertEquals(3, node.get());
+        assertEquals(6, counter.get());
+        assertEquals(6, node.get());
+        assertEquals(12, counter.get());
+    }
+
+    @Test
+    void oneOf_invalid() {
+        assertThrows(IllegalArgumentException.class, Node::oneOf);
+        assertThrows(NullPointerException.class, () -> Node.oneOf(() -> 1, null));
+        assertThrows(IllegalArgumentException.class, () -> Node.oneOfWeighted(new double[]{1}));
+        assertThrows(IllegalArgumentException.class, () -> Node.oneOfWeighted(new double[]{-1}, () -> 1));
+    }
+
+    @Test
+    void or_flattened() {
+        Recipe<String> rec = Node
+                .of(() -> "a")
+                .or(() -> "b")
+                .or(Node.ofValue("c"))
+                .compile()
+                .withSeed(42);
+        Map<String, Long> counts = Stream
+                .generate(rec)
+                .limit(100_000)
+                .collect(groupingBy(identity(), counting()));
+        assertEquals(0.25, counts.get("a") / 100_000.0, 0.01);
+        assertEquals(0.25, counts.get("b") / 100_000.0, 0.01);
+        assertEquals(0.50, counts.get("c") / 100_000.0, 0.01);
+    }
+
+    @Test
+    void oneOf_constants() {
+        Recipe<String> rec = Node.oneOf(
+                Node.ofValue("a"),
+                Node.oneOfWeighted(
+                        new double[]{1, 0},
+                        Node.ofValue("b"),
+                        Node.ofValue("c")));
+        assertEquals(
+                Stream.of("a", "b").collect(toSet()),
+                Stream.generate(rec).limit(100).collect(toSet()));
+    }
+
+    @Test
+    void toString_tree() {
+        Supplier<Integer> source = () -> 1;
+        assertEquals(
+                "Filter[Map[Choice[1.0=Source, 1.0=Const[2]]]]",
+                Node.of(source).or(Node.ofValue(2)).map(x -> x).filter(x -> true).toString());
+    }
+
+}
@@ -0,0 +1,30 @@
+// SPDX-FileCopyrightText: © 2022 Nikola Vojičić <nikolavojicic@outlook.com>
+// SPDX-License-Identifier: MIT
+
+package io.sourceforge.recipe.metrics;
+
+import io.sourceforge.recipe.Recipe;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Exercises the paths that record metrics in a fresh JVM with metrics disabled,
+ * and exits with status 1 if the thread bean was looked up.
+ */
+final class DisabledMetricsMain {
+
+    private DisabledMetricsMain() {
+        throw new AssertionError();
+    }
+
+    public static void main(String[] args) {
+        AtomicInteger counter = new AtomicInteger();
+        Recipe.of(counter::incrementAndGet).filter(x -> x % 10 == 0).get();
+        Recipe.of(() -> counter.incrementAndGet() / 3).distinct().get();
+        Recipe.ofValue(1).named("disabled").get();
+        Metrics.recordRejections(1);
+        Metrics.recordRetries(1);
+        System.exit(Metrics.threadsResolved() ? 1 : 0);
+    }
+
+}
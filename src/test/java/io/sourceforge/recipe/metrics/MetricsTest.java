@@ -0,0 +1,158 @@
+// SPDX-FileCopyrightText: © 2022 Nikola Vojičić <nikolavojicic@outlook.com>
+// SPDX-License-Identifier: MIT
+
+package io.sourceforge.recipe.metrics;
+
+import io.sourceforge.recipe.IntRecipe;
+import io.sourceforge.recipe.Recipe;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import static io.sourceforge.recipe.util.Fn.recfn;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SuppressWarnings("ResultOfMethodCallIgnored")
+class MetricsTest {
+
+    @AfterEach
+    void disable() {
+        Metrics.setEnabled(false);
+        Metrics.setAllocationTracking(false);
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(2);
+        } catch (InterruptedException ex) {
+            throw new AssertionError(ex);
+        }
+    }
+
+    @Test
+    void named_disabled() {
+        Recipe<Integer> rec = Recipe.ofValue(5);
+        assertSame(rec, rec.named("disabled"));
+        rec.named("disabled").get();
+        assertNull(Metrics.registry().snapshot().node("disabled"));
+    }
+
+    @Test
+    void disabled_threadsNotResolved() throws Exception {
+        Process process = new ProcessBuilder(
+                Paths.get(System.getProperty("java.home"), "bin", "java").toString(),
+                "-cp", System.getProperty("java.class.path"),
+                DisabledMetricsMain.class.getName())
+                .inheritIO()
+                .start();
+        assertTrue(process.waitFor(30, TimeUnit.SECONDS));
+        assertEquals(0, process.exitValue());
+    }
+
+    @Test
+    void named_null() {
+        Metrics.setEnabled(true);
+        assertThrows(NullPointerException.class, () -> Recipe.ofValue(5).named(null));
+    }
+
+    @Test
+    void named_selfTime() {
+        Metrics.setEnabled(true);
+        Recipe<Integer> child = Recipe
+                .of(() -> {
+                    sleep();
+                    return 1;
+                })
+                .named("selfTime.child");
+        Recipe<Integer> parent = Recipe
+                .ofValue(1)
+                .bind(recfn(child), Integer::sum)
+                .named("selfTime.parent");
+        for (int i = 0; i < 5; i++)
+            assertEquals(2, parent.get());
+        MetricsSnapshot snapshot = Metrics.registry().snapshot();
+        NodeSnapshot p = snapshot.node("selfTime.parent");
+        NodeSnapshot c = snapshot.node("selfTime.child");
+        assertEquals(5, p.count());
+        assertEquals(5, c.count());
+        assertTrue(c.selfNanos() >= 5 * 2_000_000L);
+        assertTrue(p.totalNanos() >= c.totalNanos());
+        assertTrue(p.selfNanos() < c.selfNanos());
+        assertEquals(5, LongStream.of(c.histogram()).sum());
+    }
+
+    @Test
+    void named_rejections() {
+        Metrics.setEnabled(true);
+        AtomicInteger counter = new AtomicInteger();
+        Recipe<Integer> rec = Recipe
+                .of(counter::incrementAndGet)
+                .filter(x -> x % 3 == 0)
+                .named("rejections");
+        rec.get();
+        rec.get();
+        assertEquals(4, Metrics.registry().snapshot().node("rejections").rejections());
+    }
+
+    @Test
+    void named_primitiveRejections() {
+        Metrics.setEnabled(true);
+        AtomicInteger counter = new AtomicInteger();
+        Recipe<Integer> rec = IntRecipe
+                .of(counter::incrementAndGet)
+                .filter(x -> x % 3 == 0)
+                .boxed()
+                .named("primitiveRejections");
+        rec.get();
+        rec.get();
+        assertEquals(4, Metrics.registry().snapshot().node("primitiveRejections").rejections());
+    }
+
+    @Test
+    void named_retries() {
+        Metrics.setEnabled(true);
+        AtomicInteger counter = new AtomicInteger();
+        Recipe<Integer> rec = Recipe
+                .of(() -> counter.incrementAndGet() / 3)
+                .distinct()
+                .named("retries");
+        rec.get();
+        rec.get();
+        NodeSnapshot node = Metrics.registry().snapshot().node("retries");
+        assertEquals(1, node.retries());
+        assertEquals(0, node.rejections());
+    }
+
+    @Test
+    void named_allocations() {
+        Metrics.setEnabled(true);
+        Metrics.setAllocationTracking(true);
+        Recipe<long[]> rec = Recipe
+                .of(() -> new long[1024])
+                .named("allocations");
+        rec.get();
+        assertTrue(Metrics.registry().snapshot().node("allocations").allocatedBytes() >= 8 * 1024);
+    }
+
+    @Test
+    void snapshot_json() {
+        Metrics.setEnabled(true);
+        Recipe.ofValue(5).named("json \"quoted\"").get();
+        String json = Metrics.registry().snapshot().toJson();
+        assertTrue(json.startsWith("{\"nodes\":["));
+        assertTrue(json.contains("{\"name\":\"json \\\"quoted\\\"\",\"count\":1,"));
+    }
+
+    @Test
+    void reset_test() {
+        Metrics.setEnabled(true);
+        Recipe.ofValue(5).named("reset").get();
+        Metrics.registry().reset();
+        assertEquals(0, Metrics.registry().snapshot().node("reset").count());
+    }
+
+}
@@ -0,0 +1,72 @@
+// SPDX-FileCopyrightText: © 2022 Nikola Vojičić <nikolavojicic@outlook.com>
+// SPDX-License-Identifier: MIT
+
+package io.sourceforge.recipe.random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SuppressWarnings({
+        "ConstantConditions",
+        "ResultOfMethodCallIgnored"})
+class AliasTableTest {
+
+    @Test
+    void of_invalid() {
+        assertThrows(NullPointerException.class, () -> AliasTable.of(null));
+        assertThrows(IllegalArgumentException.class, AliasTable::of);
+        assertThrows(IllegalArgumentException.class, () -> AliasTable.of(1, -1));
+        assertThrows(IllegalArgumentException.class, () -> AliasTable.of(1, Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> AliasTable.of(1, Double.POSITIVE_INFINITY));
+        assertThrows(IllegalArgumentException.class, () -> AliasTable.of(0, 0));
+    }
+
+    @Test
+    void sample_single() {
+        AliasTable table = AliasTable.of(3);
+        RandomSource rnd = RandomSource.seeded(42);
+        for (int i = 0; i < 100; i++)
+            assertEquals(0, table.sample(rnd));
+    }
+
+    @Test
+    void sample_zeroWeight() {
+        AliasTable table = AliasTable.of(0, 1, 0, 2, 0);
+        RandomSource rnd = RandomSource.seeded(42);
+        for (int i = 0; i < 10_000; i++) {
+            int x = table.sample(rnd);
+            assertTrue(x == 1 || x == 3);
+        }
+    }
+
+    @Test
+    void sample_proportional() {
+        double[] weights = {95, 2, 2, 1};
+        AliasTable table = AliasTable.of(weights);
+        RandomSource rnd = RandomSource.seeded(42);
+        int n = 1_000_000;
+        int[] counts = new int[weights.length];
+        for (int i = 0; i < n; i++)
+            counts[table.sample(rnd)]++;
+        for (int i = 0; i < weights.length; i++)
+            assertEquals(weights[i] / 100, (double) counts[i] / n, 0.002);
+    }
+
+    @Test
+    void sample_manyEntries() {
+        int size = 5_000;
+        double[] weights = new double[size];
+        for (int i = 0; i < size; i++)
+            weights[i] = i % 2 == 0 ? 1 : 3;
+        AliasTable table = AliasTable.of(weights);
+        assertEquals(size, table.size());
+        RandomSource rnd = RandomSource.seeded(42);
+        int odd = 0;
+        int n = 1_000_000;
+        for (int i = 0; i < n; i++)
+            odd += table.sample(rnd) % 2;
+        assertEquals(0.75, (double) odd / n, 0.005);
+    }
+
+}
@@ -0,0 +1,139 @@
+// SPDX-FileCopyrightText: © 2022 Nikola Vojičić <nikolavojicic@outlook.com>
+// SPDX-License-Identifier: MIT
+
+package io.sourceforge.recipe.random;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static java.util.stream.Collectors.toSet;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RandomSourceTest {
+
+    @Test
+    void seeded_reproducible() {
+        RandomSource x = RandomSource.seeded(42);
+        RandomSource y = RandomSource.seeded(42);
+        for (int i = 0; i < 100; i++)
+            assertEquals(x.nextLong(), y.nextLong());
+    }
+
+    @Test
+    void seeded_differentSeeds() {
+        assertNotEquals(
+                RandomSource.seeded(1).nextLong(),
+                RandomSource.seeded(2).nextLong());
+    }
+
+    @Test
+    void split_reproducible() {
+        RandomSource x = RandomSource.seeded(42).split();
+        RandomSource y = RandomSource.seeded(42).split();
+        for (int i = 0; i < 100; i++)
+            assertEquals(x.nextLong(), y.nextLong());
+    }
+
+    @Test
+    void split_independent() {
+        RandomSource parent = RandomSource.seeded(42);
+        RandomSource child = parent.split();
+        assertEquals(
+                200,
+                LongStream
+                        .concat(LongStream.generate(parent::nextLong).limit(100),
+                                LongStream.generate(child::nextLong).limit(100))
+                        .boxed()
+                        .collect(toSet())
+                        .size());
+    }
+
+    @Test
+    void fork_reproducible() {
+        RandomSource source = RandomSource.seeded(42);
+        assertEquals(source.fork(3).nextLong(), source.fork(3).nextLong());
+        assertNotEquals(source.fork(3).nextLong(), source.fork(4).nextLong());
+    }
+
+    @Test
+    void fork_default() {
+        RandomSource seeded = RandomSource.seeded(42);
+        RandomSource source = new RandomSource() {
+            @Override
+            public long nextLong() {
+                return seeded.nextLong();
+            }
+
+            @Override
+            public RandomSource split() {
+                return seeded.split();
+            }
+        };
+        assertNotEquals(source.fork(3).nextLong(), source.fork(3).nextLong());
+        assertNotEquals(source.fork(3).nextLong(), source.fork(4).nextLong());
+    }
+
+    @Test
+    void nextInt_bounds() {
+        RandomSource rnd = RandomSource.seeded(42);
+        assertThrows(IllegalArgumentException.class, () -> rnd.nextInt(0));
+        assertThrows(IllegalArgumentException.class, () -> rnd.nextInt(5, 5));
+        assertEquals(
+                IntStream.range(-3, 4).boxed().collect(toSet()),
+                IntStream.generate(() -> rnd.nextInt(-3, 4)).limit(1000).boxed().collect(toSet()));
+        assertEquals(
+                IntStream.range(0, 8).boxed().collect(toSet()),
+                IntStream.generate(() -> rnd.nextInt(8)).limit(1000).boxed().collect(toSet()));
+        for (int i = 0; i < 1000; i++) {
+            int x = rnd.nextInt(Integer.MIN_VALUE, Integer.MAX_VALUE);
+            assertTrue(x < Integer.MAX_VALUE);
+        }
+    }
+
+    @Test
+    void nextLong_bounds() {
+        RandomSource rnd = RandomSource.seeded(42);
+        assertThrows(IllegalArgumentException.class, () -> rnd.nextLong(-1));
+        assertThrows(IllegalArgumentException.class, () -> rnd.nextLong(5, 4));
+        assertEquals(
+                LongStream.range(-3, 4).boxed().collect(toSet()),
+                LongStream.generate(() -> rnd.nextLong(-3, 4)).limit(1000).boxed().collect(toSet()));
+    }
+
+    @Test
+    void nextDouble_bounds() {
+        RandomSource rnd = RandomSource.seeded(42);
+        assertThrows(IllegalArgumentException.class, () -> rnd.nextDouble(1, 1));
+        for (int i = 0; i < 1000; i++) {
+            double x = rnd.nextDouble(-1, 1);
+            assertTrue(x >= -1 && x < 1);
+        }
+    }
+
+    @Test
+    void current_default() {
+        assertSame(RandomSource.threadLocal(), RandomSource.current());
+    }
+
+    @Test
+    void call_scoped() {
+        RandomSource outer = RandomSource.seeded(1);
+        RandomSource inner = RandomSource.seeded(2);
+        RandomSource.call(outer, () -> {
+            assertSame(outer, RandomSource.current());
+            assertSame(inner, RandomSource.call(inner, RandomSource::current));
+            assertSame(outer, RandomSource.current());
+            return null;
+        });
+        assertSame(RandomSource.threadLocal(), RandomSource.current());
+    }
+
+    @Test
+    void call_null() {
+        assertThrows(NullPointerException.class, () -> RandomSource.call(null, () -> 1));
+        assertThrows(NullPointerException.class, () -> RandomSource.call(RandomSource.seeded(1), null));
+    }
+
+}
@@ -0,0 +1,246 @@
+// SPDX-FileCopyrightText: © 2022 Nikola Vojičić <nikolavojicic@outlook.com>
+// SPDX-License-Identifier: MIT
+
+package io.sourceforge.recipe.sink;
+
+import io.sourceforge.recipe.Recipe;
+import io.sourceforge.recipe.random.RandomSource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SuppressWarnings({
+        "ConstantConditions",
+        "ResultOfMethodCallIgnored"})
+class FileSinkTest {
+
+    @TempDir
+    Path dir;
+
+    private static Map<String, Function<long[], ?>> fields() {
+        Map<String, Function<long[], ?>> fields = new LinkedHashMap<>();
+        fields.put("id", r -> r[0]);
+        fields.put("name", r -> "n\"a,me " + r[0]);
+        fields.put("even", r -> r[0] % 2 == 0);
+        return fields;
+    }
+
+    private static Recipe<long[]> counter() {
+        AtomicLong next = new AtomicLong();
+        return () -> new long[]{next.getAndIncrement()};
+    }
+
+    private static String encode(RecordEncoder<Object> encoder, Object record) {
+        ByteOutput out = new ByteOutput(1);
+        encoder.encode(record, out);
+        byte[] bytes = new byte[out.size()];
+        out.flip().get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void csv() throws IOException {
+        Path file = dir.resolve("out.csv");
+        Progress progress = FileSink.of(RecordEncoder.csv(fields())).withBatchSize(7).write(counter(), 20, file);
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(21, lines.size());
+        assertEquals("id,name,even", lines.get(0));
+        assertEquals("3,\"n\"\"a,me 3\",false", lines.get(4));
+        assertEquals(20, progress.records());
+        assertTrue(progress.done());
+        assertEquals(Files.size(file), progress.bytes());
+    }
+
+    @Test
+    void csv_values() {
+        Map<String, Function<Object, ?>> columns = new LinkedHashMap<>();
+        columns.put("a", x -> null);
+        columns.put("b", x -> x);
+        RecordEncoder<Object> encoder = RecordEncoder.csv(columns);
+        assertEquals(",-42\n", encode(encoder, -42));
+        assertEquals(",\"a\nb\"\n", encode(encoder, "a\nb"));
+        assertEquals(",čćž😀\n", encode(encoder, "čćž😀"));
+        assertThrows(IllegalArgumentException.class, () -> RecordEncoder.csv(new HashMap<>()));
+        assertThrows(NullPointerException.class, () -> RecordEncoder.csv(null));
+    }
+
+    @Test
+    void jsonLines() throws IOException {
+        Path file = dir.resolve("out.jsonl");
+        FileSink.of(RecordEncoder.jsonLines(fields())).write(counter(), 3, file);
+        assertEquals(Arrays.asList(
+                "{\"id\":0,\"name\":\"n\\\"a,me 0\",\"even\":true}",
+                "{\"id\":1,\"name\":\"n\\\"a,me 1\",\"even\":false}",
+                "{\"id\":2,\"name\":\"n\\\"a,me 2\",\"even\":true}"),
+                Files.readAllLines(file));
+    }
+
+    @Test
+    void jsonLines_values() {
+        Map<String, Function<Object, ?>> fields = Collections.singletonMap("v", x -> x);
+        RecordEncoder<Object> encoder = RecordEncoder.jsonLines(fields);
+        assertEquals("{\"v\":null}\n", encode(encoder, null));
+        assertEquals("{\"v\":1.5}\n", encode(encoder, 1.5));
+        assertEquals("{\"v\":null}\n", encode(encoder, Double.NaN));
+        assertEquals("{\"v\":" + Long.MIN_VALUE + "}\n", encode(encoder, Long.MIN_VALUE));
+        assertEquals("{\"v\":\"a\\\\b\\n\\u0001ž\"}\n", encode(encoder, "a\\b\n\u0001ž"));
+    }
+
+    @Test
+    void parallel() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Path sequential = dir.resolve("sequential.csv");
+            Path parallel = dir.resolve("parallel.csv");
+            Map<String, Function<Long, ?>> columns = Collections.singletonMap("n", n -> n);
+            Recipe<Long> rec = () -> 7L;
+            FileSink<Long> sink = FileSink.of(RecordEncoder.csv(columns)).withBatchSize(100);
+            sink.write(rec, 10_000, sequential);
+            Progress progress = sink.withParallelism(4, executor).write(rec, 10_000, parallel);
+            assertEquals(10_000, progress.records());
+            assertArrayEquals(Files.readAllBytes(sequential), Files.readAllBytes(parallel));
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void parallel_order() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Path file = dir.resolve("ordered.csv");
+            Recipe<long[]> rec = counter();
+            Map<String, Function<long[], ?>> columns = Collections.singletonMap("id", r -> r[0]);
+            FileSink.of(RecordEncoder.csv(columns))
+                    .withBatchSize(1)
+                    .withParallelism(3, executor)
+                    .write(rec, 1000, file);
+            List<String> lines = Files.readAllLines(file);
+            assertEquals(1001, lines.size());
+            // batches of one record are written in submission order, but generated concurrently
+            assertEquals(1000, new HashSet<>(lines.subList(1, 1001)).size());
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void parallel_seeded() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Path sequential = dir.resolve("seeded-sequential.csv");
+            Path parallel = dir.resolve("seeded-parallel.csv");
+            Map<String, Function<Long, ?>> columns = Collections.singletonMap("n", n -> n);
+            Recipe<Long> rec = () -> RandomSource.current().nextLong();
+            FileSink<Long> sink = FileSink.of(RecordEncoder.csv(columns)).withBatchSize(100).withRandom(RandomSource.seeded(7));
+            sink.write(rec, 10_000, sequential);
+            sink.withParallelism(4, executor).write(rec, 10_000, parallel);
+            assertArrayEquals(Files.readAllBytes(sequential), Files.readAllBytes(parallel));
+            assertEquals(10_001, new HashSet<>(Files.readAllLines(parallel)).size());
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void parallel_failure() {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Recipe<Long> rec = () -> {
+                throw new IllegalStateException();
+            };
+            FileSink<Long> sink = FileSink
+                    .of(RecordEncoder.csv(Collections.<String, Function<Long, ?>>singletonMap("n", n -> n)))
+                    .withParallelism(2, executor);
+            assertThrows(IllegalStateException.class, () -> sink.write(rec, 10, dir.resolve("failed.csv")));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void parallel_failure_awaitsEncoders() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            AtomicLong calls = new AtomicLong();
+            AtomicLong running = new AtomicLong();
+            Recipe<Long> rec = () -> {
+                running.incrementAndGet();
+                try {
+                    Thread.sleep(1);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    running.decrementAndGet();
+                }
+                return calls.incrementAndGet();
+            };
+            RecordEncoder<Long> encoder = (n, out) -> {
+                if (n == 50)
+                    throw new IllegalStateException();
+                out.putLong(n);
+            };
+            FileSink<Long> sink = FileSink.of(encoder).withBatchSize(10).withParallelism(4, executor);
+            assertThrows(IllegalStateException.class, () -> sink.write(rec, 10_000, dir.resolve("failed.csv")));
+            assertEquals(0, running.get());
+            long after = calls.get();
+            assertTrue(after < 10_000);
+            Thread.sleep(50);
+            assertEquals(after, calls.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void progress() throws IOException {
+        List<Progress> reports = new ArrayList<>();
+        FileSink.of(RecordEncoder.csv(fields()))
+                .withBatchSize(10)
+                .withProgress(reports::add, 0, TimeUnit.NANOSECONDS)
+                .write(counter(), 35, dir.resolve("progress.csv"));
+        assertEquals(4, reports.size());
+        assertEquals(10, reports.get(0).records());
+        assertFalse(reports.get(0).done());
+        assertEquals(35, reports.get(3).records());
+        assertTrue(reports.get(3).done());
+        assertTrue(reports.get(3).recordsPerSecond() > 0);
+    }
+
+    @Test
+    void empty() throws IOException {
+        Path file = dir.resolve("empty.csv");
+        Progress progress = FileSink.of(RecordEncoder.csv(fields())).write(counter(), 0, file);
+        assertEquals(0, progress.records());
+        assertEquals(Collections.singletonList("id,name,even"), Files.readAllLines(file));
+    }
+
+    @Test
+    void arguments() {
+        FileSink<long[]> sink = FileSink.of(RecordEncoder.csv(fields()));
+        assertThrows(NullPointerException.class, () -> FileSink.of(null));
+        assertThrows(IllegalArgumentException.class, () -> sink.withBatchSize(0));
+        assertThrows(IllegalArgumentException.class, () -> sink.withParallelism(0, Runnable::run));
+        assertThrows(NullPointerException.class, () -> sink.withParallelism(2, null));
+        assertThrows(NullPointerException.class, () -> sink.withRandom(null));
+        assertThrows(IllegalArgumentException.class, () -> sink.withProgress(p -> {}, -1, TimeUnit.SECONDS));
+        assertThrows(IllegalArgumentException.class, () -> sink.write(counter(), -1, dir.resolve("x")));
+        assertThrows(NullPointerException.class, () -> sink.write(null, 1, dir.resolve("x")));
+    }
+
+}
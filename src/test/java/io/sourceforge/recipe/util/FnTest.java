@@ -6,12 +6,20 @@ package io.sourceforge.recipe.util;
 import io.sourceforge.recipe.Recipe;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static io.sourceforge.recipe.util.Fn.*;
 import static java.util.Collections.singleton;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @SuppressWarnings("ResultOfMethodCallIgnored")
@@ -100,4 +108,72 @@ class FnTest {
         assertEquals(singleton(0), rec.get());
     }
 
+    enum Color { RED, GREEN }
+
+    @Test
+    void memo_invalid() {
+        assertThrows(NullPointerException.class, () -> memo(null, 10));
+        assertThrows(IllegalArgumentException.class, () -> memo(x -> x, 0));
+    }
+
+    @Test
+    void memo_lru() {
+        AtomicInteger calls = new AtomicInteger();
+        Memo<Integer, String> memo = memo(x -> calls.incrementAndGet() + ":" + x, 2);
+        assertEquals("1:1", memo.apply(1));
+        assertEquals("1:1", memo.apply(1));
+        assertEquals("2:2", memo.apply(2));
+        assertEquals("1:1", memo.apply(1));
+        assertEquals("3:3", memo.apply(3));
+        assertEquals("1:1", memo.apply(1));
+        assertEquals("4:2", memo.apply(2));
+        assertEquals(2, memo.size());
+        assertEquals(3, memo.hits());
+        assertEquals(4, memo.misses());
+        assertEquals(2, memo.evictions());
+        assertEquals("Memo[size=2, maximumSize=2, hits=3, misses=4, evictions=2]", memo.toString());
+    }
+
+    @Test
+    void memo_null_enum() {
+        AtomicInteger calls = new AtomicInteger();
+        Memo<Object, Object> memo = memo(x -> {
+            calls.incrementAndGet();
+            return x == Color.GREEN ? null : x;
+        }, 1);
+        assertNull(memo.apply(null));
+        assertNull(memo.apply(null));
+        assertEquals(Color.RED, memo.apply(Color.RED));
+        assertNull(memo.apply(Color.GREEN));
+        assertNull(memo.apply(Color.GREEN));
+        assertEquals(Color.RED, memo.apply(Color.RED));
+        assertEquals(3, calls.get());
+        assertEquals(1, memo.size());
+        assertEquals(0, memo.evictions());
+    }
+
+    @Test
+    void memo_concurrent() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        Memo<Integer, Integer> memo = memo(x -> {
+            calls.incrementAndGet();
+            return -x;
+        }, 1000);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++)
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++)
+                        assertEquals(-(i % 500), memo.apply(i % 500));
+                }));
+            for (Future<?> future : futures)
+                future.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(500, calls.get());
+        assertEquals(80_000, memo.hits() + memo.misses());
+    }
+
 }